@@ -13,6 +13,7 @@ from transformers import AutoTokenizer, AutoModel
 from torch import nn
 import logging
 import sys
+import threading
 from collections import Counter, defaultdict
 import jpype
 import jpype.imports
@@ -27,6 +28,7 @@ import traceback
 import boto3
 from dotenv import load_dotenv
 import io
+import gzip
 from kobert_transformers import get_tokenizer, get_kobert_model
 from enum import Enum
 from safetensors.torch import load_file
@@ -68,6 +70,7 @@ PORT = int(os.getenv('PORT', 5000))
 HOST = os.getenv('HOST', '0.0.0.0')
 MODEL_PATH = os.getenv('MODEL_PATH', 'multi_label_kobert_model/model.safetensors')
 TOKENIZER_PATH = os.getenv('TOKENIZER_PATH', 'multi_label_kobert_model/tokenizer')
+CLASSIFY_INFER_BATCH_SIZE = int(os.getenv('CLASSIFY_INFER_BATCH_SIZE', '256'))
 DEVICE = torch.device('cuda' if torch.cuda.is_available() else 'cpu')
 
 # 환경 변수 검증
@@ -261,58 +264,7 @@ class TextClassifier:
                 
                 # CPU로 이동 후 numpy 변환
                 probs = probs.cpu().numpy()[0]
-                
-                # 레이블별 확률 계산
-                label_probs = {
-                    self.id2label[i]: float(prob)
-                    for i, prob in enumerate(probs)
-                }
-                logger.info(f"Label probabilities: {label_probs}")
-                
-       
-                # 최대 위험도 점수와 위험 유형
-                max_risk_score = float(np.max(probs))
-                max_index = np.argmax(probs)
-                dominant_risk_type = RiskType.get_by_index(max_index)
-                logger.info(f"Max probability: {max_risk_score} at index {max_index} ({dominant_risk_type.value})")
-        
-                
-                # 위험도 레벨 결정
-                if max_risk_score >= 0.6:
-                    risk_level = RiskLevel.HIGH
-                elif max_risk_score >= 0.55:
-                    risk_level = RiskLevel.MEDIUM
-                elif max_risk_score >= 0.53:
-                    risk_level = RiskLevel.LOW
-                else:
-                    risk_level = RiskLevel.NORMAL
-                
-                # 위험 유형 결정 (임계값 조정)
-                threshold = 0.53  # 0.6 -> 0.5
-                risk_types = []
-                
-                # 모든 위험 유형의 확률이 임계값 미만인지 확인
-                all_below_threshold = True
-                for i, prob in enumerate(probs[:-1]):  # 마지막 레이블(일반) 제외
-                    if float(prob) > threshold:
-                        all_below_threshold = False
-                        risk_type = RiskType.get_by_index(i)
-                        risk_types.append(risk_type)
-                        logger.info(f"Detected risk type: {risk_type.value} with probability {prob:.4f}")
-                
-                # 모든 위험 유형의 확률이 임계값 미만이면 일반으로 판단
-                if all_below_threshold:
-                    risk_types = [RiskType.NORMAL]
-                    logger.info("All risk types below threshold, defaulting to NORMAL")
-                
-                result = {
-                    "risk_level": risk_level,
-                    "confidence": max_risk_score,
-                    "dominant_risk_type": dominant_risk_type,
-                    "risk_types": risk_types,
-                    "label_probs": label_probs
-                }
-                
+                result = self.probs_to_result(probs)
                 logger.info(f"Final analysis result: {result}")
                 return result
             
@@ -326,6 +278,86 @@ class TextClassifier:
                 "label_probs": {}
             }
 
+    def probs_to_result(self, probs) -> Dict[str, Any]:
+        """레이블별 확률(시그모이드 적용 후)로 위험도 레벨과 위험 유형을 정합니다."""
+        # 레이블별 확률 계산
+        label_probs = {
+            self.id2label[i]: float(prob)
+            for i, prob in enumerate(probs)
+        }
+        logger.debug(f"Label probabilities: {label_probs}")
+
+        # 최대 위험도 점수와 위험 유형
+        max_risk_score = float(np.max(probs))
+        max_index = np.argmax(probs)
+        dominant_risk_type = RiskType.get_by_index(max_index)
+        logger.debug(f"Max probability: {max_risk_score} at index {max_index} ({dominant_risk_type.value})")
+
+        # 위험도 레벨 결정
+        if max_risk_score >= 0.6:
+            risk_level = RiskLevel.HIGH
+        elif max_risk_score >= 0.55:
+            risk_level = RiskLevel.MEDIUM
+        elif max_risk_score >= 0.53:
+            risk_level = RiskLevel.LOW
+        else:
+            risk_level = RiskLevel.NORMAL
+
+        # 위험 유형 결정 (임계값 조정)
+        threshold = 0.53  # 0.6 -> 0.5
+        risk_types = []
+
+        # 모든 위험 유형의 확률이 임계값 미만인지 확인
+        all_below_threshold = True
+        for i, prob in enumerate(probs[:-1]):  # 마지막 레이블(일반) 제외
+            if float(prob) > threshold:
+                all_below_threshold = False
+                risk_type = RiskType.get_by_index(i)
+                risk_types.append(risk_type)
+                logger.debug(f"Detected risk type: {risk_type.value} with probability {prob:.4f}")
+
+        # 모든 위험 유형의 확률이 임계값 미만이면 일반으로 판단
+        if all_below_threshold:
+            risk_types = [RiskType.NORMAL]
+            logger.debug("All risk types below threshold, defaulting to NORMAL")
+
+        result = {
+            "risk_level": risk_level,
+            "confidence": max_risk_score,
+            "dominant_risk_type": dominant_risk_type,
+            "risk_types": risk_types,
+            "label_probs": label_probs
+        }
+        logger.debug(f"Final analysis result: {result}")
+        return result
+
+    def classify_batch(self, texts: List[str]) -> List[Dict[str, Any]]:
+        """여러 메시지를 패딩해 한 번의 forward 로 분류합니다. 결과는 입력 순서와 같습니다.
+
+        CLASSIFY_INFER_BATCH_SIZE 보다 많으면 그 크기씩 나눠 forward 합니다. (기본값은 게이트웨이 배치 크기와 같은 256)
+        """
+        results = []
+        for start in range(0, len(texts), CLASSIFY_INFER_BATCH_SIZE):
+            chunk = texts[start:start + CLASSIFY_INFER_BATCH_SIZE]
+            inputs = self.tokenizer(
+                chunk,
+                padding=True,
+                truncation=True,
+                max_length=512,
+                return_tensors="pt",
+                return_token_type_ids=False
+            )
+            inputs = {k: v.to(self.device) for k, v in inputs.items()}
+            with torch.no_grad():
+                outputs = self.model(
+                    input_ids=inputs['input_ids'],
+                    attention_mask=inputs['attention_mask']
+                )
+                # classify_text 와 같은 결과가 되도록 시그모이드를 한 번 더 적용
+                probs = torch.sigmoid(outputs).cpu().numpy()
+            results.extend(self.probs_to_result(row) for row in probs)
+        return results
+
     def extract_keywords_okt(self, text: str) -> List[Dict[str, Any]]:
 
         okt = Okt()
@@ -611,7 +643,14 @@ def read_s3_file(bucket_name, s3_path):
             Bucket=bucket_name,
             Key=s3_key
         )
-        content = response['Body'].read().decode('utf-8')
+        body = response['Body'].read()
+        # 백엔드가 gzip 으로 압축해 저장한 객체는 메타데이터(storage-codec)로 구분한다
+        codec = response.get('Metadata', {}).get('storage-codec', 'none')
+        if codec == 'gzip':
+            body = gzip.decompress(body)
+        elif codec != 'none':
+            raise ValueError(f"지원하지 않는 저장 코덱입니다: {codec}")
+        content = body.decode('utf-8')
         logger.info("S3 파일 읽기 성공")
         return content
             
@@ -655,6 +694,52 @@ class AnalysisRequest(BaseModel):
     s3_path: str
     bucket_name: str
 
+class ClassifyMessage(BaseModel):
+    id: int
+    message: str
+
+class ClassifyRequest(BaseModel):
+    messages: List[ClassifyMessage]
+
+class ClassifiedMessage(BaseModel):
+    id: int
+    message: str
+    risks: List[MessageRisk]
+
+class ClassifyResponse(BaseModel):
+    messages: List[ClassifiedMessage]
+
+class KeywordsRequest(BaseModel):
+    text: str
+
+class KeywordsResponse(BaseModel):
+    keywords: List[KeywordAnalysis]
+
+# 모델은 서버 프로세스당 한 번만 로드해 요청 간에 공유한다
+# /classify, /keywords 는 스레드풀에서 동시에 실행되므로 첫 요청들이 모델을 여러 번 로드하지 않도록 잠금으로 감싼다
+_shared_classifier = None
+_classifier_lock = threading.Lock()
+
+def get_classifier() -> "TextClassifier":
+    global _shared_classifier
+    if _shared_classifier is None:
+        with _classifier_lock:
+            if _shared_classifier is None:
+                _shared_classifier = TextClassifier()
+    return _shared_classifier
+
+def build_message_risks(result: Dict[str, Any]) -> List[MessageRisk]:
+    """분류 결과를 위험 유형별 MessageRisk 목록으로 변환합니다."""
+    risks = []
+    for risk_type in result["risk_types"]:
+        # 위험 유형이 '일반'이면 위험도 레벨을 'NORMAL'으로 설정
+        risk_level = RiskLevel.NORMAL if risk_type == RiskType.NORMAL else result["risk_level"]
+        risks.append(MessageRisk(
+            type=risk_type.name,
+            level=risk_level.name
+        ))
+    return risks
+
 def extract_messages_from_chat(chat_content: str) -> Dict[str, List[str]]:
     """
     카카오톡 채팅 내용에서 메시지를 추출하는 함수
@@ -846,6 +931,53 @@ async def analyze(request: AnalysisRequest):
         raise HTTPException(status_code=500, detail=f"서버 내부 오류: {str(e)}")
 
 
+@app.post("/classify")
+def classify(request: ClassifyRequest):
+    """백엔드가 이미 파싱한 메시지 묶음을 분류합니다. 결과는 요청과 같은 id 로 돌려줍니다.
+
+    배치 전체를 한 번의 forward 로 추론합니다. 일반 def 라서 FastAPI 가 스레드 풀에서 실행하므로
+    추론 중에도 이벤트 루프가 막히지 않고 다른 요청을 받습니다.
+    """
+    try:
+        logger.info(f"분류 요청 - 메시지 수: {len(request.messages)}")
+        classifier = get_classifier()
+        results = classifier.classify_batch([item.message for item in request.messages])
+        classified = [
+            ClassifiedMessage(
+                id=item.id,
+                message=item.message,
+                risks=build_message_risks(result)
+            )
+            for item, result in zip(request.messages, results)
+        ]
+        return ClassifyResponse(messages=classified)
+    except Exception as e:
+        logger.error(f"분류 요청 처리 중 오류 발생: {str(e)}\n{traceback.format_exc()}")
+        raise HTTPException(status_code=500, detail=f"메시지 분류 실패: {str(e)}")
+
+
+@app.post("/keywords")
+def keywords(request: KeywordsRequest):
+    """대화 본문에서 키워드와 키워드별 위험도를 추출합니다.
+
+    형태소 분석과 TF-IDF 계산은 CPU 를 오래 쓰므로 일반 def 로 두어 스레드 풀에서 실행합니다.
+    (async def 면 이벤트 루프가 막혀 동시에 들어온 /classify 요청이 뒤에서 기다린다)
+    """
+    try:
+        extracted = get_classifier().extract_keywords(request.text)
+        return KeywordsResponse(keywords=[
+            KeywordAnalysis(
+                keyword=keyword['keyword'],
+                count=keyword['count'],
+                risk=keyword['risk_level']
+            )
+            for keyword in extracted
+        ])
+    except Exception as e:
+        logger.error(f"키워드 추출 실패: {str(e)}")
+        raise HTTPException(status_code=500, detail=f"키워드 추출 실패: {str(e)}")
+
+
 if __name__ == '__main__':
     try:    
         # # 테스트 케이스 실행
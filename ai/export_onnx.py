@@ -0,0 +1,182 @@
+"""
+multi_label_kobert_model 을 ONNX 로 내보내고, 백엔드(Java) 토크나이저용 어휘 파일을 만듭니다.
+
+결과물 (기본 출력 폴더: multi_label_kobert_model/onnx)
+- kobert_classifier.onnx : 입력 input_ids, attention_mask (int64, [batch, seq]) / 출력 probs (float32, [batch, 9])
+- kobert_vocab.tsv       : vocab.txt 순서(= 토큰 id) 그대로 "조각<TAB>SentencePiece 점수" 한 줄씩
+- kobert_tokens.json     : SAMPLES 를 Python 토크나이저로 나눈 input_ids (Java KoBertTokenizer 일치 테스트 기대값)
+
+kobert_vocab.tsv 와 kobert_tokens.json 은 SAMPLES 에 필요한 조각만 남겨 줄인 뒤 백엔드 테스트 리소스(--java-fixture-dir)에
+저장되고, KoBertTokenizerTest 가 Java 토크나이저의 encode 결과가 같은지 확인합니다.
+
+백엔드 설정 예시
+  ai.classifier.backend=onnx
+  ai.classifier.onnx.model-path=/path/to/kobert_classifier.onnx
+  ai.classifier.onnx.vocab-path=/path/to/kobert_vocab.tsv
+
+사용법: python export_onnx.py [--output 폴더] [--opset 14] [--java-fixture-dir 폴더]
+"""
+import argparse
+import json
+import logging
+import os
+import re
+import unicodedata
+from typing import Tuple
+
+import numpy as np
+import torch
+from safetensors.torch import load_file
+from transformers import AutoTokenizer
+
+from ai_server import KoBERTClassifier
+
+logging.basicConfig(level=logging.INFO)
+logger = logging.getLogger(__name__)
+
+MODEL_DIR = "multi_label_kobert_model"
+JAVA_FIXTURE_DIR = os.path.join("..", "backend", "src", "test", "resources", "kobert")
+MAX_LENGTH = 512
+SAMPLES = [
+    "안녕 뭐해?", "싫어 하지마", "너 어디 사는지 다 알아", "사진 보내줘 빨리", "ㅋㅋㅋㅋ",
+    # 전처리/미지 글자 경로: 연속 공백, 전각 문자, 영문/숫자, 이모지
+    "  오늘   몇 시에   와?  ", "ＯＫ 알겠어", "KakaoTalk 10시 30분", "보고 싶어 😭😭",
+]
+
+
+class ExportWrapper(torch.nn.Module):
+    """token_type_ids 없이 input_ids, attention_mask 만 받도록 감싼 모델 (/classify 와 같은 입력)"""
+
+    def __init__(self, model):
+        super().__init__()
+        self.model = model
+
+    def forward(self, input_ids, attention_mask):
+        return self.model(input_ids=input_ids, attention_mask=attention_mask)
+
+
+def export_model(output_dir: str, opset: int) -> Tuple[str, torch.nn.Module]:
+    model = KoBERTClassifier()
+    model.load_state_dict(load_file(os.path.join(MODEL_DIR, "model.safetensors")))
+    model.eval()
+
+    dummy = torch.ones((2, 16), dtype=torch.long)
+    path = os.path.join(output_dir, "kobert_classifier.onnx")
+    torch.onnx.export(
+        ExportWrapper(model),
+        (dummy, dummy),
+        path,
+        input_names=["input_ids", "attention_mask"],
+        output_names=["probs"],
+        dynamic_axes={
+            "input_ids": {0: "batch", 1: "seq"},
+            "attention_mask": {0: "batch", 1: "seq"},
+            "probs": {0: "batch"},
+        },
+        opset_version=opset,
+    )
+    logger.info(f"ONNX 모델 저장: {path}")
+    return path, model
+
+
+def export_vocab(output_dir: str, tokenizer) -> str:
+    """vocab.txt 의 각 조각에 SentencePiece 모델의 점수를 붙여 저장합니다. (Java 쪽 Viterbi 분할용)"""
+    sp = tokenizer.sp_model
+    path = os.path.join(output_dir, "kobert_vocab.tsv")
+    with open(path, "w", encoding="utf-8") as f:
+        for piece in tokenizer.idx2token:
+            piece_id = sp.piece_to_id(piece)
+            known = piece_id != sp.unk_id() and sp.id_to_piece(piece_id) == piece
+            score = sp.get_score(piece_id) if known and not sp.is_control(piece_id) else 0.0
+            f.write(f"{piece}\t{score}\n")
+    logger.info(f"어휘 파일 저장: {path} ({len(tokenizer.idx2token)}개)")
+    return path
+
+
+def export_expected_tokens(output_dir: str, tokenizer) -> str:
+    """SAMPLES 를 Python 토크나이저로 나눈 input_ids 를 저장합니다. (Java 토크나이저 일치 테스트용)"""
+    path = os.path.join(output_dir, "kobert_tokens.json")
+    samples = [
+        {"text": text, "input_ids": tokenizer(text, truncation=True, max_length=MAX_LENGTH)["input_ids"]}
+        for text in SAMPLES
+    ]
+    with open(path, "w", encoding="utf-8") as f:
+        json.dump({"max_length": MAX_LENGTH, "samples": samples}, f, ensure_ascii=False, indent=2)
+    logger.info(f"토큰 기대값 저장: {path} ({len(samples)}개)")
+    return path
+
+
+def normalize(text: str) -> str:
+    """KoBertTokenizer.normalize 와 같은 전처리 (공백 정리 → NFKD 후 결합 문자 제거 → NFKC)"""
+    text = " ".join(text.split()).replace("``", '"').replace("''", '"')
+    text = "".join(c for c in unicodedata.normalize("NFKD", text) if unicodedata.category(c) not in ("Mn", "Mc", "Me"))
+    return unicodedata.normalize("NFKC", text)
+
+
+def write_java_fixtures(fixture_dir: str, vocab_path: str, tokens_path: str):
+    """어휘 파일을 SAMPLES 에 필요한 조각만 남겨 줄이고, 토큰 기대값의 id 를 줄인 어휘 기준으로 바꿔 테스트 리소스로 저장합니다.
+
+    샘플 문장("▁" 로 공백을 바꾼 형태)의 부분 문자열인 조각을 모두 남기므로 분할 후보는 전체 어휘와 같고,
+    미지 글자 점수(최소 점수 - 10)가 달라지지 않도록 점수가 가장 낮은 조각도 남깁니다.
+    """
+    with open(vocab_path, encoding="utf-8") as f:
+        rows = [line.rstrip("\n").rsplit("\t", 1) for line in f]
+    with open(tokens_path, encoding="utf-8") as f:
+        expected = json.load(f)
+
+    inputs = ["\u2581" + normalize(sample["text"]).replace(" ", "\u2581") for sample in expected["samples"]]
+    lowest = min(range(len(rows)), key=lambda i: float(rows[i][1]))
+    kept = [
+        i for i, (piece, _) in enumerate(rows)
+        if re.fullmatch(r"\[[A-Z]+\]", piece) or i == lowest or any(piece in text for text in inputs)
+    ]
+    new_id = {old: new for new, old in enumerate(kept)}
+    for sample in expected["samples"]:
+        sample["input_ids"] = [new_id[i] for i in sample["input_ids"]]
+
+    os.makedirs(fixture_dir, exist_ok=True)
+    with open(os.path.join(fixture_dir, "kobert_vocab.tsv"), "w", encoding="utf-8") as f:
+        for i in kept:
+            f.write(f"{rows[i][0]}\t{rows[i][1]}\n")
+    with open(os.path.join(fixture_dir, "kobert_tokens.json"), "w", encoding="utf-8") as f:
+        json.dump(expected, f, ensure_ascii=False, indent=2)
+    logger.info(f"Java 테스트 리소스 갱신: {fixture_dir} (어휘 {len(rows)}개 중 {len(kept)}개)")
+
+
+def verify(model_path: str, model, tokenizer):
+    """PyTorch 와 ONNX Runtime 출력이 같은지 샘플 문장으로 확인합니다."""
+    import onnxruntime as ort
+
+    session = ort.InferenceSession(model_path, providers=["CPUExecutionProvider"])
+    for text in SAMPLES:
+        inputs = tokenizer(text, truncation=True, max_length=MAX_LENGTH, return_tensors="pt", return_token_type_ids=False)
+        with torch.no_grad():
+            expected = model(input_ids=inputs["input_ids"], attention_mask=inputs["attention_mask"]).numpy()
+        actual = session.run(None, {
+            "input_ids": inputs["input_ids"].numpy(),
+            "attention_mask": inputs["attention_mask"].numpy(),
+        })[0]
+        diff = float(np.abs(expected - actual).max())
+        logger.info(f"{text} -> tokens {tokenizer.tokenize(text)}, 최대 오차 {diff:.6f}")
+        if diff > 1e-4:
+            raise RuntimeError(f"ONNX 출력이 PyTorch 와 다릅니다: {text} ({diff})")
+
+
+def main():
+    parser = argparse.ArgumentParser()
+    parser.add_argument("--output", default=os.path.join(MODEL_DIR, "onnx"))
+    parser.add_argument("--opset", type=int, default=14)
+    parser.add_argument("--java-fixture-dir", default=JAVA_FIXTURE_DIR)
+    args = parser.parse_args()
+
+    os.makedirs(args.output, exist_ok=True)
+    tokenizer = AutoTokenizer.from_pretrained("monologg/kobert", trust_remote_code=True)
+    model_path, model = export_model(args.output, args.opset)
+    vocab_path = export_vocab(args.output, tokenizer)
+    tokens_path = export_expected_tokens(args.output, tokenizer)
+    write_java_fixtures(args.java_fixture_dir, vocab_path, tokens_path)
+    verify(model_path, model, tokenizer)
+
+
+if __name__ == "__main__":
+    main()
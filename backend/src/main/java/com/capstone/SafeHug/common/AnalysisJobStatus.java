@@ -0,0 +1,22 @@
+package com.capstone.SafeHug.common;
+
+public enum AnalysisJobStatus {
+    PENDING("대기"),
+    RUNNING("분석 중"),
+    COMPLETED("완료"),
+    FAILED("실패");
+
+    private final String displayName;
+
+    AnalysisJobStatus(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public boolean isFinished() {
+        return this == COMPLETED || this == FAILED;
+    }
+}
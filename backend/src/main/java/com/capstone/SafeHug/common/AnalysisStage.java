@@ -0,0 +1,25 @@
+package com.capstone.SafeHug.common;
+
+public enum AnalysisStage {
+    UPLOADED("업로드 완료"),
+    PARSED("메시지 파싱 완료"),
+    CLASSIFIED("위험도 분류"),
+    SUMMARY_READY("요약 생성 완료"),
+    PERSISTED("분석 결과 저장 완료"),
+    FAILED("분석 실패");
+
+    private final String displayName;
+
+    AnalysisStage(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    // SSE 이벤트 이름 (예: summary-ready)
+    public String getEventName() {
+        return name().toLowerCase().replace('_', '-');
+    }
+}
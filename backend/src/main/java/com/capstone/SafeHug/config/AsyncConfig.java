@@ -0,0 +1,147 @@
+package com.capstone.SafeHug.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 비동기 작업용 스레드 풀 설정
+ * 채팅 분석처럼 오래 걸리는 작업을 요청 스레드(Tomcat)에서 분리합니다.
+ */
+@Slf4j
+@Configuration
+public class AsyncConfig {
+
+    @Value("${analysis.executor.core-size:4}")
+    private int coreSize;
+
+    @Value("${analysis.executor.max-size:8}")
+    private int maxSize;
+
+    @Value("${analysis.executor.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${cloud.aws.s3.multipart.upload-threads:16}")
+    private int s3UploadThreads;
+
+    @Value("${analysis.parser.parallel.parallelism:0}")
+    private int parseParallelism;
+
+    @Value("${ai.server.classify.threads:16}")
+    private int classifyThreads;
+
+    @Value("${ai.gateway.max-concurrent-requests:4}")
+    private int gatewayConcurrentRequests;
+
+    @Value("${ai.server.call.threads:16}")
+    private int aiCallThreads;
+
+    @Value("${ai.server.call.queue-capacity:32}")
+    private int aiCallQueueCapacity;
+
+    /**
+     * 채팅 분석 작업 전용 실행기
+     * 큐가 가득 차면 TaskRejectedException 을 던져 요청을 거절합니다. (무한정 쌓이지 않도록)
+     */
+    @Bean(name = "chatAnalysisExecutor")
+    public ThreadPoolTaskExecutor chatAnalysisExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("chat-analysis-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+        log.info("채팅 분석 실행기 초기화 - core: {}, max: {}, queue: {}", coreSize, maxSize, queueCapacity);
+        return executor;
+    }
+
+    /**
+     * 동기 분석 요청(/api/upload/chat) 실행기
+     * 요청마다 가상 스레드를 하나씩 띄워 Tomcat 스레드를 비워 두고, 클라이언트가 끊기거나 시간이 초과되면 인터럽트로 분석을 취소합니다.
+     */
+    @Bean(name = "chatRequestExecutor")
+    public SimpleAsyncTaskExecutor chatRequestExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("chat-request-");
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+
+    /**
+     * S3 멀티파트 업로드의 파트 전송용 실행기
+     * 파트 동시 전송 수는 S3Service 에서 업로드 건별로 제한합니다.
+     */
+    @Bean(name = "s3UploadExecutor")
+    public ThreadPoolTaskExecutor s3UploadExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(s3UploadThreads);
+        executor.setMaxPoolSize(s3UploadThreads);
+        executor.setQueueCapacity(Integer.MAX_VALUE);
+        executor.setThreadNamePrefix("s3-upload-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * AI 서버 분류 배치 전송용 실행기
+     * 서버 전체의 동시 분류 요청 수를 스레드 수로 제한하고, 넘치는 배치는 큐에서 기다립니다.
+     * 분석 건별 동시 요청 수는 TextAnalysisService 에서 제한합니다.
+     */
+    @Bean(name = "aiClassifyExecutor")
+    public ThreadPoolTaskExecutor aiClassifyExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(classifyThreads);
+        executor.setMaxPoolSize(classifyThreads);
+        executor.setQueueCapacity(Integer.MAX_VALUE);
+        executor.setThreadNamePrefix("ai-classify-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 마이크로 배칭 게이트웨이가 모은 배치를 AI 서버로 보내는 실행기
+     * 스레드 수가 AI 서버로 동시에 나가는 배치 요청 수의 상한입니다.
+     */
+    @Bean(name = "aiGatewayExecutor")
+    public ThreadPoolTaskExecutor aiGatewayExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(gatewayConcurrentRequests);
+        executor.setMaxPoolSize(gatewayConcurrentRequests);
+        executor.setQueueCapacity(Integer.MAX_VALUE);
+        executor.setThreadNamePrefix("ai-gateway-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * AI 서버 HTTP 호출 실행기 (bulkhead)
+     * 스레드와 대기열이 모두 차면 호출을 거절하므로 느린 AI 서버가 다른 요청 스레드까지 묶지 않습니다.
+     */
+    @Bean(name = "aiCallExecutor")
+    public ThreadPoolTaskExecutor aiCallExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(aiCallThreads);
+        executor.setMaxPoolSize(aiCallThreads);
+        executor.setQueueCapacity(aiCallQueueCapacity);
+        executor.setThreadNamePrefix("ai-call-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 큰 채팅 파일 병렬 파싱용 ForkJoinPool
+     * 공용 풀(commonPool)을 쓰는 다른 작업과 CPU 를 나눠 쓰지 않도록 분리합니다. (0 이면 CPU 코어 수)
+     */
+    @Bean(name = "chatParsePool", destroyMethod = "shutdown")
+    public ForkJoinPool chatParsePool() {
+        int parallelism = parseParallelism > 0 ? parseParallelism : Runtime.getRuntime().availableProcessors();
+        log.info("채팅 파싱 ForkJoinPool 초기화 - parallelism: {}", parallelism);
+        return new ForkJoinPool(parallelism);
+    }
+}
@@ -0,0 +1,66 @@
+package com.capstone.SafeHug.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.pool.PoolStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RestTemplate 커넥션 풀 상태를 주기적으로 로그로 남깁니다.
+ * leased(사용 중), pending(연결 대기), available(유휴), max 를 전체와 목적지별로 기록합니다.
+ * pending 이 계속 0 보다 크면 목적지별 최대 연결 수가 부족한 것입니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HttpClientPoolMonitor {
+
+    private final PoolingHttpClientConnectionManager httpConnectionManager;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "http-pool-monitor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${http.client.pool.stats-log-seconds:60}")
+    private long statsLogSeconds;
+
+    @PostConstruct
+    public void start() {
+        if (statsLogSeconds > 0) {
+            scheduler.scheduleWithFixedDelay(this::logStats, statsLogSeconds, statsLogSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    public PoolStats getTotalStats() {
+        return httpConnectionManager.getTotalStats();
+    }
+
+    private void logStats() {
+        PoolStats total = httpConnectionManager.getTotalStats();
+        if (total.getLeased() == 0 && total.getPending() == 0 && total.getAvailable() == 0) {
+            return;
+        }
+        log.info("HTTP 커넥션 풀 - leased: {}, pending: {}, available: {}, max: {}",
+                total.getLeased(), total.getPending(), total.getAvailable(), total.getMax());
+        for (HttpRoute route : httpConnectionManager.getRoutes()) {
+            PoolStats stats = httpConnectionManager.getStats(route);
+            log.info("- {} leased: {}, pending: {}, available: {}, max: {}",
+                    route.getTargetHost(), stats.getLeased(), stats.getPending(), stats.getAvailable(), stats.getMax());
+        }
+    }
+}
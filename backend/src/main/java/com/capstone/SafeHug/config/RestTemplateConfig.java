@@ -1,21 +1,113 @@
 package com.capstone.SafeHug.config;
 
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.URI;
+
+/**
+ * 공용 RestTemplate 설정
+ *
+ * AI 서버(/classify) 호출이 이 RestTemplate 을 씁니다. OpenAI 호출은 LlmClient 가 따로 관리합니다.
+ * Apache HttpClient 5 커넥션 풀을 써서 연결을 재사용하고, 목적지별 최대 연결 수를 따로 둡니다.
+ * 풀에서 연결을 얻는 시간(connection-request-timeout)과 응답을 기다리는 시간(read timeout)은 따로 제한합니다.
+ * 응답 대기는 AI 서버 호출 제한 시간(ai.server.call-timeout-ms)을 넘지 않게 해서, 호출한 쪽이 시간 초과로 포기한 요청이
+ * 호출 스레드와 연결을 계속 붙잡고 있지 않게 합니다.
+ */
+@Slf4j
 @Configuration
 public class RestTemplateConfig {
 
     private static final int CONNECT_TIMEOUT = 10000;  // 10초로 증가
     private static final int READ_TIMEOUT = 60000;     // 60초로 증가
 
+    @Value("${http.client.max-total:100}")
+    private int maxTotal;
+
+    @Value("${http.client.max-per-route:20}")
+    private int maxPerRoute;
+
+    // AI 서버는 분류 호출 스레드(ai.server.call.threads) + 헤지 요청만큼 연결이 필요하다
+    @Value("${http.client.ai-server.max-per-route:32}")
+    private int aiServerMaxPerRoute;
+
+    @Value("${http.client.connection-request-timeout-ms:3000}")
+    private long connectionRequestTimeoutMs;
+
+    @Value("${http.client.idle-evict-seconds:30}")
+    private long idleEvictSeconds;
+
+    @Value("${http.client.time-to-live-seconds:300}")
+    private long timeToLiveSeconds;
+
+    @Value("${ai.server.url}")
+    private String aiServerUrl;
+
+    @Value("${ai.server.call-timeout-ms:45000}")
+    private long aiCallTimeoutMs;
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager httpConnectionManager() {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(CONNECT_TIMEOUT))
+                        .setSocketTimeout(Timeout.ofMilliseconds(responseTimeoutMs()))
+                        .setTimeToLive(TimeValue.ofSeconds(timeToLiveSeconds))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+        setMaxPerRoute(connectionManager, aiServerUrl, aiServerMaxPerRoute);
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient httpClient(PoolingHttpClientConnectionManager httpConnectionManager) {
+        return HttpClients.custom()
+                .setConnectionManager(httpConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(connectionRequestTimeoutMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(responseTimeoutMs()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(idleEvictSeconds))
+                .build();
+    }
+
     @Bean
-    public RestTemplate restTemplate() {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout(CONNECT_TIMEOUT);
-        factory.setReadTimeout(READ_TIMEOUT);
-        return new RestTemplate(factory);
+    public RestTemplate restTemplate(CloseableHttpClient httpClient) {
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+    }
+
+    private long responseTimeoutMs() {
+        return Math.min(READ_TIMEOUT, aiCallTimeoutMs);
+    }
+
+    // 요청 URL 과 같은 목적지(스킴, 호스트, 포트)의 최대 연결 수를 지정한다
+    private static void setMaxPerRoute(PoolingHttpClientConnectionManager connectionManager, String url, int max) {
+        try {
+            URI uri = URI.create(url);
+            boolean secure = "https".equalsIgnoreCase(uri.getScheme());
+            int port = uri.getPort() != -1 ? uri.getPort() : (secure ? 443 : 80);
+            HttpHost host = new HttpHost(uri.getScheme(), uri.getHost(), port);
+            connectionManager.setMaxPerRoute(new HttpRoute(host, null, secure), max);
+        } catch (IllegalArgumentException e) {
+            log.warn("목적지별 연결 수를 설정할 수 없는 URL: {}", url);
+        }
     }
-} 
\ No newline at end of file
+}
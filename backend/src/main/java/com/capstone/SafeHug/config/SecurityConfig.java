@@ -84,6 +84,8 @@ public class SecurityConfig implements WebMvcConfigurer {
                     "/api/upload",               // 파일 업로드
                     "/api/upload/analysis/**",   // 분석 결과 조회
                     "/api/upload/chat",          // 채팅
+                    "/api/upload/chat/async",    // 채팅 (비동기 분석)
+                    "/api/upload/jobs/**",       // 분석 작업 상태 조회
                     "/api/chatbot/message",      // 챗봇 메시지
                     "/api/login/**",             // 소셜 로그인 관련
                     "/api/login/naver/callback", // 네이버 로그인 콜백
@@ -1,9 +1,13 @@
 package com.capstone.SafeHug.controller;
 
+import com.capstone.SafeHug.dto.response.chat.AnalysisJobResponse;
 import com.capstone.SafeHug.dto.response.chat.ChatAnalysisResponse;
 import com.capstone.SafeHug.dto.response.ApiResponse;
 import com.capstone.SafeHug.service.FileUploadService;
+import com.capstone.SafeHug.service.ChatAnalysisJobService;
 import com.capstone.SafeHug.service.ChatAnalysisService;
+import com.capstone.SafeHug.service.chat.AnalysisSingleFlight;
+import com.capstone.SafeHug.service.storage.StoredChatFile;
 import com.capstone.SafeHug.entity.ChatUpload;
 import com.capstone.SafeHug.entity.User;
 import com.capstone.SafeHug.repository.ChatUploadRepository;
@@ -15,12 +19,20 @@ import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * 채팅 파일 업로드를 처리하는 컨트롤러
@@ -36,9 +48,17 @@ public class ChatUploadController {
     private final UserRepository userRepository;
     private final FileUploadService fileUploadService;
     private final ChatAnalysisService chatAnalysisService;
+    private final ChatAnalysisJobService chatAnalysisJobService;
+    private final AnalysisSingleFlight analysisSingleFlight;
+    private final AsyncTaskExecutor chatRequestExecutor;
+
+    @Value("${analysis.sync.timeout-ms:600000}")
+    private long syncTimeoutMs;
 
     /**
      * 채팅 파일을 업로드하고 분석을 요청합니다.
+     * 분석은 요청 스레드가 아닌 chatRequestExecutor 에서 실행하며, 클라이언트 연결이 끊기거나
+     * 동기 분석 제한 시간을 넘기면 분석 스레드를 인터럽트해 진행 중인 단계(분류, 요약)를 취소합니다.
      * @param file 업로드할 채팅 파일
      * @param userId 사용자 ID
      * @param userName 사용자 이름
@@ -47,7 +67,7 @@ public class ChatUploadController {
      * @throws FileUploadException 파일 업로드 중 오류가 발생한 경우
      */
     @PostMapping("/chat")
-    public ResponseEntity<ApiResponse<ChatAnalysisResponse>> uploadFile(
+    public WebAsyncTask<ResponseEntity<ApiResponse<ChatAnalysisResponse>>> uploadFile(
             HttpServletRequest request,
             @RequestParam("file") MultipartFile file,
             @RequestParam(value = "userId", required = false) Long userId,
@@ -59,48 +79,32 @@ public class ChatUploadController {
         long startTime = System.currentTimeMillis();
         log.info("post mapping chat");
 
+        StoredChatFile storedFile;
+        ChatUpload chatUpload;
         try {
-            // 1. 파일 유효성 검사
-            if (file.isEmpty()) {
-                throw new FileUploadException("업로드된 파일이 비어있습니다.");
-            }
-
-            // 2. userName 유효성 검사
-            if (userName == null || userName.trim().isEmpty()) {
-                throw new FileUploadException("사용자 이름은 필수입니다.");
-            }
-
-            // 3. 사용자 확인 (선택적)
-            User user = null;
-            if (userId != null) {
-                try {
-                    user = userRepository.findById(userId)
-                        .orElseThrow(() -> new UserNotFoundException("사용자를 찾을 수 없습니다: " + userId));
-                    log.debug("사용자 확인 완료 - userId: {}", userId);
-                } catch (UserNotFoundException e) {
-                    log.warn("사용자를 찾을 수 없음 - userId: {}", userId);
-                    // 사용자를 찾을 수 없어도 계속 진행
-                }
-            }
+            // 1~5. 유효성 검사, 파일 업로드, 채팅 업로드 정보 저장
+            storedFile = fileUploadService.uploadChatFileForAnalysis(validate(file, userName));
+            chatUpload = saveChatUpload(findUser(userId), storedFile, userName);
+        } catch (FileUploadException e) {
+            log.error("파일 업로드 실패 - userId: {}, userName: {}, 파일명: {}, 오류: {}", 
+                    userId, userName, file.getOriginalFilename(), e.getMessage());
+            return completed(ResponseEntity.badRequest()
+                .body(ApiResponse.error("파일 업로드에 실패했습니다.", "FILE_UPLOAD_FAILED", List.of(e.getMessage()))));
+        } catch (Exception e) {
+            log.error("예상치 못한 오류 발생 - userId: {}, userName: {}, 파일명: {}, 오류: {}", 
+                    userId, userName, file.getOriginalFilename(), e.getMessage());
+            return completed(ResponseEntity.internalServerError()
+                .body(ApiResponse.error("업로드 처리 중 오류가 발생했습니다.", "INTERNAL_SERVER_ERROR", List.of(e.getMessage()))));
+        }
 
-            // 4. 파일 업로드
-            String uploadedUrl = fileUploadService.uploadChatFile(file);
-            log.debug("파일 업로드 완료 - URL: {}", uploadedUrl);
-
-            // 5. 채팅 업로드 정보 저장
-            ChatUpload chatUpload = ChatUpload.builder()
-                    .user(user)  // user가 null이어도 저장 가능
-                    .filePath(uploadedUrl)
-                    .uploadedAt(LocalDateTime.now())
-                    .userName(userName.trim())  // 공백 제거
-                    .build();
-
-            chatUpload = chatUploadRepository.save(chatUpload);
-            log.debug("채팅 업로드 정보 저장 완료 - uploadId: {}", chatUpload.getId());
-            
-            // 6. 채팅 분석 실행 및 응답 반환
+        // 6. 채팅 분석 실행 및 응답 반환
+        AtomicReference<Thread> worker = new AtomicReference<>();
+        WebAsyncTask<ResponseEntity<ApiResponse<ChatAnalysisResponse>>> task = new WebAsyncTask<>(
+                syncTimeoutMs, chatRequestExecutor, () -> {
+            worker.set(Thread.currentThread());
             try {
-                ChatAnalysisResponse response = chatAnalysisService.analyzeChat(chatUpload.getId(), userName);
+                ChatAnalysisResponse response = analysisSingleFlight.execute(AnalysisSingleFlight.keyOf(chatUpload),
+                        () -> chatAnalysisService.analyzeChat(chatUpload.getId(), userName, storedFile.getContent()));
                 log.info("채팅 분석 완료 - uploadId: {}, 처리시간: {}ms", 
                         chatUpload.getId(), System.currentTimeMillis() - startTime);
 
@@ -109,19 +113,163 @@ public class ChatUploadController {
                 log.error("채팅 분석 중 오류 발생 - uploadId: {}, 오류: {}", chatUpload.getId(), e.getMessage());
                 return ResponseEntity.internalServerError()
                     .body(ApiResponse.error("채팅 분석 중 오류가 발생했습니다.", "CHAT_ANALYSIS_FAILED", List.of(e.getMessage())));
+            } finally {
+                worker.set(null);
+            }
+        });
+        task.onTimeout(() -> {
+            log.warn("채팅 분석 시간 초과로 분석을 취소합니다 - uploadId: {}, 제한: {}ms", chatUpload.getId(), syncTimeoutMs);
+            cancel(worker);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(ApiResponse.error("채팅 분석 시간이 초과되었습니다.", "CHAT_ANALYSIS_TIMEOUT"));
+        });
+        task.onError(() -> {
+            // 클라이언트 연결 끊김 등: 응답을 받을 곳이 없으므로 분석을 계속할 필요가 없다
+            log.warn("요청 연결 오류로 채팅 분석을 취소합니다 - uploadId: {}", chatUpload.getId());
+            cancel(worker);
+            return ResponseEntity.internalServerError()
+                .body(ApiResponse.error("채팅 분석이 취소되었습니다.", "CHAT_ANALYSIS_CANCELLED"));
+        });
+        return task;
+    }
+
+    private static <T> WebAsyncTask<T> completed(T result) {
+        return new WebAsyncTask<>(() -> result);
+    }
+
+    private static void cancel(AtomicReference<Thread> worker) {
+        Thread thread = worker.get();
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * 채팅 파일을 업로드하고 분석을 백그라운드 작업으로 등록합니다.
+     * 분석 완료를 기다리지 않고 작업 ID를 바로 반환합니다.
+     * @param file 업로드할 채팅 파일
+     * @param userId 사용자 ID
+     * @param userName 사용자 이름
+     * @return 등록된 분석 작업 정보 (202 Accepted)
+     */
+    @PostMapping("/chat/async")
+    public ResponseEntity<ApiResponse<AnalysisJobResponse>> uploadFileAsync(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "userId", required = false) Long userId,
+            @RequestParam("userName") String userName) {
+        log.info("비동기 파일 업로드 시작 - userId: {}, userName: {}, 파일명: {}, 파일크기: {} bytes",
+                userId, userName, file.getOriginalFilename(), file.getSize());
+
+        try {
+            // 큐가 가득 찼으면 S3 업로드와 DB 저장 전에 거절한다
+            if (!chatAnalysisJobService.hasCapacity()) {
+                throw new TaskRejectedException("분석 작업 큐가 가득 찼습니다.");
+            }
+            StoredChatFile storedFile = fileUploadService.uploadChatFileForAnalysis(validate(file, userName));
+            ChatUpload chatUpload = saveChatUpload(findUser(userId), storedFile, userName);
+
+            AnalysisJobResponse job;
+            try {
+                job = chatAnalysisJobService.submit(chatUpload, userName, storedFile.getContent());
+            } catch (TaskRejectedException e) {
+                // 확인 이후 다른 요청이 자리를 차지한 경우: 분석되지 않을 업로드 행과 S3 객체를 남기지 않는다
+                discardUpload(chatUpload, storedFile);
+                throw e;
             }
-            
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("분석 작업이 등록되었습니다.", job));
         } catch (FileUploadException e) {
-            log.error("파일 업로드 실패 - userId: {}, userName: {}, 파일명: {}, 오류: {}", 
+            log.error("파일 업로드 실패 - userId: {}, userName: {}, 파일명: {}, 오류: {}",
                     userId, userName, file.getOriginalFilename(), e.getMessage());
             return ResponseEntity.badRequest()
                 .body(ApiResponse.error("파일 업로드에 실패했습니다.", "FILE_UPLOAD_FAILED", List.of(e.getMessage())));
+        } catch (TaskRejectedException e) {
+            log.warn("분석 작업 큐가 가득 차 업로드를 거절합니다 - userName: {}, 파일명: {}", userName, file.getOriginalFilename());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(ApiResponse.error("분석 요청이 많습니다. 잠시 후 다시 시도해주세요.", "ANALYSIS_QUEUE_FULL"));
         } catch (Exception e) {
-            log.error("예상치 못한 오류 발생 - userId: {}, userName: {}, 파일명: {}, 오류: {}", 
+            log.error("예상치 못한 오류 발생 - userId: {}, userName: {}, 파일명: {}, 오류: {}",
                     userId, userName, file.getOriginalFilename(), e.getMessage());
             return ResponseEntity.internalServerError()
                 .body(ApiResponse.error("업로드 처리 중 오류가 발생했습니다.", "INTERNAL_SERVER_ERROR", List.of(e.getMessage())));
         }
     }
 
+    /**
+     * 분석 작업 상태를 조회합니다.
+     * @param jobId 작업 ID
+     * @return 작업 상태 (완료 시 분석 결과 포함)
+     */
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<ApiResponse<AnalysisJobResponse>> getJob(@PathVariable String jobId) {
+        return chatAnalysisJobService.getJob(jobId)
+            .map(job -> ResponseEntity.ok(ApiResponse.success(job)))
+            .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error("분석 작업을 찾을 수 없습니다.", "JOB_NOT_FOUND")));
+    }
+
+    /**
+     * 분석 작업의 진행 상황을 Server-Sent Events 로 전달합니다.
+     * 이벤트: uploaded, parsed, classified(배치별 메시지 위험 정보), summary-ready, persisted, failed
+     * @param jobId 작업 ID
+     * @return 진행 상황 이벤트 스트림
+     */
+    @GetMapping(value = "/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamJobEvents(@PathVariable String jobId) {
+        return chatAnalysisJobService.subscribe(jobId)
+            .map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    private MultipartFile validate(MultipartFile file, String userName) {
+        // 파일 유효성 검사
+        if (file.isEmpty()) {
+            throw new FileUploadException("업로드된 파일이 비어있습니다.");
+        }
+
+        // userName 유효성 검사
+        if (userName == null || userName.trim().isEmpty()) {
+            throw new FileUploadException("사용자 이름은 필수입니다.");
+        }
+        return file;
+    }
+
+    // 사용자 확인 (선택적) - 사용자를 찾을 수 없어도 계속 진행
+    private User findUser(Long userId) {
+        if (userId == null) {
+            return null;
+        }
+        try {
+            User user = userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException("사용자를 찾을 수 없습니다: " + userId));
+            log.debug("사용자 확인 완료 - userId: {}", userId);
+            return user;
+        } catch (UserNotFoundException e) {
+            log.warn("사용자를 찾을 수 없음 - userId: {}", userId);
+            return null;
+        }
+    }
+
+    private void discardUpload(ChatUpload chatUpload, StoredChatFile storedFile) {
+        chatUploadRepository.delete(chatUpload);
+        fileUploadService.deleteChatFile(storedFile.getFileUrl());
+        log.info("분석이 거절된 업로드 정리 완료 - uploadId: {}", chatUpload.getId());
+    }
+
+    private ChatUpload saveChatUpload(User user, StoredChatFile storedFile, String userName) {
+        log.debug("파일 업로드 완료 - URL: {}", storedFile.getFileUrl());
+
+        ChatUpload chatUpload = ChatUpload.builder()
+                .user(user)  // user가 null이어도 저장 가능
+                .filePath(storedFile.getFileUrl())
+                .contentHash(storedFile.getContentHash())
+                .uploadedAt(LocalDateTime.now())
+                .userName(userName.trim())  // 공백 제거
+                .build();
+
+        chatUpload = chatUploadRepository.save(chatUpload);
+        log.debug("채팅 업로드 정보 저장 완료 - uploadId: {}", chatUpload.getId());
+        return chatUpload;
+    }
+
 }
@@ -0,0 +1,29 @@
+package com.capstone.SafeHug.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * AI 서버 /classify 요청 (이미 파싱된 메시지 묶음)
+ * 결과는 같은 id 로 돌아옵니다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClassifyRequest {
+    private List<Message> messages;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Message {
+        private int id;           // 대화 안에서의 메시지 순번 (0부터)
+        private String message;
+    }
+}
@@ -8,6 +8,8 @@ import java.util.List;
 public class AIAnalysisResponse {
     private List<MessageAnalysis> messages;
     private List<KeywordAnalysis> keywords;
+    // AI 서버 대신 키워드 사전으로 분류한 결과가 섞여 있으면 true
+    private boolean degraded;
 
     @Data
     public static class MessageAnalysis {
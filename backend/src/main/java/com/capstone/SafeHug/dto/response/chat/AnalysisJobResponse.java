@@ -0,0 +1,23 @@
+package com.capstone.SafeHug.dto.response.chat;
+
+import com.capstone.SafeHug.common.AnalysisJobStatus;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 비동기 채팅 분석 작업의 상태 응답
+ * 분석이 끝나면 result 에 ChatAnalysisResponse 가 채워집니다.
+ */
+@Getter
+@Setter
+public class AnalysisJobResponse {
+    private String jobId;
+    private Long chatUploadId;
+    private AnalysisJobStatus status;
+    private ChatAnalysisResponse result;  // COMPLETED 일 때만 존재
+    private String error;                 // FAILED 일 때만 존재
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+}
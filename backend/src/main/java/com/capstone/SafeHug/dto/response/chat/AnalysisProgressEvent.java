@@ -0,0 +1,36 @@
+package com.capstone.SafeHug.dto.response.chat;
+
+import com.capstone.SafeHug.common.AnalysisStage;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * 채팅 분석 진행 상황 이벤트 (SSE)
+ * 단계별로 필요한 필드만 채워서 전송합니다.
+ */
+@Getter
+@Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AnalysisProgressEvent {
+    private AnalysisStage stage;
+    private String message;                                   // 단계 설명
+    private Long chatUploadId;                                // UPLOADED
+    private Integer messageCount;                             // PARSED
+    private Integer batch;                                    // CLASSIFIED - 현재 배치 번호 (1부터)
+    private Integer totalBatches;                             // CLASSIFIED - 전체 배치 수
+    private Integer fromIndex;                                // CLASSIFIED - 이번 배치 첫 메시지의 대화 내 순번 (0부터)
+    private List<ChatAnalysisResponse.MessageInfo> messages;  // CLASSIFIED - 이번 배치의 메시지별 위험 정보 (저장 전이라 id 없음)
+    private GptAnalysisResponse summary;                      // SUMMARY_READY
+    private ChatAnalysisResponse result;                      // PERSISTED
+    private String error;                                     // FAILED
+
+    public static AnalysisProgressEvent of(AnalysisStage stage) {
+        AnalysisProgressEvent event = new AnalysisProgressEvent();
+        event.setStage(stage);
+        event.setMessage(stage.getDisplayName());
+        return event;
+    }
+}
@@ -8,8 +8,9 @@ import com.capstone.SafeHug.entity.ChatAnalysis;
 import com.capstone.SafeHug.entity.ChatMessage;
 import com.capstone.SafeHug.entity.ChatUpload;
 import com.capstone.SafeHug.entity.KeywordAnalysis;
-import com.capstone.SafeHug.entity.Risk;
 import com.capstone.SafeHug.repository.ChatAnalysisRepository;
+import com.capstone.SafeHug.service.chat.ParsedConversation;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
@@ -37,7 +38,8 @@ public class ChatAnalysisResponse {
     @Getter
     @Setter
     public static class MessageInfo {
-        private Long id;          // 메시지 ID
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private Long id;          // 메시지 ID (저장 전인 CLASSIFIED 진행 이벤트에서는 생략)
         private String sender;    // 발신자
         private String date;      // 날짜 (YYYY-MM-DD)
         private String time;      // 시간 (HH:mm:ss)
@@ -48,6 +50,11 @@ public class ChatAnalysisResponse {
 
     public static ChatAnalysisResponse createChatAnalysisResponse(
             ChatAnalysis analysis, List<ChatMessage> messages) {
+        return createChatAnalysisResponse(analysis, ParsedConversation.fromMessages(messages));
+    }
+
+    public static ChatAnalysisResponse createChatAnalysisResponse(
+            ChatAnalysis analysis, ParsedConversation messages) {
 
         ChatAnalysisResponse response = new ChatAnalysisResponse();
         ChatReport report = new ChatReport();
@@ -69,7 +76,7 @@ public class ChatAnalysisResponse {
         log.info("setReport");
         response.setReport(report);
         log.info("createMessageInfos");
-        response.setMessages(createMessageInfos(messages));
+        response.setMessages(createMessageInfos(messages, 0, messages.size()));
         response.setId(analysis.getId());
         response.setRoomRiskLevel(analysis.getRoomRiskLevel());
         response.setMessageCount(analysis.getMessageCount());
@@ -125,14 +132,17 @@ public class ChatAnalysisResponse {
         return keywords;
     }
 
-    private static Summary createSummary(List<ChatMessage> messages) {
+    private static Summary createSummary(ParsedConversation messages) {
         Summary summary = new Summary();
         summary.setTotalMessages(messages.size());
         
         // 위험 메시지 수 계산 (HIGH, MEDIUM, LOW 위험도 포함)
-        int dangerMessages = (int) messages.stream()
-            .filter(m -> m.getHighestRiskLevel() != RiskLevel.NORMAL)
-            .count();
+        int dangerMessages = 0;
+        for (int i = 0; i < messages.size(); i++) {
+            if (messages.getHighestRiskLevel(i) != RiskLevel.NORMAL) {
+                dangerMessages++;
+            }
+        }
         summary.setDangerMessages(dangerMessages);
         
         // 주요 위험 유형 계산
@@ -141,56 +151,48 @@ public class ChatAnalysisResponse {
         return summary;
     }
 
-    private static int countDangerMessages(List<ChatMessage> messages) {
-        return (int) messages.stream()
-                .filter(m -> m.getHighestRiskLevel() == RiskLevel.HIGH)
-                .count();
-    }
+    // 위험 유형별 메시지 수와 가장 높은 위험 수준 (유형 순서대로)
+    private static List<MainType> createMainTypes(ParsedConversation messages) {
+        RiskType[] types = RiskType.values();
+        int[] counts = new int[types.length];
+        RiskLevel[] maxLevels = new RiskLevel[types.length];
+        for (int i = 0; i < messages.size(); i++) {
+            RiskLevel level = messages.getRiskLevel(i);
+            if (level == null || level == RiskLevel.NORMAL) {
+                continue;
+            }
+            int type = messages.getRiskType(i).ordinal();
+            counts[type]++;
+            if (maxLevels[type] == null || level.compareTo(maxLevels[type]) > 0) {
+                maxLevels[type] = level;
+            }
+        }
 
-    private static List<MainType> createMainTypes(List<ChatMessage> messages) {
-        Map<RiskType, Map.Entry<Integer, RiskLevel>> riskTypeMap = messages.stream()
-                .flatMap(message -> message.getRisks().stream())
-                .filter(risk -> risk.getRiskLevel() != RiskLevel.NORMAL)
-                .collect(Collectors.groupingBy(
-                        Risk::getRiskType,
-                        Collectors.collectingAndThen(
-                                Collectors.toList(),
-                                list -> {
-                                    int count = list.size();
-                                    RiskLevel maxRisk = list.stream()
-                                            .map(Risk::getRiskLevel)
-                                            .max(Comparator.naturalOrder())
-                                            .orElse(RiskLevel.NORMAL);
-                                    return Map.entry(count, maxRisk);
-                                }
-                        )
-                ));
-
-        return riskTypeMap.entrySet().stream()
-                .map(entry -> {
-                    MainType mainType = new MainType();
-                    mainType.setType(entry.getKey().toString());
-                    mainType.setLevel(entry.getValue().getValue().toString());
-                    mainType.setCount(entry.getValue().getKey());
-                    return mainType;
-                })
-                .toList();
+        List<MainType> mainTypes = new ArrayList<>();
+        for (int type = 0; type < types.length; type++) {
+            if (counts[type] == 0) {
+                continue;
+            }
+            MainType mainType = new MainType();
+            mainType.setType(types[type].toString());
+            mainType.setLevel(maxLevels[type].toString());
+            mainType.setCount(counts[type]);
+            mainTypes.add(mainType);
+        }
+        return mainTypes;
     }
 
-    private static List<RiskCalendar> createRiskCalendar(List<ChatMessage> messages) {
-        Map<LocalDate, RiskLevel> dateRiskMap = messages.stream()
-                .flatMap(message -> message.getRisks().stream()
-                        .map(risk -> Map.entry(message.getSentAt().toLocalDate(), risk.getRiskLevel())))
-                .filter(entry -> entry.getValue() != RiskLevel.NORMAL)
-                .collect(Collectors.groupingBy(
-                    Map.Entry::getKey,
-                    Collectors.collectingAndThen(
-                        Collectors.mapping(Map.Entry::getValue, Collectors.toList()),
-                        risks -> risks.stream()
-                            .max(Enum::compareTo)
-                            .orElse(RiskLevel.NORMAL)
-                    )
-                ));
+    // 날짜별 위험 수준 (날짜 순서대로)
+    private static List<RiskCalendar> createRiskCalendar(ParsedConversation messages) {
+        TreeMap<LocalDate, RiskLevel> dateRiskMap = new TreeMap<>();
+        for (int i = 0; i < messages.size(); i++) {
+            RiskLevel level = messages.getRiskLevel(i);
+            if (level == null || level == RiskLevel.NORMAL) {
+                continue;
+            }
+            dateRiskMap.merge(ParsedConversation.toDate(messages.getEpochMinute(i)), level,
+                    (a, b) -> a.compareTo(b) >= 0 ? a : b);
+        }
 
         return dateRiskMap.entrySet().stream()
                 .map(entry -> {
@@ -222,30 +224,37 @@ public class ChatAnalysisResponse {
         return guides;
     }
 
-    private static List<MessageInfo> createMessageInfos(List<ChatMessage> messages) {
-        return messages.stream()
-                .map(message -> {
-                    MessageInfo messageInfo = new MessageInfo();
-                    messageInfo.setId(message.getId());
-                    messageInfo.setSender(message.getSender());
-                    messageInfo.setDate(message.getSentAt().toLocalDate().toString());
-                    messageInfo.setTime(message.getSentAt().toLocalTime().toString());
-                    messageInfo.setContent(message.getMessage());
-                    messageInfo.setRisks(createMessageRisks(message));
-                    return messageInfo;
-                })
-                .toList();
+    public static List<MessageInfo> createMessageInfos(List<ChatMessage> messages) {
+        return createMessageInfos(ParsedConversation.fromMessages(messages), 0, messages.size());
     }
 
-    private static List<MessageRisk> createMessageRisks(ChatMessage message) {
-        return message.getRisks().stream()
-                .map(risk -> {
-                    MessageRisk messageRisk = new MessageRisk();
-                    messageRisk.setType(risk.getRiskType().toString());
-                    messageRisk.setLevel(risk.getRiskLevel().toString());
-                    return messageRisk;
-                })
-                .toList();
+    /**
+     * [from, to) 구간의 메시지 정보를 만듭니다.
+     */
+    public static List<MessageInfo> createMessageInfos(ParsedConversation messages, int from, int to) {
+        List<MessageInfo> messageInfos = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            LocalDateTime sentAt = messages.getSentAt(i);
+            MessageInfo messageInfo = new MessageInfo();
+            messageInfo.setId(messages.getMessageId(i));
+            messageInfo.setSender(messages.getSender(i));
+            messageInfo.setDate(sentAt.toLocalDate().toString());
+            messageInfo.setTime(sentAt.toLocalTime().toString());
+            messageInfo.setContent(messages.getMessage(i));
+            messageInfo.setRisks(createMessageRisks(messages, i));
+            messageInfos.add(messageInfo);
+        }
+        return messageInfos;
+    }
+
+    private static List<MessageRisk> createMessageRisks(ParsedConversation messages, int index) {
+        if (!messages.hasRisk(index)) {
+            return List.of();
+        }
+        MessageRisk messageRisk = new MessageRisk();
+        messageRisk.setType(messages.getRiskType(index).toString());
+        messageRisk.setLevel(messages.getRiskLevel(index).toString());
+        return List.of(messageRisk);
     }
 
     /**
@@ -8,7 +8,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "chat_upload")
+@Table(name = "chat_upload", indexes = {
+        @Index(name = "idx_chat_upload_content_hash", columnList = "content_hash")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -34,6 +36,10 @@ public class ChatUpload {
     @Column(name="user_name",nullable = false)
     private String userName;
 
+    // 업로드된 원본 파일의 SHA-256 (hex) - 동일 파일 재분석 방지용
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
     @OneToMany(mappedBy = "chatUpload", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<ChatMessage> chatMessages = new ArrayList<>();
 
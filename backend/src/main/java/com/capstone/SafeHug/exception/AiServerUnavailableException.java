@@ -0,0 +1,15 @@
+package com.capstone.SafeHug.exception;
+
+/**
+ * AI 서버를 쓸 수 없을 때(차단기 열림, 응답 시간 초과, 호출 스레드 포화) 던지는 예외
+ */
+public class AiServerUnavailableException extends RuntimeException {
+
+    public AiServerUnavailableException(String message) {
+        super(message);
+    }
+
+    public AiServerUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -2,6 +2,8 @@ package com.capstone.SafeHug.repository;
 
 import com.capstone.SafeHug.entity.ChatAnalysis;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -15,4 +17,12 @@ public interface ChatAnalysisRepository extends JpaRepository<ChatAnalysis, Long
     List<ChatAnalysis> findByUserId(Long userId);
 
     Optional<ChatAnalysis> findByEvidenceRecordId(Long evidenceRecordId);
+
+    // 같은 내용(SHA-256)과 같은 사용자 이름으로 이미 분석된 결과 (최신순)
+    @Query("SELECT ca FROM ChatAnalysis ca JOIN ca.chatUpload cu " +
+           "WHERE cu.contentHash = :contentHash AND cu.userName = :userName AND cu.id <> :excludeUploadId " +
+           "ORDER BY ca.id DESC")
+    List<ChatAnalysis> findReusableAnalyses(@Param("contentHash") String contentHash,
+                                            @Param("userName") String userName,
+                                            @Param("excludeUploadId") Long excludeUploadId);
 } 
\ No newline at end of file
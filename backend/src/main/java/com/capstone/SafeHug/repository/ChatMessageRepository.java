@@ -14,6 +14,10 @@ import java.util.List;
 public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long> {
     List<ChatMessage> findByChatUploadId(Long chatUploadId);
     List<ChatMessage> findByChatUpload(ChatUpload chatUpload);
+
+    // 분석 결과 재사용 시 메시지마다 위험도를 지연 로딩하지 않도록 함께 조회
+    @Query("SELECT DISTINCT m FROM ChatMessage m LEFT JOIN FETCH m.risks WHERE m.chatUpload.id = :chatUploadId ORDER BY m.id ASC")
+    List<ChatMessage> findWithRisksByChatUploadIdOrderByIdAsc(@Param("chatUploadId") Long chatUploadId);
     
     @Query("SELECT COUNT(DISTINCT m) FROM ChatMessage m JOIN m.risks r WHERE r.riskLevel = :riskLevel")
     long countByRiskLevel(@Param("riskLevel") RiskLevel riskLevel);
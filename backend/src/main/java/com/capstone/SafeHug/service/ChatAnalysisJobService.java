@@ -0,0 +1,394 @@
+package com.capstone.SafeHug.service;
+
+import com.capstone.SafeHug.common.AnalysisJobStatus;
+import com.capstone.SafeHug.common.AnalysisStage;
+import com.capstone.SafeHug.dto.response.chat.AnalysisJobResponse;
+import com.capstone.SafeHug.dto.response.chat.AnalysisProgressEvent;
+import com.capstone.SafeHug.dto.response.chat.ChatAnalysisResponse;
+import com.capstone.SafeHug.dto.response.chat.GptAnalysisResponse;
+import com.capstone.SafeHug.entity.ChatUpload;
+import com.capstone.SafeHug.service.chat.AnalysisProgressListener;
+import com.capstone.SafeHug.service.chat.AnalysisSingleFlight;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 채팅 분석을 백그라운드 작업으로 실행하고 상태를 관리하는 서비스
+ * 업로드 요청은 작업 ID만 받아 바로 반환하고, 결과는 작업 조회 API로 확인합니다.
+ * 끝난 작업은 보관 기간(analysis.job.retention-minutes)이 지나면 주기적으로 정리합니다.
+ */
+@Slf4j
+@Service
+public class ChatAnalysisJobService {
+
+    private final ChatAnalysisService chatAnalysisService;
+    private final AnalysisSingleFlight analysisSingleFlight;
+    private final ThreadPoolTaskExecutor chatAnalysisExecutor;
+    private final Map<String, AnalysisJob> jobs = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService evictionTimer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "analysis-job-eviction");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${analysis.job.retention-minutes:30}")
+    private long retentionMinutes;
+
+    @Value("${analysis.job.eviction-interval-seconds:60}")
+    private long evictionIntervalSeconds;
+
+    @Value("${analysis.sse.timeout-ms:300000}")
+    private long sseTimeoutMs;
+
+    public ChatAnalysisJobService(ChatAnalysisService chatAnalysisService,
+                                  AnalysisSingleFlight analysisSingleFlight,
+                                  @Qualifier("chatAnalysisExecutor") ThreadPoolTaskExecutor chatAnalysisExecutor) {
+        this.chatAnalysisService = chatAnalysisService;
+        this.analysisSingleFlight = analysisSingleFlight;
+        this.chatAnalysisExecutor = chatAnalysisExecutor;
+    }
+
+    @PostConstruct
+    public void start() {
+        evictionTimer.scheduleWithFixedDelay(this::evictExpiredJobs,
+                evictionIntervalSeconds, evictionIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        evictionTimer.shutdownNow();
+    }
+
+    /**
+     * 분석 작업을 등록하고 백그라운드 실행기에 제출합니다.
+     * @param chatUpload 저장된 채팅 업로드
+     * @param userName 사용자 이름
+     * @param chatBytes 업로드 중에 읽어 둔 원본 바이트
+     * @return 등록된 작업 상태
+     * @throws TaskRejectedException 실행기 큐가 가득 찬 경우
+     */
+    public AnalysisJobResponse submit(ChatUpload chatUpload, String userName, byte[] chatBytes) {
+        evictExpiredJobs();
+
+        Long chatUploadId = chatUpload.getId();
+        String singleFlightKey = AnalysisSingleFlight.keyOf(chatUpload);
+        AnalysisJob job = new AnalysisJob(UUID.randomUUID().toString(), chatUploadId);
+        jobs.put(job.getId(), job);
+
+        AnalysisProgressEvent uploaded = AnalysisProgressEvent.of(AnalysisStage.UPLOADED);
+        uploaded.setChatUploadId(chatUploadId);
+        job.publish(uploaded);
+
+        // 같은 파일의 분석이 진행 중이면 실행기 스레드를 잡고 기다리지 않고 리더가 끝난 뒤에 제출된다
+        long startTime = System.currentTimeMillis();
+        try {
+            analysisSingleFlight.executeAsync(singleFlightKey, () -> analyze(job, userName, chatBytes), chatAnalysisExecutor)
+                    .whenComplete((result, e) -> finish(job, result, e, startTime));
+        } catch (TaskRejectedException e) {
+            jobs.remove(job.getId());
+            log.warn("분석 작업 큐가 가득 찼습니다 - uploadId: {}", chatUploadId);
+            throw e;
+        }
+
+        log.info("분석 작업 등록 - jobId: {}, uploadId: {}", job.getId(), chatUploadId);
+        return toResponse(job);
+    }
+
+    /**
+     * 실행기에 새 작업을 받을 여유가 있는지 확인합니다.
+     * 업로드 전에 확인해 큐가 가득 찬 경우 S3 업로드와 DB 저장을 하지 않고 바로 거절하는 데 씁니다.
+     * 확인과 제출 사이에 다른 요청이 자리를 차지할 수 있으므로 submit 의 TaskRejectedException 처리는 그대로 필요합니다.
+     */
+    public boolean hasCapacity() {
+        return chatAnalysisExecutor.getActiveCount() < chatAnalysisExecutor.getMaxPoolSize()
+                || chatAnalysisExecutor.getQueueSize() < chatAnalysisExecutor.getQueueCapacity();
+    }
+
+    /**
+     * 작업 상태를 조회합니다.
+     * @param jobId 작업 ID
+     * @return 작업 상태 (없거나 보관 기간이 지난 경우 empty)
+     */
+    public Optional<AnalysisJobResponse> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(this::toResponse);
+    }
+
+    /**
+     * 작업의 진행 상황 이벤트 스트림을 구독합니다.
+     * 이미 발생한 이벤트를 먼저 재전송하고, 작업이 끝나 있으면 스트림을 바로 닫습니다.
+     * @param jobId 작업 ID
+     * @return SSE 스트림 (작업이 없으면 empty)
+     */
+    public Optional<SseEmitter> subscribe(String jobId) {
+        AnalysisJob job = jobs.get(jobId);
+        if (job == null) {
+            return Optional.empty();
+        }
+        SseEmitter emitter = new SseEmitter(sseTimeoutMs);
+        job.attach(emitter);
+        return Optional.of(emitter);
+    }
+
+    private ChatAnalysisResponse analyze(AnalysisJob job, String userName, byte[] chatBytes) {
+        job.markRunning();
+        return chatAnalysisService.analyzeChat(job.getChatUploadId(), userName, chatBytes, job.progressListener());
+    }
+
+    private void finish(AnalysisJob job, ChatAnalysisResponse result, Throwable e, long startTime) {
+        if (e == null) {
+            job.complete(result);
+            log.info("분석 작업 완료 - jobId: {}, 처리시간: {}ms", job.getId(), System.currentTimeMillis() - startTime);
+            return;
+        }
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        job.fail(cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName());
+        log.error("분석 작업 실패 - jobId: {}, 오류: {}", job.getId(), cause.getMessage(), cause);
+    }
+
+    void evictExpiredJobs() {
+        LocalDateTime threshold = LocalDateTime.now().minusMinutes(retentionMinutes);
+        int before = jobs.size();
+        jobs.values().removeIf(job -> job.getStatus().isFinished()
+                && job.getCompletedAt() != null
+                && job.getCompletedAt().isBefore(threshold));
+        int evicted = before - jobs.size();
+        if (evicted > 0) {
+            log.debug("보관 기간이 지난 분석 작업 정리 - {}건", evicted);
+        }
+    }
+
+    private AnalysisJobResponse toResponse(AnalysisJob job) {
+        AnalysisJobResponse response = new AnalysisJobResponse();
+        response.setJobId(job.getId());
+        response.setChatUploadId(job.getChatUploadId());
+        response.setStatus(job.getStatus());
+        response.setResult(job.getResult());
+        response.setError(job.getError());
+        response.setCreatedAt(job.getCreatedAt());
+        response.setCompletedAt(job.getCompletedAt());
+        return response;
+    }
+
+    /**
+     * 메모리에 보관되는 분석 작업 상태
+     * 발생한 진행 이벤트를 보관해 두었다가 늦게 구독한 클라이언트에게도 재전송합니다.
+     * 작업이 끝나면 배치별 메시지를 담은 중간 이벤트는 버리고 결과를 담은 마지막 이벤트만 남겨,
+     * 보관 기간 동안 메시지 정보가 중복으로 메모리에 남지 않게 합니다. 이후 구독자는 마지막 이벤트만 받습니다.
+     * SSE 전송은 작업 잠금 밖에서 하므로 느린 구독자가 진행 이벤트를 발행하는 분석 스레드나 다른 구독자를 막지 않습니다.
+     */
+    @Getter
+    static class AnalysisJob {
+        private final String id;
+        private final Long chatUploadId;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        private volatile AnalysisJobStatus status = AnalysisJobStatus.PENDING;
+        private volatile String error;
+        private volatile LocalDateTime completedAt;
+
+        private final List<AnalysisProgressEvent> events = new ArrayList<>();
+        private final List<Subscriber> subscribers = new ArrayList<>();
+        private int discarded;               // 작업 종료 시 버린 이벤트 수 (구독자의 전송 위치는 버린 이벤트까지 포함해 센다)
+        private boolean lastEventPublished;  // PERSISTED / FAILED 이벤트가 events 에 들어갔는지
+        private volatile AnalysisProgressEvent lastEvent;
+
+        AnalysisJob(String id, Long chatUploadId) {
+            this.id = id;
+            this.chatUploadId = chatUploadId;
+        }
+
+        void markRunning() {
+            status = AnalysisJobStatus.RUNNING;
+        }
+
+        // 결과는 마지막(PERSISTED) 이벤트에만 담아 두고 따로 들고 있지 않는다
+        ChatAnalysisResponse getResult() {
+            AnalysisProgressEvent last = lastEvent;
+            return last != null ? last.getResult() : null;
+        }
+
+        void complete(ChatAnalysisResponse result) {
+            this.completedAt = LocalDateTime.now();
+            this.status = AnalysisJobStatus.COMPLETED;
+
+            AnalysisProgressEvent persisted = AnalysisProgressEvent.of(AnalysisStage.PERSISTED);
+            persisted.setResult(result);
+            publish(persisted, true);
+        }
+
+        void fail(String error) {
+            this.error = error;
+            this.completedAt = LocalDateTime.now();
+            this.status = AnalysisJobStatus.FAILED;
+
+            AnalysisProgressEvent failed = AnalysisProgressEvent.of(AnalysisStage.FAILED);
+            failed.setError(error);
+            publish(failed, true);
+        }
+
+        AnalysisProgressListener progressListener() {
+            return new AnalysisProgressListener() {
+                @Override
+                public void onParsed(int messageCount) {
+                    AnalysisProgressEvent event = AnalysisProgressEvent.of(AnalysisStage.PARSED);
+                    event.setMessageCount(messageCount);
+                    publish(event);
+                }
+
+                @Override
+                public void onBatchClassified(int batch, int totalBatches, int fromIndex,
+                                              List<ChatAnalysisResponse.MessageInfo> messages) {
+                    AnalysisProgressEvent event = AnalysisProgressEvent.of(AnalysisStage.CLASSIFIED);
+                    event.setBatch(batch);
+                    event.setTotalBatches(totalBatches);
+                    event.setFromIndex(fromIndex);
+                    event.setMessages(messages);
+                    publish(event);
+                }
+
+                @Override
+                public void onSummaryReady(GptAnalysisResponse summary) {
+                    AnalysisProgressEvent event = AnalysisProgressEvent.of(AnalysisStage.SUMMARY_READY);
+                    event.setSummary(summary);
+                    publish(event);
+                }
+            };
+        }
+
+        void publish(AnalysisProgressEvent event) {
+            publish(event, false);
+        }
+
+        private void publish(AnalysisProgressEvent event, boolean last) {
+            List<Subscriber> targets;
+            synchronized (this) {
+                if (last) {
+                    discarded += events.size();
+                    events.clear();
+                    lastEvent = event;
+                    lastEventPublished = true;
+                }
+                events.add(event);
+                targets = List.copyOf(subscribers);
+            }
+            targets.forEach(Subscriber::drain);
+        }
+
+        void attach(SseEmitter emitter) {
+            Subscriber subscriber = new Subscriber(emitter);
+            synchronized (this) {
+                subscribers.add(subscriber);
+            }
+            emitter.onCompletion(() -> detach(subscriber));
+            emitter.onTimeout(() -> detach(subscriber));
+            emitter.onError(e -> detach(subscriber));
+            // 이미 발생한 이벤트를 재전송하고, 작업이 끝나 있으면 스트림을 닫는다
+            subscriber.drain();
+        }
+
+        private synchronized void detach(Subscriber subscriber) {
+            subscribers.remove(subscriber);
+        }
+
+        // index 이후 아직 남아 있는 이벤트. 버려진 중간 이벤트는 건너뛰고 남은 첫 이벤트부터 돌려준다
+        private synchronized Pending pendingFrom(int index) {
+            int from = Math.max(index, discarded);
+            int end = discarded + events.size();
+            return new Pending(from, from >= end ? List.of() : List.copyOf(events.subList(from - discarded, events.size())));
+        }
+
+        private synchronized boolean hasEventsFrom(int index) {
+            return index < discarded + events.size();
+        }
+
+        // 마지막 이벤트까지 모두 보냈으면 true
+        private synchronized boolean isDrained(int index) {
+            return lastEventPublished && index >= discarded + events.size();
+        }
+
+        private record Pending(int from, List<AnalysisProgressEvent> events) {
+        }
+
+        /**
+         * 구독자 한 명의 전송 상태
+         * 보낸 이벤트 수(delivered)까지를 기억해 두고, drain 에서 그 뒤 이벤트를 순서대로 한 번씩만 보냅니다.
+         * 다른 스레드가 이미 보내는 중이면 기다리지 않고 돌아가며, 보내던 스레드가 새 이벤트까지 이어서 보냅니다.
+         */
+        private final class Subscriber {
+            private final SseEmitter emitter;
+            private final ReentrantLock sending = new ReentrantLock();
+            private int delivered;
+            private boolean closed;
+
+            private Subscriber(SseEmitter emitter) {
+                this.emitter = emitter;
+            }
+
+            void drain() {
+                do {
+                    if (!sending.tryLock()) {
+                        return;
+                    }
+                    try {
+                        if (closed) {
+                            return;
+                        }
+                        Pending pending = pendingFrom(delivered);
+                        delivered = pending.from();
+                        for (AnalysisProgressEvent event : pending.events()) {
+                            if (!send(emitter, event)) {
+                                closed = true;
+                                detach(this);
+                                return;
+                            }
+                            delivered++;
+                        }
+                        if (isDrained(delivered)) {
+                            closed = true;
+                            detach(this);
+                            emitter.complete();
+                            return;
+                        }
+                    } finally {
+                        sending.unlock();
+                    }
+                    // 잠금을 놓는 사이 발행된 이벤트가 있으면 이어서 보낸다
+                } while (hasEventsFrom(delivered));
+            }
+        }
+
+        private boolean send(SseEmitter emitter, AnalysisProgressEvent event) {
+            try {
+                emitter.send(SseEmitter.event()
+                        .name(event.getStage().getEventName())
+                        .data(event));
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                log.debug("SSE 전송 실패 - jobId: {}, 오류: {}", id, e.getMessage());
+                emitter.completeWithError(e);
+                return false;
+            }
+        }
+    }
+}
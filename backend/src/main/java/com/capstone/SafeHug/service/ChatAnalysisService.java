@@ -15,19 +15,30 @@ import com.capstone.SafeHug.dto.request.PdfGenerationRequest;
 import com.capstone.SafeHug.dto.response.evidence.EvidencePdfResponse;
 import com.capstone.SafeHug.entity.*;
 import com.capstone.SafeHug.repository.*;
+import com.capstone.SafeHug.service.ai.ChatSummarizer;
+import com.capstone.SafeHug.service.chat.AnalysisBranches;
+import com.capstone.SafeHug.service.chat.AnalysisProgressListener;
+import com.capstone.SafeHug.service.chat.KakaoChatReader;
+import com.capstone.SafeHug.service.chat.ParallelChatParser;
+import com.capstone.SafeHug.service.chat.ParsedChatMessage;
+import com.capstone.SafeHug.service.chat.ParsedConversation;
+import com.capstone.SafeHug.service.risk.ContextRiskEngine;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import software.amazon.awssdk.core.waiters.WaiterResponse;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.temporal.ChronoUnit;
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 import static java.lang.String.valueOf;
@@ -45,73 +56,106 @@ public class ChatAnalysisService {
     private final TextAnalysisService textAnalysisService;
     private final EvidenceRecordRepository evidenceRecordRepository;
     private final EvidenceService evidenceService;
+    private final ParallelChatParser parallelChatParser;
+    private final ContextRiskEngine contextRiskEngine;
+    private final ChatSummarizer chatSummarizer;
 
-    // PC 메시지 형식: [이름] [오전/오후 HH:mm] 메시지
-    private static final Pattern PC_MESSAGE_PATTERN = Pattern.compile("\\[(.*?)\\]\\s*\\[(오전|오후)\\s*(\\d{1,2}:\\d{2})\\]\\s*(.*?)(?=\\n|$)");
+    // 파서가 한 번에 넘겨주는 메시지 수
+    @Value("${analysis.parser.chunk-size:1000}")
+    private int parseChunkSize;
 
-    // Mobile 메시지 형식: YYYY년 MM월 DD일 오전/오후 HH:mm, 이름 : 메시지
-    private static final Pattern MOBILE_MESSAGE_PATTERN = Pattern.compile("(\\d{4}년 \\d{1,2}월 \\d{1,2}일 (오전|오후) \\d{1,2}:\\d{2}),\\s*(.*?)\\s*:\\s*(.*?)(?=\\n\\d{4}년|$)");
+    // 병렬 파싱은 파일 전체를 문자열로 올리므로 CPU 가 병목일 때만 켠다
+    @Value("${analysis.parser.parallel.enabled:false}")
+    private boolean parallelParseEnabled;
 
-    // PC 날짜 구분선 형식: --------------- YYYY년 MM월 DD일 요일 ---------------
-    private static final Pattern PC_DATE_PATTERN = Pattern.compile("--------------- (\\d{4}년 \\d{1,2}월 \\d{1,2}일 \\S+요일) ---------------");
+    @Value("${analysis.parser.parallel.threshold-bytes:4194304}")
+    private int parallelParseThresholdBytes;
 
-    // PC 채팅방 정보 형식: 이름 님과 카카오톡 대화\n저장한 날짜 : YYYY-MM-DD HH:mm:ss
-    private static final Pattern PC_CHATROOM_INFO_PATTERN = Pattern.compile("(.*?) 님과 카카오톡 대화\\n저장한 날짜 : (\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}:\\d{2})");
+    // GPT 요약 실패 시 저장되는 기본 요약
+    private static final String DEFAULT_SUMMARY = "대화 분석 중 오류가 발생했습니다. 다시 시도해주세요.";
 
-    // Mobile 채팅방 정보 형식: 이름 님과 카카오톡 대화\n저장한 날짜 : YYYY년 MM월 DD일 오전/오후 HH:mm
-    private static final Pattern MOBILE_CHATROOM_INFO_PATTERN = Pattern.compile("(.*?) 님과 카카오톡 대화\\n저장한 날짜 : (\\d{4}년 \\d{1,2}월 \\d{1,2}일 (오전|오후) \\d{1,2}:\\d{2})");
-
-    private static final DateTimeFormatter PC_DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy년 M월 d일 EEEE", java.util.Locale.KOREAN);
-    private static final DateTimeFormatter MOBILE_DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy년 M월 d일 a h:mm", java.util.Locale.KOREAN);
+    @Transactional
+    public ChatAnalysisResponse analyzeChat(Long chatUploadId, String userName) {
+        return analyzeChat(chatUploadId, userName, null);
+    }
 
-    private enum ChatFormat {
-        PC, MOBILE, UNKNOWN
+    /**
+     * 채팅 파일을 분석합니다.
+     * @param chatUploadId 채팅 업로드 ID
+     * @param userName 사용자 이름
+     * @param chatBytes 업로드 중에 읽어 둔 원본 바이트 (없으면 S3에서 내려받습니다)
+     * @return 분석 결과
+     */
+    @Transactional
+    public ChatAnalysisResponse analyzeChat(Long chatUploadId, String userName, byte[] chatBytes) {
+        return analyzeChat(chatUploadId, userName, chatBytes, AnalysisProgressListener.NONE);
     }
 
+    /**
+     * 채팅 파일을 분석하면서 단계별 진행 상황을 리스너에 알립니다.
+     * @param listener 진행 상황 리스너 (파싱, 배치 분류, 요약)
+     */
     @Transactional
-    public ChatAnalysisResponse analyzeChat(Long chatUploadId, String userName) {
+    public ChatAnalysisResponse analyzeChat(Long chatUploadId, String userName, byte[] chatBytes,
+                                            AnalysisProgressListener listener) {
         // 1. 채팅 파일 정보 조회
         Optional<ChatUpload> byId = chatUploadRepository.findById(chatUploadId);
         ChatUpload chatUpload = byId
                 .orElseThrow(() -> new RuntimeException("Chat upload not found"));
 
-        // 2. AWS에서 채팅 파일 다운로드
-        String chatContent = fileUploadService.downloadChatFile(chatUpload.getFilePath());
-        if (chatContent == null || chatContent.trim().isEmpty()) {
-            throw new RuntimeException("채팅 파일을 읽을 수 없습니다.");
+        // 같은 파일이 이미 분석된 적이 있으면 AI/GPT 호출 없이 기존 결과를 복제한다
+        Optional<ChatAnalysis> reusable = findReusableAnalysis(chatUpload);
+        if (reusable.isPresent()) {
+            return reuseAnalysis(reusable.get(), chatUpload, listener);
         }
 
-        // 3. 채팅 메시지 파싱 및 저장
-        List<ChatMessage> parsedMessages = parseChatMessages(chatContent, chatUpload);
-        chatMessageRepository.saveAll(parsedMessages);
+        // 2. 업로드 시 읽어 둔 내용(없으면 S3 스트림)을 파싱 (엔티티는 분석이 끝난 뒤 저장할 때 만든다)
+        ParsedConversation conversation = parseConversation(chatUpload, chatBytes);
+        if (conversation.isEmpty()) {
+            log.error("파싱된 메시지가 없습니다.");
+            throw new RuntimeException("파싱된 메시지가 없습니다.");
+        }
+        listener.onParsed(conversation.size());
+
+        // 3~5. AI 분류와 GPT 요약은 서로 독립적이므로 가상 스레드에서 동시에 실행한다
+        //      한쪽이 실패하거나 이 스레드가 인터럽트되면 다른 쪽도 취소된다 (DB 작업은 트랜잭션이 묶인 이 스레드에서만)
+        AIAnalysisResponse aiResponse;
+        String gptResponse;
+        try (AnalysisBranches branches = new AnalysisBranches()) {
+            // GPT 요약은 위험 키워드 메시지와 표본 대화만 토큰 예산 안에서 골라 만든다 (긴 대화는 구간별 요약 후 합침)
+            Future<String> summary = branches.fork(() -> chatSummarizer.summarize(conversation));
 
-        // 4. AI 서버에 분석 요청
-        AIAnalysisResponse aiResponse = textAnalysisService.analyzeIndividualMessages(chatUpload.getFilePath());
+            // AI 서버에 배치 단위로 분석 요청, 배치 결과가 도착하는 대로 파싱된 메시지와 매칭
+            Future<AIAnalysisResponse> classified = branches.fork(() ->
+                    textAnalysisService.analyzeIndividualMessages(conversation,
+                            (batch, totalBatches, from, to, results) -> {
+                                applyRisks(conversation, results);
+                                listener.onBatchClassified(batch, totalBatches, from,
+                                        ChatAnalysisResponse.createMessageInfos(conversation, from, to));
+                            }));
+            aiResponse = branches.join(classified);
+            gptResponse = branches.join(summary);
+        }
 
-        // 5. 파싱된 메시지와 AI 분석 결과 매칭
         if (aiResponse.getMessages() == null || aiResponse.getMessages().isEmpty()) {
             log.error("AI 분석 결과가 비어 있습니다.");
             throw new RuntimeException("AI 분석 결과가 비어 있습니다.");
         }
-
-        if (parsedMessages.isEmpty()) {
-            log.error("파싱된 메시지가 없습니다.");
-            throw new RuntimeException("파싱된 메시지가 없습니다.");
+        if (aiResponse.isDegraded()) {
+            // 키워드 사전으로 대신한 결과는 같은 파일의 다음 업로드가 재사용하지 않도록 해시를 지운다
+            log.warn("AI 서버 장애로 키워드 기반 분석 결과를 반환합니다. - chatUploadId: {}", chatUpload.getId());
+            chatUpload.setContentHash(null);
         }
 
-        Map<String, ChatMessage> messageMap = parsedMessages.stream()
-                .collect(Collectors.toMap(ChatMessage::getMessage, message -> message));
+        // 모든 배치가 끝난 뒤 앞뒤 메시지를 함께 보는 위험도 조정 (거절 후 반복 요청, 거절 직전 메시지 상향, 연속 메시지)
+        contextRiskEngine.evaluate(conversation, chatUpload.getUserName());
 
-        analyzeMessages(parsedMessages, aiResponse);
+        // 6. 분석된 메시지를 위험 정보와 함께 엔티티로 만들어 저장
+        saveMessages(conversation, chatUpload);
 
-        // 6. 분석된 메시지 저장
-        chatMessageRepository.saveAll(parsedMessages);
-
-        // 7. GPT를 사용한 요약 생성
-        String gptResponse = textAnalysisService.generateGPTResponse(chatUpload.getFilePath());
-
-        // 8. 전체 분석 결과 생성
+        // 7~8. GPT 요약(위에서 분류와 함께 생성)으로 전체 분석 결과 생성
         GptAnalysisResponse gptAnalysis = generateGPTAnalysis(gptResponse);
+        listener.onSummaryReady(gptAnalysis);
 
         // 9. 키워드 분석 결과 저장
         List<KeywordAnalysis> keywordAnalyses = null;
@@ -129,7 +173,7 @@ public class ChatAnalysisService {
         else log.info("키워드 저장 안됨 - null");
 
         log.info("createChatAnalysis");
-        ChatAnalysis analysis = createChatAnalysis(chatUpload, parsedMessages, gptAnalysis, keywordAnalyses);
+        ChatAnalysis analysis = createChatAnalysis(chatUpload, conversation, gptAnalysis, keywordAnalyses);
         
         // ChatAnalysis 저장
         analysis = chatAnalysisRepository.save(analysis);
@@ -156,10 +200,82 @@ public class ChatAnalysisService {
         } else{
             log.info("analysis.getKeywordAnalyses().size = {}", analysis.getKeywordAnalyses().size());
         }
-        return ChatAnalysisResponse.createChatAnalysisResponse(analysis, parsedMessages);
+        return ChatAnalysisResponse.createChatAnalysisResponse(analysis, conversation);
     }
 
 
+    private Optional<ChatAnalysis> findReusableAnalysis(ChatUpload chatUpload) {
+        if (chatUpload.getContentHash() == null) {
+            return Optional.empty();
+        }
+        // GPT 요약이 실패했던 결과는 재사용하지 않는다
+        return chatAnalysisRepository.findReusableAnalyses(
+                        chatUpload.getContentHash(), chatUpload.getUserName(), chatUpload.getId())
+                .stream()
+                .filter(analysis -> analysis.getSummary() != null && !analysis.getSummary().isBlank()
+                        && !DEFAULT_SUMMARY.equals(analysis.getSummary())
+                        && analysis.getReasons().stream().anyMatch(reason -> !reason.isBlank()))
+                .findFirst();
+    }
+
+    /**
+     * 동일한 파일의 기존 분석 결과(메시지, 위험도, 키워드, 요약)를 새 업로드로 복제합니다.
+     * 익명 업로드는 일정 시간 뒤 삭제되므로 원본을 참조하지 않고 행을 복사합니다.
+     */
+    private ChatAnalysisResponse reuseAnalysis(ChatAnalysis source, ChatUpload chatUpload,
+                                               AnalysisProgressListener listener) {
+        log.info("동일 파일 분석 결과 재사용 - uploadId: {}, 원본 analysisId: {}, sha256: {}",
+                chatUpload.getId(), source.getId(), chatUpload.getContentHash());
+
+        List<ChatMessage> originals = chatMessageRepository.findWithRisksByChatUploadIdOrderByIdAsc(source.getChatUpload().getId());
+        List<ChatMessage> messages = new ArrayList<>(originals.size());
+        for (ChatMessage original : originals) {
+            ChatMessage message = new ChatMessage();
+            message.setChatUpload(chatUpload);
+            message.setSender(original.getSender());
+            message.setSentAt(original.getSentAt());
+            message.setMessage(original.getMessage());
+            for (Risk risk : original.getRisks()) {
+                message.addRisk(risk.getRiskType(), risk.getRiskLevel(), "기존 분석 결과 재사용");
+            }
+            messages.add(message);
+        }
+        for (int from = 0; from < messages.size(); from += parseChunkSize) {
+            chatMessageRepository.saveAll(messages.subList(from, Math.min(from + parseChunkSize, messages.size())));
+        }
+        listener.onParsed(messages.size());
+        listener.onBatchClassified(1, 1, 0, ChatAnalysisResponse.createMessageInfos(messages));
+
+        ChatAnalysis analysis = new ChatAnalysis();
+        analysis.setChatUpload(chatUpload);
+        analysis.setUser(chatUpload.getUser());
+        analysis.setMessageCount(source.getMessageCount());
+        analysis.setDuration(source.getDuration());
+        analysis.setKeyPhrasePercent(source.getKeyPhrasePercent());
+        analysis.setRoomRiskLevel(source.getRoomRiskLevel());
+        analysis.setSummary(source.getSummary());
+        analysis.setReasons(source.getReasons());
+        listener.onSummaryReady(GptAnalysisResponse.builder()
+                .summary(source.getSummary())
+                .reasons(source.getReasons())
+                .build());
+        analysis = chatAnalysisRepository.save(analysis);
+
+        List<KeywordAnalysis> keywordAnalyses = new ArrayList<>();
+        for (KeywordAnalysis original : keywordAnalysisRepository.findByChatAnalysis(source)) {
+            KeywordAnalysis keyword = new KeywordAnalysis();
+            keyword.setKeyword(original.getKeyword());
+            keyword.setCount(original.getCount());
+            keyword.setRisk(original.getRisk());
+            keyword.setChatAnalysis(analysis);
+            keywordAnalyses.add(keyword);
+        }
+        keywordAnalysisRepository.saveAll(keywordAnalyses);
+        analysis.setKeywordAnalyses(keywordAnalyses);
+
+        return ChatAnalysisResponse.createChatAnalysisResponse(analysis, messages);
+    }
+
     @Transactional(readOnly = true)
     public List<MyEvidenceResponse> getMyEvidence(Long userId, EvidenceFilterRequest filter) {
         if (userId == null) {
@@ -216,7 +332,13 @@ public class ChatAnalysisService {
             }
             
             // validateGptResponse(summary, reasons);
-            
+
+            // "요약:" 이나 이유가 없는 응답(ChatSummarizer.FAILED_SUMMARY 등)은 실패로 보고 기본 요약을 저장한다
+            if (summary.isBlank() || reasons.isEmpty()) {
+                log.warn("GPT 응답에 요약 또는 이유가 없습니다: {}", gptResponse);
+                return createDefaultGptAnalysis();
+            }
+
             return GptAnalysisResponse.builder()
                 .summary(summary)
                 .reasons(reasons)
@@ -286,7 +408,7 @@ public class ChatAnalysisService {
 
     private GptAnalysisResponse createDefaultGptAnalysis() {
         return GptAnalysisResponse.builder()
-            .summary("대화 분석 중 오류가 발생했습니다. 다시 시도해주세요.")
+            .summary(DEFAULT_SUMMARY)
             .reasons(List.of(
                 "분석 서비스 일시적 오류",
                 "잠시 후 다시 시도해주세요"
@@ -295,7 +417,7 @@ public class ChatAnalysisService {
     }
 
     // chat analysis
-    private ChatAnalysis createChatAnalysis(ChatUpload chatUpload, List<ChatMessage> messages, GptAnalysisResponse gptAnalysis, List<KeywordAnalysis> keywordAnalyses) {
+    private ChatAnalysis createChatAnalysis(ChatUpload chatUpload, ParsedConversation messages, GptAnalysisResponse gptAnalysis, List<KeywordAnalysis> keywordAnalyses) {
         ChatAnalysis analysis = new ChatAnalysis();
         analysis.setChatUpload(chatUpload);
         analysis.setUser(chatUpload.getUser());
@@ -333,29 +455,28 @@ public class ChatAnalysisService {
         return analysis;
     }
 
-    private double calculateDuration(List<ChatMessage> messages) {
+    private double calculateDuration(ParsedConversation messages) {
         if (messages.isEmpty()) {
             return 0.0;
         }
 
-        ChatMessage firstMessage = messages.get(0);
-        ChatMessage lastMessage = messages.get(messages.size() - 1);
-        
-        LocalDateTime startTime = firstMessage.getSentAt();
-        LocalDateTime endTime = lastMessage.getSentAt();
-        
-        return ChronoUnit.MINUTES.between(startTime, endTime);
+        // 첫 메시지와 마지막 메시지 사이의 분
+        return messages.getEpochMinute(messages.size() - 1) - messages.getEpochMinute(0);
     }
 
-    private double calculateKeyPhrasePercent(List<ChatMessage> messages, List<KeywordAnalysis> keywordAnalyses) {
+    private double calculateKeyPhrasePercent(ParsedConversation messages, List<KeywordAnalysis> keywordAnalyses) {
         if (messages.isEmpty()) {
             return 0.0;
         }
 
         // 메시지 위험도 비율 계산 (70% 가중치)
-        double messageRiskRatio = messages.stream()
-            .filter(m -> m.getHighestRiskLevel() != RiskLevel.NORMAL)
-            .count() / (double) messages.size();
+        int riskyMessages = 0;
+        for (int i = 0; i < messages.size(); i++) {
+            if (messages.getHighestRiskLevel(i) != RiskLevel.NORMAL) {
+                riskyMessages++;
+            }
+        }
+        double messageRiskRatio = riskyMessages / (double) messages.size();
 
         // 키워드 위험도 비율 계산 (30% 가중치)
         double keywordRiskRatio = 0.0;
@@ -376,23 +497,22 @@ public class ChatAnalysisService {
         return (messageRiskRatio * 0.7 + keywordRiskRatio * 0.3) * 100;
     }
 
-    private RiskLevel calculateRoomRiskLevel(List<ChatMessage> messages, List<KeywordAnalysis> keywordAnalyses) {
+    private RiskLevel calculateRoomRiskLevel(ParsedConversation messages, List<KeywordAnalysis> keywordAnalyses) {
         if (messages.isEmpty()) {
             return RiskLevel.NORMAL;
         }
 
         // 메시지 위험도 점수 계산 (70% 가중치)
-        double messageRiskScore = messages.stream()
-            .mapToDouble(m -> {
-                switch (m.getHighestRiskLevel()) {
-                    case HIGH: return 1.0;
-                    case MEDIUM: return 0.7;
-                    case LOW: return 0.3;
-                    default: return 0.0;
-                }
-            })
-            .average()
-            .orElse(0.0);
+        double messageRiskTotal = 0.0;
+        for (int i = 0; i < messages.size(); i++) {
+            switch (messages.getHighestRiskLevel(i)) {
+                case HIGH -> messageRiskTotal += 1.0;
+                case MEDIUM -> messageRiskTotal += 0.7;
+                case LOW -> messageRiskTotal += 0.3;
+                default -> { }
+            }
+        }
+        double messageRiskScore = messageRiskTotal / messages.size();
 
         // 키워드 위험도 점수 계산 (30% 가중치)
         double keywordRiskScore = 0.0;
@@ -430,124 +550,44 @@ public class ChatAnalysisService {
         }
     }
 
-    private List<ChatMessage> parseChatMessages(String chatContent, ChatUpload chatUpload) {
-        List<ChatMessage> parsedMessages = new ArrayList<>();
-        ChatFormat chatFormat = detectChatFormat(chatContent);
-        LocalDate currentDate = LocalDate.now();
-        String[] lines = chatContent.split("\n");
-
-        for (String line : lines) {
-            if (line.trim().isEmpty()) continue;
-
-            // PC 형식 메시지 파싱
-            if (chatFormat == ChatFormat.PC) {
-                Matcher pcMatcher = PC_MESSAGE_PATTERN.matcher(line);
-                if (pcMatcher.find()) {
-                    try {
-                        ChatMessage message = new ChatMessage();
-                        message.setSender(pcMatcher.group(1));
-
-                        String timeStr = pcMatcher.group(2) + " " + pcMatcher.group(3);
-                        LocalDateTime messageTime = parsePCDateTime(currentDate, timeStr);
-                        message.setSentAt(messageTime);
-
-                        String messageContent = pcMatcher.group(4).trim();
-                        message.setMessage(messageContent);
-                        message.setChatUpload(chatUpload);
-
-                        parsedMessages.add(message);
-                    } catch (Exception e) {
-                        log.error("PC 메시지 파싱 오류: {} - {}", line, e.getMessage());
-                    }
-                }
-            }
-
-            // Mobile 형식 메시지 파싱
-            if (chatFormat == ChatFormat.MOBILE) {
-                Matcher mobileMatcher = MOBILE_MESSAGE_PATTERN.matcher(line);
-                if (mobileMatcher.find()) {
-                    try {
-                        ChatMessage message = new ChatMessage();
-                        message.setSender(mobileMatcher.group(3));
-
-                        String dateTimeStr = mobileMatcher.group(1);
-                        LocalDateTime messageTime = parseMobileDateTime(dateTimeStr);
-                        message.setSentAt(messageTime);
-
-                        String messageContent = mobileMatcher.group(4).trim();
-                        message.setMessage(messageContent);
-                        message.setChatUpload(chatUpload);
-
-                        parsedMessages.add(message);
-                    } catch (Exception e) {
-                        log.error("모바일 메시지 파싱 오류: {} - {}", line, e.getMessage());
-                    }
+    /**
+     * 카카오톡 대화 내보내기를 스트림으로 읽어 열 단위 대화(ParsedConversation)로 모읍니다.
+     * 파일 전체를 하나의 문자열로 만들지 않습니다.
+     * 병렬 파싱이 켜져 있고 이미 메모리에 있는 큰 파일이면 구간별로 나눠 병렬로 파싱합니다.
+     * @param chatBytes 업로드 중에 읽어 둔 원본 바이트 (없으면 S3에서 스트림으로 읽습니다)
+     */
+    private ParsedConversation parseConversation(ChatUpload chatUpload, byte[] chatBytes) {
+        if (parallelParseEnabled && chatBytes != null && chatBytes.length >= parallelParseThresholdBytes) {
+            return parallelChatParser.parse(new String(chatBytes, StandardCharsets.UTF_8));
+        }
+
+        InputStream source = chatBytes != null
+                ? new ByteArrayInputStream(chatBytes)
+                : fileUploadService.openChatFile(chatUpload.getFilePath());
+        ParsedConversation.Builder builder = ParsedConversation.builder();
+        try (KakaoChatReader reader = new KakaoChatReader(
+                new InputStreamReader(source, StandardCharsets.UTF_8), parseChunkSize)) {
+            while (reader.hasNext()) {
+                for (ParsedChatMessage parsed : reader.next()) {
+                    builder.add(parsed.getSender(), parsed.getSentAt(), parsed.getMessage());
                 }
             }
+        } catch (IOException | UncheckedIOException e) {
+            log.error("채팅 파일 읽기 실패 - chatUploadId: {}", chatUpload.getId(), e);
+            throw new RuntimeException("채팅 파일을 읽을 수 없습니다.", e);
         }
-
-        if (parsedMessages.isEmpty()) {
-            log.warn("파싱된 메시지가 없습니다. 채팅 형식: {}", chatFormat);
-        } else {
-            log.info("총 {}개의 메시지가 파싱되었습니다. 채팅 형식: {}", parsedMessages.size(), chatFormat);
-        }
-
-        return parsedMessages;
+        return builder.build();
     }
 
-    private LocalDateTime parsePCDateTime(LocalDate date, String timeStr) {
-        try {
-            String[] parts = timeStr.split(" ");
-            String amPm = parts[0];
-            String time = parts[1];
-
-            String[] timeParts = time.split(":");
-            int hour = Integer.parseInt(timeParts[0]);
-            int minute = Integer.parseInt(timeParts[1]);
-
-            if (amPm.equals("오후") && hour != 12) {
-                hour += 12;
-            } else if (amPm.equals("오전") && hour == 12) {
-                hour = 0;
-            }
-
-            return date.atTime(hour, minute);
-        } catch (Exception e) {
-            log.error("시간 파싱 오류: {} - {}", timeStr, e.getMessage());
-            return LocalDateTime.now();
-        }
-    }
-
-    private LocalDateTime parseMobileDateTime(String dateTimeStr) {
-        try {
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy년 M월 d일 a h:mm", java.util.Locale.KOREAN);
-            return LocalDateTime.parse(dateTimeStr, formatter);
-        } catch (Exception e) {
-            log.error("모바일 시간 파싱 오류: {} - {}", dateTimeStr, e.getMessage());
-            return LocalDateTime.now();
-        }
-    }
-
-    private ChatFormat detectChatFormat(String chatContent) {
-        String[] lines = chatContent.split("\n");
-        if (lines.length < 2) {
-            log.warn("채팅 내용이 너무 짧습니다.");
-            return ChatFormat.UNKNOWN;
-        }
-
-        // 첫 두 줄을 합쳐서 채팅방 정보 형식 확인
-        String chatRoomInfo = lines[0] + "\n" + lines[1];
-
-        if (PC_CHATROOM_INFO_PATTERN.matcher(chatRoomInfo).matches()) {
-            log.info("PC 형식 채팅방 감지됨");
-            return ChatFormat.PC;
-        } else if (MOBILE_CHATROOM_INFO_PATTERN.matcher(chatRoomInfo).matches()) {
-            log.info("모바일 형식 채팅방 감지됨");
-            return ChatFormat.MOBILE;
+    /**
+     * 분석이 끝난 메시지를 청크 단위로 엔티티로 만들어 저장하고, 발급된 ID 를 대화에 기록합니다.
+     */
+    private void saveMessages(ParsedConversation conversation, ChatUpload chatUpload) {
+        for (int from = 0; from < conversation.size(); from += parseChunkSize) {
+            int to = Math.min(from + parseChunkSize, conversation.size());
+            List<ChatMessage> saved = chatMessageRepository.saveAll(conversation.materialize(from, to, chatUpload));
+            conversation.assignMessageIds(from, saved);
         }
-
-        log.warn("알 수 없는 채팅 형식입니다.");
-        return ChatFormat.UNKNOWN;
     }
 
     private void validateAIAnalysis(AIAnalysisResponse aiResponse) {
@@ -648,46 +688,25 @@ public class ChatAnalysisService {
         }
     }
 
-    private void analyzeMessages(List<ChatMessage> messages, AIAnalysisResponse aiResponse) {
-        if (messages.isEmpty() || aiResponse == null || aiResponse.getMessages() == null) {
-            return;
-        }
-
-        Map<String, ChatMessage> messageMap = messages.stream()
-            .collect(Collectors.toMap(ChatMessage::getMessage, message -> message));
-
-        for (AIAnalysisResponse.MessageAnalysis analysis : aiResponse.getMessages()) {
-            ChatMessage message = messageMap.get(analysis.getMessage());
-            if (message != null && analysis.getRisks() != null && !analysis.getRisks().isEmpty()) {
+    /**
+     * 분류 배치 결과를 메시지에 기록합니다.
+     * 요청 id 가 대화 내 메시지 위치이므로 본문 비교 없이 배열 위치로 바로 매칭합니다.
+     */
+    private void applyRisks(ParsedConversation messages, List<AIAnalysisResponse.MessageAnalysis> analyses) {
+        for (AIAnalysisResponse.MessageAnalysis analysis : analyses) {
+            int messageIndex = analysis.getId();
+            if (messageIndex < 0 || messageIndex >= messages.size()) {
+                log.warn("대화 범위를 벗어난 분석 결과 id: {}", messageIndex);
+                continue;
+            }
+            if (analysis.getRisks() != null && !analysis.getRisks().isEmpty()) {
                 MessageRisk risk = analysis.getRisks().get(0);
                 try {
-                    RiskLevel riskLevel = convertToRiskLevel(risk.getLevel());
-                    RiskType riskType = convertToRiskType(risk.getType());
-                    
-                    // 기존 위험도 제거 후 새로운 위험도 설정
-                    message.getRisks().clear();
-                    message.addRisk(riskType, riskLevel, "AI 분석 결과");
-
-                    // 거부 메시지 발견 시 이전 메시지의 위험도 상향 조정
-                    if (riskType == RiskType.REJECTION && message.getSender().equals("윤정")) {
-                        int messageIndex = messages.indexOf(message);
-                        if (messageIndex > 0) {
-                            ChatMessage previousMessage = messages.get(messageIndex - 1);
-                            RiskLevel currentLevel = previousMessage.getHighestRiskLevel();
-                            RiskLevel newLevel = switch (currentLevel) {
-                                case NORMAL -> RiskLevel.LOW;
-                                case LOW -> RiskLevel.MEDIUM;
-                                case MEDIUM -> RiskLevel.HIGH;
-                                default -> currentLevel;
-                            };
-                            previousMessage.getRisks().clear();
-                            previousMessage.addRisk(RiskType.COERCION, newLevel, "거부 메시지로 인한 위험도 상향 조정");
-                        }
-                    }
+                    // 기존 위험도를 새로운 위험도로 교체
+                    messages.setRisk(messageIndex, convertToRiskType(risk.getType()), convertToRiskLevel(risk.getLevel()));
                 } catch (Exception e) {
                     log.warn("위험도 설정 중 오류 발생: {}, 기본값 NORMAL로 설정", e.getMessage());
-                    message.getRisks().clear();
-                    message.addRisk(RiskType.NORMAL, RiskLevel.NORMAL, "기본 위험도 설정");
+                    messages.setRisk(messageIndex, RiskType.NORMAL, RiskLevel.NORMAL);
                 }
             }
         }
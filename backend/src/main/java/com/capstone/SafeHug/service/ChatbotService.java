@@ -8,15 +8,16 @@ import com.capstone.SafeHug.entity.User;
 import com.capstone.SafeHug.exception.ChatbotException;
 import com.capstone.SafeHug.repository.ChatbotLogRepository;
 import com.capstone.SafeHug.repository.UserRepository;
+import com.capstone.SafeHug.service.ai.LlmClient;
+import com.theokanning.openai.OpenAiHttpException;
+import com.theokanning.openai.Usage;
+import com.theokanning.openai.completion.chat.ChatCompletionChoice;
+import com.theokanning.openai.completion.chat.ChatCompletionRequest;
+import com.theokanning.openai.completion.chat.ChatCompletionResult;
+import com.theokanning.openai.completion.chat.ChatMessage;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.ResourceAccessException;
 import lombok.extern.slf4j.Slf4j;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.http.HttpStatus;
@@ -24,7 +25,6 @@ import org.springframework.http.HttpStatus;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
@@ -78,7 +78,7 @@ public class ChatbotService {
     private ChatGPTConfig chatGPTConfig;
 
     @Autowired
-    private RestTemplate restTemplate;
+    private LlmClient llmClient;
 
     @Autowired
     private ChatbotLogRepository chatbotLogRepository;
@@ -113,49 +113,28 @@ public class ChatbotService {
 
         while (retryCount <= MAX_RETRY_COUNT) {
             try {
-                // ChatGPT API 요청 헤더 설정
-                HttpHeaders headers = new HttpHeaders();
-                headers.setContentType(MediaType.APPLICATION_JSON);
-                headers.setBearerAuth(chatGPTConfig.getApiKey());
-                headers.set("Accept-Charset", "UTF-8");
-
                 // ChatGPT API 요청 본문 설정
-                Map<String, Object> requestBody = new LinkedHashMap<>();
-                requestBody.put("model", "gpt-3.5-turbo");
-                
-                List<Map<String, String>> messages = new ArrayList<>();
-                
-                // 시스템 프롬프트 추가
-                Map<String, String> systemMessage = new LinkedHashMap<>();
-                systemMessage.put("role", "system");
-                systemMessage.put("content", systemPrompt);
-                messages.add(systemMessage);
-                
-                // 사용자 메시지 추가
-                Map<String, String> userMessage = new LinkedHashMap<>();
-                userMessage.put("role", "user");
-                userMessage.put("content", request.getMessage());
-                messages.add(userMessage);
-                
-                requestBody.put("messages", messages);
-                requestBody.put("temperature", 0.7); // 더 자연스러운 대화를 위해 temperature 조정
-                requestBody.put("max_tokens", 500); // 더 긴 응답을 위해 토큰 수 증가
-                requestBody.put("presence_penalty", 0.3);
-                requestBody.put("frequency_penalty", 0.2);
+                List<ChatMessage> messages = new ArrayList<>();
+                messages.add(new ChatMessage("system", systemPrompt));  // 시스템 프롬프트 추가
+                messages.add(new ChatMessage("user", request.getMessage()));  // 사용자 메시지 추가
+
+                ChatCompletionRequest completionRequest = ChatCompletionRequest.builder()
+                    .model("gpt-3.5-turbo")
+                    .messages(messages)
+                    .temperature(0.7) // 더 자연스러운 대화를 위해 temperature 조정
+                    .maxTokens(500) // 더 긴 응답을 위해 토큰 수 증가
+                    .presencePenalty(0.3)
+                    .frequencyPenalty(0.2)
+                    .build();
 
                 // 요청 내용 로깅
                 log.info("=== ChatGPT API 요청 내용 ===");
                 log.info("API URL: {}", chatGPTConfig.getApiUrl());
-                String requestJson = objectMapper.writeValueAsString(requestBody);
+                String requestJson = objectMapper.writeValueAsString(completionRequest);
                 log.info("요청 본문: {}", requestJson);
 
-                // ChatGPT API 호출
-                HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
-                Map<String, Object> response = restTemplate.postForObject(
-                    chatGPTConfig.getApiUrl(),
-                    entity,
-                    Map.class
-                );
+                // ChatGPT API 호출 (공용 OpenAI 클라이언트)
+                ChatCompletionResult response = llmClient.createChatCompletion(completionRequest);
 
                 // 응답 내용 로깅
                 log.info("=== ChatGPT API 응답 내용 ===");
@@ -196,14 +175,14 @@ public class ChatbotService {
 
                 return new ChatbotResponse(content, options, type);
 
-            } catch (HttpClientErrorException e) {
+            } catch (OpenAiHttpException e) {
                 log.error("=== ChatGPT API HTTP 오류 ===");
                 log.error("오류 발생 시간: {}", LocalDateTime.now());
-                log.error("상태 코드: {}", e.getStatusCode());
-                log.error("상태 텍스트: {}", e.getStatusText());
-                log.error("오류 응답: {}", e.getResponseBodyAsString());
+                log.error("상태 코드: {}", e.statusCode);
+                log.error("오류 코드: {}", e.code);
+                log.error("오류 응답: {}", e.getMessage());
 
-                if (e.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS) {
+                if (e.statusCode == HttpStatus.TOO_MANY_REQUESTS.value() && !"insufficient_quota".equals(e.code)) {
                     if (retryCount < MAX_RETRY_COUNT) {
                         log.info("요청 제한 도달. {}번째 재시도...", retryCount + 1);
                         try {
@@ -219,26 +198,26 @@ public class ChatbotService {
                     throw new ChatbotException("요청이 너무 많습니다. 잠시 후 다시 시도해주세요.");
                 }
 
-                if (e.getStatusCode() == HttpStatus.UNAUTHORIZED) {
+                if (e.statusCode == HttpStatus.UNAUTHORIZED.value()) {
                     throw new ChatbotException("API 인증에 실패했습니다. 관리자에게 문의해주세요.");
                 }
 
-                if (e.getStatusCode() == HttpStatus.BAD_REQUEST) {
-                    String errorResponse = e.getResponseBodyAsString();
-                    if (errorResponse.contains("insufficient_quota")) {
-                        throw new ChatbotException("API 사용량이 초과되었습니다. 잠시 후 다시 시도해주세요.");
-                    }
+                if ("insufficient_quota".equals(e.code)) {
+                    throw new ChatbotException("API 사용량이 초과되었습니다. 잠시 후 다시 시도해주세요.");
                 }
 
-                throw new ChatbotException("ChatGPT API 호출 중 오류가 발생했습니다: " + e.getStatusText());
+                throw new ChatbotException("ChatGPT API 호출 중 오류가 발생했습니다: " + e.getMessage());
+
+            } catch (ChatbotException e) {
+                throw e;
 
-            } catch (ResourceAccessException e) {
+            } catch (RuntimeException e) {
                 log.error("=== ChatGPT API 연결 실패 ===");
                 log.error("오류 발생 시간: {}", LocalDateTime.now());
                 log.error("오류 메시지: {}", e.getMessage());
                 log.error("오류 원인: {}", e.getCause());
-                
-                if (e.getCause() instanceof java.net.SocketTimeoutException) {
+
+                if (LlmClient.isTimeout(e)) {
                     if (retryCount < MAX_RETRY_COUNT) {
                         log.info("타임아웃 발생. {}번째 재시도...", retryCount + 1);
                         try {
@@ -253,7 +232,7 @@ public class ChatbotService {
                     }
                     throw new ChatbotException("서버 응답 시간이 초과되었습니다. 잠시 후 다시 시도해주세요.");
                 }
-                
+
                 throw new ChatbotException("서버와의 통신에 실패했습니다. 잠시 후 다시 시도해주세요.");
 
             } catch (Exception e) {
@@ -268,33 +247,32 @@ public class ChatbotService {
         throw new ChatbotException("요청 처리 중 오류가 발생했습니다. 잠시 후 다시 시도해주세요.");
     }
 
-    private String extractResponseFromGPT(Map<String, Object> response) {
+    private String extractResponseFromGPT(ChatCompletionResult response) {
         try {
-            List<Map<String, Object>> choices = (List<Map<String, Object>>) response.get("choices");
+            List<ChatCompletionChoice> choices = response.getChoices();
             if (choices == null || choices.isEmpty()) {
                 throw new ChatbotException("ChatGPT 응답에 choices가 없습니다.");
             }
-            
-            Map<String, Object> choice = choices.get(0);
-            Map<String, Object> message = (Map<String, Object>) choice.get("message");
+
+            ChatMessage message = choices.get(0).getMessage();
             if (message == null) {
                 throw new ChatbotException("ChatGPT 응답에 message가 없습니다.");
             }
-            
-            String content = (String) message.get("content");
+
+            String content = message.getContent();
             if (content == null || content.trim().isEmpty()) {
                 throw new ChatbotException("ChatGPT 응답 내용이 비어있습니다.");
             }
 
             // 토큰 사용량 로깅
-            Map<String, Object> usage = (Map<String, Object>) response.get("usage");
+            Usage usage = response.getUsage();
             if (usage != null) {
                 log.info("=== 토큰 사용량 ===");
-                log.info("프롬프트 토큰: {}", usage.get("prompt_tokens"));
-                log.info("완성 토큰: {}", usage.get("completion_tokens"));
-                log.info("총 토큰: {}", usage.get("total_tokens"));
+                log.info("프롬프트 토큰: {}", usage.getPromptTokens());
+                log.info("완성 토큰: {}", usage.getCompletionTokens());
+                log.info("총 토큰: {}", usage.getTotalTokens());
             }
-            
+
             return content;
         } catch (Exception e) {
             log.error("ChatGPT 응답 처리 중 오류 발생: {}", e.getMessage());
@@ -2,14 +2,23 @@ package com.capstone.SafeHug.service;
 
 import com.capstone.SafeHug.entity.ChatUpload;
 import com.capstone.SafeHug.repository.ChatUploadRepository;
+import com.capstone.SafeHug.service.storage.EncodingInputStream;
+import com.capstone.SafeHug.service.storage.StorageCodec;
+import com.capstone.SafeHug.service.storage.StoredChatFile;
+import com.capstone.SafeHug.service.storage.TeeInputStream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
 import java.time.LocalDateTime;
+import java.util.HexFormat;
 import java.util.UUID;
 
 @Slf4j
@@ -23,18 +32,26 @@ public class FileUploadService {
     @Value("${cloud.aws.s3.chat-dir}")
     private String chatDir;
 
+    @Value("${cloud.aws.s3.compression.enabled:true}")
+    private boolean compressionEnabled;
+
     public String uploadChatFile(MultipartFile file) {
         try {
             if (file.isEmpty()) {
                 throw new IllegalArgumentException("File is empty");
             }
 
-            String originalFilename = file.getOriginalFilename();
-            String extension = originalFilename != null ? originalFilename.substring(originalFilename.lastIndexOf(".")) : ".txt";
+            String extension = resolveExtension(file.getOriginalFilename());
             String uniqueFilename = UUID.randomUUID() + extension;
 
             // S3에 파일 업로드 (chatDir 경로 사용)
-            String fileUrl = s3Service.upload(file, chatDir + uniqueFilename);
+            String fileUrl;
+            StorageCodec codec = resolveCodec(extension);
+            if (codec == StorageCodec.NONE) {
+                fileUrl = s3Service.upload(file, chatDir + uniqueFilename);
+            } else {
+                fileUrl = uploadEncoded(file.getInputStream(), file.getContentType(), chatDir + uniqueFilename, codec);
+            }
             log.info("File uploaded successfully: {}", fileUrl);
 
             return fileUrl;
@@ -47,6 +64,67 @@ public class FileUploadService {
         }
     }
 
+    /**
+     * 채팅 파일을 S3에 업로드하면서 같은 스트림에서 원본 바이트를 함께 읽어 둡니다.
+     * 요청 본문은 한 번만 읽히고, 분석 단계는 S3에서 다시 내려받지 않고 이 바이트를 사용합니다.
+     * 텍스트 파일은 읽는 동안 gzip 으로 압축해 저장합니다.
+     */
+    public StoredChatFile uploadChatFileForAnalysis(MultipartFile file) {
+        try {
+            if (file.isEmpty()) {
+                throw new IllegalArgumentException("File is empty");
+            }
+
+            String extension = resolveExtension(file.getOriginalFilename());
+            String uniqueFilename = UUID.randomUUID() + extension;
+            StorageCodec codec = resolveCodec(extension);
+
+            ByteArrayOutputStream copy = new ByteArrayOutputStream((int) Math.min(file.getSize(), Integer.MAX_VALUE - 8));
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            String fileUrl;
+            try (InputStream in = new DigestInputStream(new TeeInputStream(file.getInputStream(), copy), digest)) {
+                if (codec == StorageCodec.NONE) {
+                    fileUrl = s3Service.upload(in, file.getSize(), file.getContentType(), chatDir + uniqueFilename);
+                } else {
+                    // 원본 복사본과 해시는 그대로 두고, S3 에는 압축된 바이트만 올린다
+                    fileUrl = uploadEncoded(in, file.getContentType(), chatDir + uniqueFilename, codec);
+                }
+            }
+            String contentHash = HexFormat.of().formatHex(digest.digest());
+            log.info("File uploaded successfully: {} ({} bytes captured for analysis, sha256: {})",
+                    fileUrl, copy.size(), contentHash);
+
+            return new StoredChatFile(fileUrl, copy.toByteArray(), contentHash);
+        } catch (IOException e) {
+            log.error("Failed to upload file to S3", e);
+            throw new RuntimeException("Failed to upload file to S3: " + e.getMessage(), e);
+        } catch (Exception e) {
+            log.error("Failed to process file upload", e);
+            throw new RuntimeException("Failed to process file upload: " + e.getMessage(), e);
+        }
+    }
+
+    // 압축 결과를 모아 두지 않고 읽는 대로 업로드로 흘려보낸다 (압축 후 길이는 미리 알 수 없다)
+    private String uploadEncoded(InputStream in, String contentType, String key, StorageCodec codec) throws IOException {
+        try (EncodingInputStream encoded = new EncodingInputStream(in, codec)) {
+            String fileUrl = s3Service.upload(encoded, S3Service.UNKNOWN_LENGTH, contentType, key, codec);
+            log.info("Compressed chat file with {}: {} bytes", codec.getMetadataValue(), encoded.getEncodedBytes());
+            return fileUrl;
+        }
+    }
+
+    // 텍스트 내보내기 파일만 압축한다 (PDF 등 이미 압축된 형식은 그대로 저장)
+    private StorageCodec resolveCodec(String extension) {
+        return compressionEnabled && ".txt".equalsIgnoreCase(extension) ? StorageCodec.GZIP : StorageCodec.NONE;
+    }
+
+    private String resolveExtension(String originalFilename) {
+        if (originalFilename == null || originalFilename.lastIndexOf(".") < 0) {
+            return ".txt";
+        }
+        return originalFilename.substring(originalFilename.lastIndexOf("."));
+    }
+
     public String downloadChatFile(String fileUrl) {
         try {
             if (fileUrl == null || fileUrl.trim().isEmpty()) {
@@ -60,4 +138,31 @@ public class FileUploadService {
             throw new RuntimeException("Failed to download chat file: " + e.getMessage(), e);
         }
     }
-} 
\ No newline at end of file
+
+    /**
+     * 분석에 쓰이지 못한 채팅 파일을 S3에서 지웁니다.
+     * 정리 실패가 원래 오류 응답을 가리지 않도록 예외를 던지지 않고 로그만 남깁니다.
+     */
+    public void deleteChatFile(String fileUrl) {
+        try {
+            s3Service.delete(fileUrl);
+        } catch (Exception e) {
+            log.error("Failed to delete chat file: {}", fileUrl, e);
+        }
+    }
+
+    /**
+     * 채팅 파일을 스트림으로 엽니다. 파일 전체를 문자열로 읽지 않을 때 사용합니다.
+     */
+    public InputStream openChatFile(String fileUrl) {
+        try {
+            if (fileUrl == null || fileUrl.trim().isEmpty()) {
+                throw new IllegalArgumentException("File URL is required");
+            }
+            return s3Service.openStream(fileUrl);
+        } catch (Exception e) {
+            log.error("Failed to open chat file", e);
+            throw new RuntimeException("Failed to open chat file: " + e.getMessage(), e);
+        }
+    }
+}
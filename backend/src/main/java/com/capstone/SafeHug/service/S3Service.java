@@ -1,44 +1,111 @@
 package com.capstone.SafeHug.service;
 
 import com.amazonaws.services.s3.AmazonS3Client;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
 import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PartETag;
 import com.amazonaws.services.s3.model.PutObjectRequest;
 import com.amazonaws.services.s3.model.S3Object;
-import lombok.RequiredArgsConstructor;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import com.capstone.SafeHug.service.storage.StorageCodec;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.SequenceInputStream;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class S3Service {
 
+    // S3 멀티파트 업로드 제약: 마지막 파트를 제외한 파트는 최소 5MB, 파트 수는 최대 10,000개
+    private static final long MIN_PART_SIZE = 5L * 1024 * 1024;
+    private static final int MAX_PARTS = 10_000;
+
+    /** 업로드 전에 길이를 알 수 없는 스트림(압축하면서 올리는 경우 등)에 쓰는 contentLength 값 */
+    public static final long UNKNOWN_LENGTH = -1;
+
     private final AmazonS3Client amazonS3Client;
+    private final ThreadPoolTaskExecutor s3UploadExecutor;
 
     @Value("${cloud.aws.s3.bucketName}")
     private String bucket;
 
+    @Value("${cloud.aws.s3.multipart.threshold-bytes:16777216}")
+    private long multipartThreshold;
+
+    @Value("${cloud.aws.s3.multipart.part-size-bytes:8388608}")
+    private long partSize;
+
+    @Value("${cloud.aws.s3.multipart.parallelism:4}")
+    private int parallelism;
+
+    public S3Service(AmazonS3Client amazonS3Client,
+                     @Qualifier("s3UploadExecutor") ThreadPoolTaskExecutor s3UploadExecutor) {
+        this.amazonS3Client = amazonS3Client;
+        this.s3UploadExecutor = s3UploadExecutor;
+    }
+
     public String upload(MultipartFile file, String key) throws IOException {
-        log.info("Uploading file to S3 with key: {}", key);
+        return upload(file.getInputStream(), file.getSize(), file.getContentType(), key);
+    }
+
+    /**
+     * 입력 스트림을 그대로 S3에 업로드합니다.
+     * 스트림은 한 번만 읽히므로 TeeInputStream 등으로 감싸 업로드와 동시에 내용을 복사할 수 있습니다.
+     * 크기가 멀티파트 기준 이상이면 파트를 나눠 병렬로 업로드합니다.
+     */
+    public String upload(InputStream inputStream, long contentLength, String contentType, String key) throws IOException {
+        return upload(inputStream, contentLength, contentType, key, StorageCodec.NONE);
+    }
+
+    /**
+     * 이미 codec 으로 인코딩된 스트림을 업로드하고, 다운로드 시 복원할 수 있도록 코덱을 메타데이터에 기록합니다.
+     * 길이를 모르면 멀티파트 기준 크기만큼 먼저 읽어 보고, 그 안에서 끝나면 한 번에, 넘치면 멀티파트로 이어서 올립니다.
+     * @param contentLength 인코딩된 바이트 길이 (모르면 UNKNOWN_LENGTH)
+     */
+    public String upload(InputStream inputStream, long contentLength, String contentType, String key,
+                         StorageCodec codec) throws IOException {
+        log.info("Uploading file to S3 with key: {} (codec: {})", key, codec.getMetadataValue());
 
         ObjectMetadata metadata = new ObjectMetadata();
-        metadata.setContentLength(file.getSize());
-        metadata.setContentType(file.getContentType());
+        metadata.setContentType(contentType);
+        if (codec != StorageCodec.NONE) {
+            metadata.addUserMetadata(StorageCodec.METADATA_KEY, codec.getMetadataValue());
+        }
 
         try {
-            amazonS3Client.putObject(
-                    new PutObjectRequest(bucket, key, file.getInputStream(), metadata)
-            );
+            if (contentLength < 0) {
+                uploadUnknownLength(inputStream, metadata, key);
+            } else if (contentLength >= multipartThreshold) {
+                multipartUpload(inputStream, contentLength, metadata, key);
+            } else {
+                metadata.setContentLength(contentLength);
+                amazonS3Client.putObject(
+                        new PutObjectRequest(bucket, key, inputStream, metadata)
+                );
+            }
 
             String fileUrl = amazonS3Client.getUrl(bucket, key).toString();
             log.info("File uploaded successfully. URL: {}", fileUrl);
@@ -51,26 +118,9 @@ public class S3Service {
 
     public String download(String fileUrl) throws IOException {
         try {
-            log.info("Starting download process for URL: {}", fileUrl);
-            
-            String key = extractKeyFromUrl(fileUrl);
-            log.info("Extracted key for download: {}", key);
-            
-            // Verify if the object exists
-            boolean exists = amazonS3Client.doesObjectExist(bucket, key);
-            log.info("Object exists in S3: {}", exists);
-            
-            if (!exists) {
-                log.error("Object does not exist in S3. Bucket: {}, Key: {}", bucket, key);
-                throw new IOException("File not found in S3: " + key);
-            }
-            
-            S3Object s3Object = amazonS3Client.getObject(bucket, key);
-            log.info("Successfully retrieved S3 object");
-            
             StringBuilder content = new StringBuilder();
             try (BufferedReader reader = new BufferedReader(
-                    new InputStreamReader(s3Object.getObjectContent()))) {
+                    new InputStreamReader(openStream(fileUrl), StandardCharsets.UTF_8))) {
                 String line;
                 while ((line = reader.readLine()) != null) {
                     content.append(line).append("\n");
@@ -85,6 +135,51 @@ public class S3Service {
         }
     }
 
+    /**
+     * S3 객체 본문을 스트림으로 엽니다. 압축된 객체는 읽는 동안 코덱으로 풀어 원본 바이트를 돌려줍니다.
+     * 호출자가 반드시 닫아야 합니다.
+     */
+    public InputStream openStream(String fileUrl) throws IOException {
+        log.info("Starting download process for URL: {}", fileUrl);
+
+        String key = extractKeyFromUrl(fileUrl);
+        log.info("Extracted key for download: {}", key);
+
+        // 존재 여부는 별도 HEAD 요청 없이 GET 응답(404)으로 판단한다
+        S3Object s3Object;
+        try {
+            s3Object = amazonS3Client.getObject(bucket, key);
+        } catch (AmazonS3Exception e) {
+            if (e.getStatusCode() == 404) {
+                log.error("Object does not exist in S3. Bucket: {}, Key: {}", bucket, key);
+                throw new IOException("File not found in S3: " + key);
+            }
+            throw e;
+        }
+        StorageCodec codec = StorageCodec.fromMetadata(
+                s3Object.getObjectMetadata().getUserMetaDataOf(StorageCodec.METADATA_KEY));
+        log.info("Successfully retrieved S3 object (codec: {})", codec.getMetadataValue());
+
+        // 압축된 객체는 내려받는 스트림 위에서 바로 풀어 읽는다
+        try {
+            return codec.decode(s3Object.getObjectContent());
+        } catch (IOException e) {
+            s3Object.close();
+            throw e;
+        }
+    }
+
+    public void delete(String fileUrl) throws IOException {
+        String key = extractKeyFromUrl(fileUrl);
+        try {
+            amazonS3Client.deleteObject(bucket, key);
+            log.info("File deleted from S3. Key: {}", key);
+        } catch (Exception e) {
+            log.error("Failed to delete file from S3: {}", e.getMessage());
+            throw new IOException("Failed to delete file from S3: " + e.getMessage(), e);
+        }
+    }
+
     private String extractKeyFromUrl(String fileUrl) {
         try {
             log.info("Extracting key from URL: {}", fileUrl);
@@ -124,18 +219,9 @@ public class S3Service {
         String fileName = createFileName(file.getOriginalFilename());
         String filePath = dirName + "/" + fileName;
 
-        ObjectMetadata metadata = new ObjectMetadata();
-        metadata.setContentType(file.getContentType());
-        metadata.setContentLength(file.getSize());
-
-        amazonS3Client.putObject(new PutObjectRequest(
-                bucket,
-                filePath,
-                file.getInputStream(),
-                metadata
-        ));
-
-        return amazonS3Client.getUrl(bucket, filePath).toString();
+        try (InputStream in = file.getInputStream()) {
+            return upload(in, file.getSize(), file.getContentType(), filePath);
+        }
     }
 
     public String uploadPdf(String localFilePath, String dirName) {
@@ -143,17 +229,134 @@ public class S3Service {
         String fileName = createFileName(file.getName());
         String filePath = dirName + "/" + fileName;
 
-        ObjectMetadata metadata = new ObjectMetadata();
-        metadata.setContentType("application/pdf");
-        metadata.setContentLength(file.length());
+        try (InputStream in = new FileInputStream(file)) {
+            return upload(in, file.length(), "application/pdf", filePath);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to upload PDF to S3: " + e.getMessage(), e);
+        }
+    }
+
+    private void uploadUnknownLength(InputStream inputStream, ObjectMetadata metadata, String key) throws IOException {
+        byte[] head = inputStream.readNBytes((int) Math.min(multipartThreshold, Integer.MAX_VALUE - 8));
+        if (head.length < multipartThreshold) {
+            metadata.setContentLength(head.length);
+            amazonS3Client.putObject(new PutObjectRequest(bucket, key, new ByteArrayInputStream(head), metadata));
+            return;
+        }
+        // 이미 읽은 앞부분부터 이어서 파트로 나눈다
+        multipartUpload(new SequenceInputStream(new ByteArrayInputStream(head), inputStream), UNKNOWN_LENGTH, metadata, key);
+    }
+
+    /**
+     * 스트림을 파트 단위로 읽어 여러 파트를 동시에 업로드합니다.
+     * 동시에 메모리에 올라가는 파트는 최대 parallelism + 1 개이고,
+     * 한 파트라도 실패하면 멀티파트 업로드를 중단(abort)해 미완성 파트가 남지 않게 합니다.
+     */
+    private void multipartUpload(InputStream inputStream, long contentLength, ObjectMetadata metadata, String key)
+            throws IOException {
+        long effectivePartSize = resolvePartSize(contentLength);
+        String uploadId = amazonS3Client.initiateMultipartUpload(
+                new InitiateMultipartUploadRequest(bucket, key, metadata)).getUploadId();
+        log.info("Multipart upload started - key: {}, size: {} bytes, part size: {} bytes, parallelism: {}",
+                key, contentLength, effectivePartSize, parallelism);
+
+        Semaphore inFlight = new Semaphore(parallelism);
+        List<Future<PartETag>> parts = new ArrayList<>();
+        try {
+            int partNumber = 1;
+            while (true) {
+                byte[] buffer = new byte[(int) effectivePartSize];
+                int length = readFully(inputStream, buffer);
+                if (length == 0) {
+                    break;
+                }
+
+                inFlight.acquire();
+                throwIfAnyPartFailed(parts);
+                parts.add(submitPart(key, uploadId, partNumber++, buffer, length, inFlight));
+
+                if (length < buffer.length) {
+                    break;
+                }
+            }
+
+            List<PartETag> etags = new ArrayList<>(parts.size());
+            for (Future<PartETag> part : parts) {
+                etags.add(part.get());
+            }
+            amazonS3Client.completeMultipartUpload(new CompleteMultipartUploadRequest(bucket, key, uploadId, etags));
+            log.info("Multipart upload completed - key: {}, parts: {}", key, etags.size());
+        } catch (Exception e) {
+            parts.forEach(part -> part.cancel(true));
+            abortQuietly(key, uploadId);
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+            throw new IOException("Multipart upload failed: " + cause.getMessage(), cause);
+        }
+    }
+
+    private Future<PartETag> submitPart(String key, String uploadId, int partNumber, byte[] buffer, int length,
+                                        Semaphore inFlight) {
+        try {
+            return s3UploadExecutor.submit(() -> {
+                try {
+                    UploadPartRequest request = new UploadPartRequest()
+                            .withBucketName(bucket)
+                            .withKey(key)
+                            .withUploadId(uploadId)
+                            .withPartNumber(partNumber)
+                            .withInputStream(new ByteArrayInputStream(buffer, 0, length))
+                            .withPartSize(length);
+                    return amazonS3Client.uploadPart(request).getPartETag();
+                } finally {
+                    inFlight.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.release();
+            throw e;
+        }
+    }
+
+    private void throwIfAnyPartFailed(List<Future<PartETag>> parts) throws ExecutionException, InterruptedException {
+        for (Future<PartETag> part : parts) {
+            if (part.isDone()) {
+                part.get();
+            }
+        }
+    }
+
+    private void abortQuietly(String key, String uploadId) {
+        try {
+            amazonS3Client.abortMultipartUpload(new AbortMultipartUploadRequest(bucket, key, uploadId));
+            log.warn("Multipart upload aborted - key: {}, uploadId: {}", key, uploadId);
+        } catch (Exception e) {
+            log.error("Failed to abort multipart upload - key: {}, uploadId: {}: {}", key, uploadId, e.getMessage());
+        }
+    }
 
-        amazonS3Client.putObject(new PutObjectRequest(
-                bucket,
-                filePath,
-                file
-        ));
+    // 파트 수가 S3 한도를 넘지 않도록 파트 크기를 키운다
+    private long resolvePartSize(long contentLength) {
+        long size = Math.max(partSize, MIN_PART_SIZE);
+        if (contentLength > 0 && contentLength / size >= MAX_PARTS) {
+            size = (contentLength + MAX_PARTS - 1) / MAX_PARTS;
+        }
+        return Math.min(size, Integer.MAX_VALUE - 8);
+    }
 
-        return amazonS3Client.getUrl(bucket, filePath).toString();
+    // 버퍼가 가득 차거나 스트림이 끝날 때까지 읽는다
+    private int readFully(InputStream in, byte[] buffer) throws IOException {
+        int total = 0;
+        while (total < buffer.length) {
+            int read = in.read(buffer, total, buffer.length - total);
+            if (read < 0) {
+                break;
+            }
+            total += read;
+        }
+        return total;
     }
 
     private String createFileName(String originalFileName) {
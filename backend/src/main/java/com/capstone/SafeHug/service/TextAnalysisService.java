@@ -1,160 +1,223 @@
 package com.capstone.SafeHug.service;
 
-import com.capstone.SafeHug.dto.common.MessageRisk;
+import com.capstone.SafeHug.dto.request.ClassifyRequest;
 import com.capstone.SafeHug.dto.response.AIAnalysisResponse;
-import lombok.RequiredArgsConstructor;
+import com.capstone.SafeHug.service.ai.ClassificationBatchListener;
+import com.capstone.SafeHug.service.ai.KeywordFallbackClassifier;
+import com.capstone.SafeHug.service.ai.MessageClassifier;
+import com.capstone.SafeHug.service.chat.ParsedConversation;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 import java.util.*;
-import org.springframework.web.client.RestClientException;
-import com.theokanning.openai.completion.chat.ChatCompletionRequest;
-import com.theokanning.openai.completion.chat.ChatMessage;
-import com.theokanning.openai.service.OpenAiService;
-import java.time.Duration;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class TextAnalysisService {
-    private final RestTemplate restTemplate;
-    private final FileUploadService fileUploadService;
-    
-    @Value("${ai.server.url}")
-    private String aiServerUrl;
-    
-    @Value("${cloud.aws.s3.bucketName}")
-    private String bucketName;
-
-    @Value("${openai.api.key}")
-    private String openaiApiKey;
-
-    public AIAnalysisResponse analyzeIndividualMessages(String s3Path) {
-        log.info("채팅 분석 시작 - S3 파일 경로: {}", s3Path);
-        
-        if (s3Path == null || s3Path.trim().isEmpty()) {
-            throw new IllegalArgumentException("S3 파일 경로가 비어있습니다.");
-        }
+    private final MessageClassifier messageClassifier;
+    private final KeywordFallbackClassifier fallbackClassifier;
+    private final ThreadPoolTaskExecutor aiClassifyExecutor;
+
+    // 한 번의 분류 요청에 담는 최대 메시지 수와 본문 글자 수
+    @Value("${ai.server.classify.batch-size:256}")
+    private int classifyBatchSize;
+
+    @Value("${ai.server.classify.max-batch-chars:65536}")
+    private int classifyMaxBatchChars;
+
+    // 분석 한 건이 동시에 보내는 분류 요청 수
+    @Value("${ai.server.classify.max-in-flight:4}")
+    private int maxInFlight;
+
+    // 배치 하나의 결과를 기다리는 최대 시간
+    @Value("${ai.server.classify.batch-timeout-seconds:90}")
+    private long batchTimeoutSeconds;
+
+    // AI 서버 호출이 실패하면 키워드 사전 분류로 대신할지 여부
+    @Value("${ai.server.fallback.enabled:true}")
+    private boolean fallbackEnabled;
+
+    public TextAnalysisService(MessageClassifier messageClassifier,
+                               KeywordFallbackClassifier fallbackClassifier,
+                               @Qualifier("aiClassifyExecutor") ThreadPoolTaskExecutor aiClassifyExecutor) {
+        this.messageClassifier = messageClassifier;
+        this.fallbackClassifier = fallbackClassifier;
+        this.aiClassifyExecutor = aiClassifyExecutor;
+    }
+
+    public AIAnalysisResponse analyzeIndividualMessages(ParsedConversation conversation) {
+        return analyzeIndividualMessages(conversation, ClassificationBatchListener.NONE);
+    }
 
+    /**
+     * 파싱된 메시지를 크기 제한이 있는 배치로 나눠 분류기에 보내고 결과를 모읍니다.
+     * 분석 한 건당 최대 maxInFlight 개의 배치만 동시에 보내고, 하나가 끝나야 다음 배치를 보냅니다. (backpressure)
+     * 결과는 도착하는 대로 listener 에 넘기고, 반환값에는 메시지 순서대로 모아 담습니다.
+     * AI 서버 호출이 실패한 배치는 키워드 사전 분류로 대신하고 응답에 degraded 를 표시합니다.
+     * 배치 결과를 batchTimeoutSeconds 안에 하나도 받지 못하면 남은 배치를 모두 키워드 사전으로 분류합니다.
+     * (fallback 을 끄면 배치 하나라도 실패할 때 남은 요청을 취소하고 예외를 던집니다.)
+     * @param conversation 파싱된 대화 (메시지 id 는 대화 안의 순번)
+     * @param listener 배치별 완료 리스너 (호출한 스레드에서 호출됩니다)
+     * @return 메시지별 위험 정보와 키워드 분석 결과
+     */
+    public AIAnalysisResponse analyzeIndividualMessages(ParsedConversation conversation,
+                                                        ClassificationBatchListener listener) {
+        long startTime = System.currentTimeMillis();
+        List<int[]> ranges = splitBatches(conversation);
+        log.info("채팅 분석 시작 - 메시지 수: {}, 배치 수: {}, 동시 요청 수: {}",
+                conversation.size(), ranges.size(), maxInFlight);
+
+        List<List<AIAnalysisResponse.MessageAnalysis>> results = new ArrayList<>(Collections.nCopies(ranges.size(), null));
+        ExecutorCompletionService<Map.Entry<Integer, List<AIAnalysisResponse.MessageAnalysis>>> completion =
+                new ExecutorCompletionService<>(aiClassifyExecutor);
+        List<Future<?>> futures = new ArrayList<>(ranges.size());
+        AtomicBoolean degraded = new AtomicBoolean();
+        int submitted = 0;
+        int completed = 0;
         try {
-            // S3 URL에서 키만 추출
-            String s3Key = s3Path;
-            if (s3Path.startsWith("http")) {
-                // URL에서 마지막 두 부분만 추출 (chat-files/파일명.txt)
-                String[] parts = s3Path.split("/");
-                if (parts.length >= 2) {
-                    s3Key = parts[parts.length - 2] + "/" + parts[parts.length - 1];
+            while (completed < ranges.size()) {
+                while (submitted - completed < maxInFlight && submitted < ranges.size()) {
+                    int batchIndex = submitted++;
+                    List<ClassifyRequest.Message> batch = toRequest(conversation, ranges.get(batchIndex));
+                    futures.add(completion.submit(() -> Map.entry(batchIndex, classifyBatch(batch, degraded))));
                 }
+
+                Future<Map.Entry<Integer, List<AIAnalysisResponse.MessageAnalysis>>> done =
+                        completion.poll(batchTimeoutSeconds, TimeUnit.SECONDS);
+                if (done == null) {
+                    log.error("AI 서버 분류 응답 시간 초과 - {}초", batchTimeoutSeconds);
+                    if (!fallbackEnabled) {
+                        throw new RuntimeException("AI 서버 통신 실패: 응답 시간 초과");
+                    }
+                    // AI 쪽이 밀려 있을 때도 결과를 낼 수 있도록 남은 배치는 모두 키워드 사전으로 분류한다
+                    futures.forEach(future -> future.cancel(true));
+                    completed = classifyRemainingWithFallback(conversation, ranges, results, completed, listener);
+                    degraded.set(true);
+                    break;
+                }
+                Map.Entry<Integer, List<AIAnalysisResponse.MessageAnalysis>> result = done.get();
+                completed++;
+
+                int batchIndex = result.getKey();
+                int[] range = ranges.get(batchIndex);
+                results.set(batchIndex, result.getValue());
+                listener.onBatchClassified(completed, ranges.size(), range[0], range[1], result.getValue());
             }
-            log.info("추출된 S3 키: {}", s3Key);
-
-            // AI 서버에 분석 요청
-            Map<String, String> request = new HashMap<>();
-            request.put("s3_path", s3Key);
-            request.put("bucket_name", bucketName);
-            
-            log.debug("AI 서버 요청 데이터: {}", request);
-            
-            // AI 서버 응답을 String으로 먼저 받기
-            String rawResponse = restTemplate.postForObject(
-                aiServerUrl + "/analyze",
-                request,
-                String.class
-            );
-            
-            log.info("AI 서버 원본 응답: {}", rawResponse);
-            
-            // String을 AIAnalysisResponse로 변환
-            ObjectMapper mapper = new ObjectMapper();
-            AIAnalysisResponse response = mapper.readValue(rawResponse, AIAnalysisResponse.class);
-            
-            if (response == null) {
-                log.error("AI 서버 응답이 null입니다.");
-                throw new RuntimeException("AI 서버 응답이 null입니다.");
-            }
-            
-            if (response.getMessages() == null) {
-                log.error("AI 서버가 분석한 메시지가 없습니다.");
-                throw new RuntimeException("AI 서버 응답의 analyses 필드가 null입니다.");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            log.error("AI 서버 분류 배치 실패: {}", cause.getMessage());
+            throw cause instanceof RuntimeException runtimeException
+                    ? runtimeException
+                    : new RuntimeException("AI 서버 통신 실패", cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("AI 서버 분류 중 인터럽트가 발생했습니다.", e);
+        } finally {
+            if (completed < ranges.size()) {
+                futures.forEach(future -> future.cancel(true));
             }
+        }
 
-            // 키워드 분석 결과 로깅
-            if (response.getKeywords() != null && !response.getKeywords().isEmpty()) {
-                log.info("키워드 분석 결과:");
-                for (AIAnalysisResponse.KeywordAnalysis keyword : response.getKeywords()) {
-                    log.info("- 키워드: {}, 빈도: {}, 위험도: {}", 
-                        keyword.getKeyword(), keyword.getCount(), keyword.getRisk());
-                }
+        List<AIAnalysisResponse.MessageAnalysis> analyses = new ArrayList<>(conversation.size());
+        results.forEach(analyses::addAll);
+
+        AIAnalysisResponse response = new AIAnalysisResponse();
+        response.setMessages(analyses);
+        response.setKeywords(extractKeywords(conversation));
+        response.setDegraded(degraded.get());
+
+        // 키워드 분석 결과 로깅
+        if (response.getKeywords() != null && !response.getKeywords().isEmpty()) {
+            log.info("키워드 분석 결과:");
+            for (AIAnalysisResponse.KeywordAnalysis keyword : response.getKeywords()) {
+                log.info("- 키워드: {}, 빈도: {}, 위험도: {}",
+                    keyword.getKeyword(), keyword.getCount(), keyword.getRisk());
             }
-            
-            log.info("채팅 분석 완료 - 총 메시지 수: {}, 위험 메시지 수: {}", 
-                response.getMessages().size(),
-                response.getMessages().stream()
-                    .filter(message -> message.getRisks() != null && !message.getRisks().isEmpty())
-                    .count());
-            
-            return response;
-            
-        } catch (RestClientException e) {
-            log.error("AI 서버 통신 중 오류 발생: {}", e.getMessage());
-            throw new RuntimeException("AI 서버 통신 실패", e);
-        } catch (Exception e) {
-            log.error("채팅 분석 중 예상치 못한 오류 발생: {}", e.getMessage());
-            throw new RuntimeException("채팅 분석 실패", e);
         }
+
+        log.info("채팅 분석 완료 - 총 메시지 수: {}, 위험 메시지 수: {}, 배치 수: {}, 소요 시간: {}ms",
+            analyses.size(),
+            analyses.stream()
+                .filter(message -> message.getRisks() != null && !message.getRisks().isEmpty())
+                .count(),
+            ranges.size(),
+            System.currentTimeMillis() - startTime);
+
+        return response;
     }
 
-    public String generateGPTResponse(String s3Path) {
+    private List<AIAnalysisResponse.MessageAnalysis> classifyBatch(List<ClassifyRequest.Message> batch, AtomicBoolean degraded) {
         try {
-            String chatContent = fileUploadService.downloadChatFile(s3Path);
-            if (chatContent == null) {
-                log.error("채팅 내용을 읽을 수 없습니다.");
-                return "채팅 내용을 읽을 수 없습니다.";
+            return messageClassifier.classify(batch);
+        } catch (RuntimeException e) {
+            if (!fallbackEnabled) {
+                throw e;
             }
+            log.warn("AI 서버 분류 실패, 키워드 사전 분류로 대신합니다. - 메시지 수: {}, 오류: {}", batch.size(), e.getMessage());
+            degraded.set(true);
+            return fallbackClassifier.classify(batch);
+        }
+    }
+
+    private int classifyRemainingWithFallback(ParsedConversation conversation, List<int[]> ranges,
+                                              List<List<AIAnalysisResponse.MessageAnalysis>> results,
+                                              int completed, ClassificationBatchListener listener) {
+        int remaining = ranges.size() - completed;
+        log.warn("남은 배치를 키워드 사전 분류로 대신합니다. - 배치 수: {}", remaining);
+        for (int batchIndex = 0; batchIndex < ranges.size(); batchIndex++) {
+            if (results.get(batchIndex) != null) {
+                continue;
+            }
+            int[] range = ranges.get(batchIndex);
+            List<AIAnalysisResponse.MessageAnalysis> fallback = fallbackClassifier.classify(toRequest(conversation, range));
+            results.set(batchIndex, fallback);
+            completed++;
+            listener.onBatchClassified(completed, ranges.size(), range[0], range[1], fallback);
+        }
+        return completed;
+    }
+
+    // 메시지 수와 본문 글자 수 제한에 맞춰 연속된 구간 [from, to) 으로 나눈다
+    private List<int[]> splitBatches(ParsedConversation conversation) {
+        List<int[]> ranges = new ArrayList<>();
+        int from = 0;
+        int batchChars = 0;
+        for (int i = 0; i < conversation.size(); i++) {
+            int length = conversation.getMessageLength(i);
+            if (i > from && (i - from >= classifyBatchSize || batchChars + length > classifyMaxBatchChars)) {
+                ranges.add(new int[]{from, i});
+                from = i;
+                batchChars = 0;
+            }
+            batchChars += length;
+        }
+        if (from < conversation.size()) {
+            ranges.add(new int[]{from, conversation.size()});
+        }
+        return ranges;
+    }
+
+    private List<ClassifyRequest.Message> toRequest(ParsedConversation conversation, int[] range) {
+        List<ClassifyRequest.Message> batch = new ArrayList<>(range[1] - range[0]);
+        for (int i = range[0]; i < range[1]; i++) {
+            batch.add(new ClassifyRequest.Message(i, conversation.getMessage(i)));
+        }
+        return batch;
+    }
 
-            // GPT 프롬프트 생성
-            String prompt = String.format(
-                "다음 채팅 내용을 분석해주세요:\n\n%s\n\n" +
-                "아래와 같이 요약과 3가지의 이유 형식으로 작성해주세요:\n" +
-                "요약: [전체 대화의 짧은 요약]\n" +
-                "이유:\n" +
-                "- [위험도 판단 이유 1]\n" +
-                "- [위험도 판단 이유 2]\n" +
-                "- [위험도 판단 이유 3]\n",
-                chatContent
-            );
-
-            // OpenAI API 호출
-            OpenAiService service = new OpenAiService(openaiApiKey, Duration.ofSeconds(60));
-            
-            List<ChatMessage> messages = new ArrayList<>();
-            messages.add(new ChatMessage("system", "당신은 채팅 내용을 분석하고 요약하는 AI입니다."));
-            messages.add(new ChatMessage("user", prompt));
-
-            ChatCompletionRequest completionRequest = ChatCompletionRequest.builder()
-                .model("gpt-4o-mini")
-                .messages(messages)
-                .maxTokens(300)
-                .temperature(0.5)
-                .presencePenalty(0.3)
-                .frequencyPenalty(0.2)
-                .build();
-
-            String response = service.createChatCompletion(completionRequest)
-                .getChoices().get(0).getMessage().getContent().trim();
-
-            // UTF-8로 인코딩 보장
-            byte[] bytes = response.getBytes("UTF-8");
-            response = new String(bytes, "UTF-8");
-
-            log.info("GPT 응답 생성 완료:\n{}", response);
-            return response;
-
-        } catch (Exception e) {
-            log.error("GPT 응답 생성 중 오류 발생: {}", e.getMessage(), e);
-            return "대화 분석 중 오류가 발생했습니다.";
+    // 키워드 집계는 분류 백엔드와 관계없이 사전 매처로 대화 전체를 메시지 단위로 센다 (AI 서버 호출 없음)
+    private List<AIAnalysisResponse.KeywordAnalysis> extractKeywords(ParsedConversation conversation) {
+        List<String> messages = new ArrayList<>(conversation.size());
+        for (int i = 0; i < conversation.size(); i++) {
+            messages.add(conversation.getMessage(i));
         }
+        return fallbackClassifier.extractKeywords(messages);
     }
 
     private String preprocessText(String text) {
@@ -0,0 +1,170 @@
+package com.capstone.SafeHug.service.ai;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 여러 단어를 한 번에 찾는 Aho-Corasick 매처
+ *
+ * 패턴 수와 관계없이 본문을 한 글자씩 한 번만 훑습니다.
+ * 공백은 건너뛰고 대소문자는 구분하지 않으므로 "하지 마", "하 지마" 도 "하지마" 로 찾습니다.
+ * 만든 뒤에는 바뀌지 않으므로 여러 스레드에서 함께 써도 됩니다.
+ */
+public final class AhoCorasickMatcher {
+
+    @FunctionalInterface
+    public interface MatchHandler {
+        /**
+         * @param patternIndex compile 에 넘긴 패턴 목록의 위치
+         */
+        void onMatch(int patternIndex);
+    }
+
+    private static final int[] NO_OUTPUT = new int[0];
+
+    // 노드별 전이: keys[node] 는 정렬된 글자, targets[node] 는 같은 위치의 다음 노드
+    private final char[][] keys;
+    private final int[][] targets;
+    private final int[] fail;
+    private final int[][] outputs;
+
+    private AhoCorasickMatcher(char[][] keys, int[][] targets, int[] fail, int[][] outputs) {
+        this.keys = keys;
+        this.targets = targets;
+        this.fail = fail;
+        this.outputs = outputs;
+    }
+
+    public static AhoCorasickMatcher compile(List<String> patterns) {
+        List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+        List<List<Integer>> own = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        own.add(new ArrayList<>());
+        for (int p = 0; p < patterns.size(); p++) {
+            int node = 0;
+            String pattern = patterns.get(p);
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = pattern.charAt(i);
+                if (Character.isWhitespace(c)) {
+                    continue;
+                }
+                c = Character.toLowerCase(c);
+                Integer next = trie.get(node).get(c);
+                if (next == null) {
+                    next = trie.size();
+                    trie.get(node).put(c, next);
+                    trie.add(new TreeMap<>());
+                    own.add(new ArrayList<>());
+                }
+                node = next;
+            }
+            if (node != 0) {
+                own.get(node).add(p);
+            }
+        }
+
+        int size = trie.size();
+        char[][] keys = new char[size][];
+        int[][] targets = new int[size][];
+        for (int node = 0; node < size; node++) {
+            keys[node] = new char[trie.get(node).size()];
+            targets[node] = new int[trie.get(node).size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> edge : trie.get(node).entrySet()) {
+                keys[node][i] = edge.getKey();
+                targets[node][i] = edge.getValue();
+                i++;
+            }
+        }
+
+        // 너비 우선으로 실패 링크를 만들고, 실패 링크 쪽 출력을 자기 출력에 합쳐 둔다
+        int[] fail = new int[size];
+        int[][] outputs = new int[size][];
+        outputs[0] = NO_OUTPUT;
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int child : targets[0]) {
+            fail[child] = 0;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            int[] inherited = outputs[fail[node]];
+            List<Integer> mine = own.get(node);
+            int[] merged = Arrays.copyOf(inherited, inherited.length + mine.size());
+            for (int i = 0; i < mine.size(); i++) {
+                merged[inherited.length + i] = mine.get(i);
+            }
+            outputs[node] = merged.length == 0 ? NO_OUTPUT : merged;
+
+            for (int i = 0; i < keys[node].length; i++) {
+                char c = keys[node][i];
+                int child = targets[node][i];
+                int f = fail[node];
+                while (f != 0 && next(keys, targets, f, c) < 0) {
+                    f = fail[f];
+                }
+                int candidate = next(keys, targets, f, c);
+                fail[child] = candidate >= 0 && candidate != child ? candidate : 0;
+                queue.add(child);
+            }
+        }
+        return new AhoCorasickMatcher(keys, targets, fail, outputs);
+    }
+
+    /**
+     * 본문에서 찾은 패턴마다 handler 를 호출합니다. 같은 패턴이 여러 번 나오면 그만큼 호출합니다.
+     */
+    public void scan(CharSequence text, MatchHandler handler) {
+        int node = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+            node = step(node, Character.toLowerCase(c));
+            for (int patternIndex : outputs[node]) {
+                handler.onMatch(patternIndex);
+            }
+        }
+    }
+
+    /**
+     * @return 패턴이 하나라도 있으면 true (처음 찾은 곳에서 멈춘다)
+     */
+    public boolean containsAny(CharSequence text) {
+        int node = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+            node = step(node, Character.toLowerCase(c));
+            if (outputs[node].length > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int step(int node, char c) {
+        while (true) {
+            int next = next(keys, targets, node, c);
+            if (next >= 0) {
+                return next;
+            }
+            if (node == 0) {
+                return 0;
+            }
+            node = fail[node];
+        }
+    }
+
+    private static int next(char[][] keys, int[][] targets, int node, char c) {
+        int i = Arrays.binarySearch(keys[node], c);
+        return i >= 0 ? targets[node][i] : -1;
+    }
+}
@@ -0,0 +1,49 @@
+package com.capstone.SafeHug.service.ai;
+
+import com.capstone.SafeHug.dto.request.ClassifyRequest;
+import com.capstone.SafeHug.dto.response.AIAnalysisResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+
+/**
+ * Python AI 서버(ai_server.py)의 /classify 를 호출하는 분류기
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AiServerMessageClassifier implements MessageClassifier {
+
+    private final RestTemplate restTemplate;
+    private final ClassifyResponseDecoder classifyResponseDecoder;
+
+    @Value("${ai.server.url}")
+    private String aiServerUrl;
+
+    @Override
+    public List<AIAnalysisResponse.MessageAnalysis> classify(List<ClassifyRequest.Message> batch) {
+        try {
+            // 응답 본문은 DTO 로 한 번에 바인딩하지 않고 스트림에서 바로 디코딩한다
+            List<AIAnalysisResponse.MessageAnalysis> results = restTemplate.execute(
+                    aiServerUrl + "/classify",
+                    HttpMethod.POST,
+                    restTemplate.httpEntityCallback(new ClassifyRequest(batch)),
+                    response -> classifyResponseDecoder.decode(response.getBody(), batch)
+            );
+            if (results == null) {
+                log.error("AI 서버 분류 응답이 비어 있습니다. - 요청 메시지 수: {}", batch.size());
+                throw new RuntimeException("AI 서버 응답이 null입니다.");
+            }
+            return results;
+        } catch (RestClientException e) {
+            log.error("AI 서버 통신 중 오류 발생: {}", e.getMessage());
+            throw new RuntimeException("AI 서버 통신 실패", e);
+        }
+    }
+}
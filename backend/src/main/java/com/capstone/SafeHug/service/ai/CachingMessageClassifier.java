@@ -0,0 +1,211 @@
+package com.capstone.SafeHug.service.ai;
+
+import com.capstone.SafeHug.dto.common.MessageRisk;
+import com.capstone.SafeHug.dto.request.ClassifyRequest;
+import com.capstone.SafeHug.dto.response.AIAnalysisResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 메시지 본문 기준 분류 결과 캐시
+ *
+ * "ㅋㅋ", "응", "ㅇㅇ", "사진", "이모티콘" 처럼 반복되는 짧은 메시지는 매번 AI 서버로 보내지 않고
+ * 정규화한 본문 + 모델 버전을 키로 이전 분류 결과를 재사용합니다.
+ * 최대 maxEntries 개까지 보관하며 가장 오래 쓰이지 않은 항목부터 지웁니다.
+ * 모델을 교체하면 ai.classifier.model-version 을 올려 이전 결과가 섞이지 않게 합니다.
+ */
+@Slf4j
+@Component
+public class CachingMessageClassifier implements MessageClassifier {
+
+    private final MessageClassifier delegate;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder lookups = new LongAdder();
+    private final Map<String, List<MessageRisk>> cache;
+
+    @Value("${ai.classifier.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ai.classifier.model-version:kobert-v1}")
+    private String modelVersion;
+
+    // 이보다 긴 메시지는 반복될 가능성이 낮아 캐시하지 않는다
+    @Value("${ai.classifier.cache.max-text-length:64}")
+    private int maxTextLength;
+
+    @Value("${ai.classifier.cache.stats-log-interval:100000}")
+    private long statsLogInterval;
+
+    public CachingMessageClassifier(MicroBatchingClassifierGateway delegate,
+                                    @Value("${ai.classifier.cache.max-entries:100000}") int maxEntries) {
+        this.delegate = delegate;
+        this.cache = new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<MessageRisk>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @Override
+    public List<AIAnalysisResponse.MessageAnalysis> classify(List<ClassifyRequest.Message> batch) {
+        if (!enabled) {
+            return delegate.classify(batch);
+        }
+
+        AIAnalysisResponse.MessageAnalysis[] results = new AIAnalysisResponse.MessageAnalysis[batch.size()];
+        Map<Integer, Integer> positionById = new HashMap<>();
+        int hitCount = 0;
+        // 캐시에 없는 본문은 한 번만 보내고, 같은 본문을 가진 메시지들이 결과를 나눠 쓴다
+        Map<String, List<ClassifyRequest.Message>> missesByKey = new LinkedHashMap<>();
+        List<ClassifyRequest.Message> uncacheable = new ArrayList<>();
+
+        synchronized (cache) {
+            for (int i = 0; i < batch.size(); i++) {
+                ClassifyRequest.Message message = batch.get(i);
+                String key = cacheKey(message.getMessage());
+                if (key == null) {
+                    positionById.put(message.getId(), i);
+                    uncacheable.add(message);
+                    continue;
+                }
+                List<MessageRisk> cached = cache.get(key);
+                if (cached != null) {
+                    results[i] = toAnalysis(message, cached);
+                    hitCount++;
+                } else {
+                    positionById.put(message.getId(), i);
+                    missesByKey.computeIfAbsent(key, k -> new ArrayList<>()).add(message);
+                }
+            }
+        }
+
+        hits.add(hitCount);
+        misses.add(batch.size() - hitCount - uncacheable.size());
+        lookups.add(batch.size() - uncacheable.size());
+
+        if (!missesByKey.isEmpty() || !uncacheable.isEmpty()) {
+            for (AIAnalysisResponse.MessageAnalysis analysis : classifyMisses(missesByKey, uncacheable)) {
+                Integer position = positionById.get(analysis.getId());
+                if (position != null) {
+                    results[position] = analysis;
+                }
+            }
+        }
+
+        log.debug("분류 캐시 조회 - 요청: {}, 적중: {}, 전송: {}", batch.size(), hitCount, missesByKey.size() + uncacheable.size());
+        logStatsIfDue(batch.size() - uncacheable.size());
+        List<AIAnalysisResponse.MessageAnalysis> ordered = new ArrayList<>(results.length);
+        for (AIAnalysisResponse.MessageAnalysis analysis : results) {
+            if (analysis != null) {
+                ordered.add(analysis);
+            }
+        }
+        return ordered;
+    }
+
+    /**
+     * @return 누적 캐시 적중률 (0.0 ~ 1.0)
+     */
+    public double getHitRate() {
+        long total = hits.sum() + misses.sum();
+        return total == 0 ? 0.0 : (double) hits.sum() / total;
+    }
+
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    private List<AIAnalysisResponse.MessageAnalysis> classifyMisses(Map<String, List<ClassifyRequest.Message>> missesByKey,
+                                                                     List<ClassifyRequest.Message> uncacheable) {
+        List<ClassifyRequest.Message> request = new ArrayList<>(missesByKey.size() + uncacheable.size());
+        Map<Integer, String> keyById = new HashMap<>();
+        for (Map.Entry<String, List<ClassifyRequest.Message>> entry : missesByKey.entrySet()) {
+            ClassifyRequest.Message representative = entry.getValue().get(0);
+            request.add(representative);
+            keyById.put(representative.getId(), entry.getKey());
+        }
+        request.addAll(uncacheable);
+
+        List<AIAnalysisResponse.MessageAnalysis> classified = delegate.classify(request);
+        List<AIAnalysisResponse.MessageAnalysis> results = new ArrayList<>(classified.size());
+        for (AIAnalysisResponse.MessageAnalysis analysis : classified) {
+            results.add(analysis);
+            String key = keyById.get(analysis.getId());
+            if (key == null) {
+                continue;
+            }
+            List<MessageRisk> risks = analysis.getRisks() != null ? List.copyOf(analysis.getRisks()) : List.of();
+            synchronized (cache) {
+                cache.put(key, risks);
+            }
+            List<ClassifyRequest.Message> duplicates = missesByKey.get(key);
+            for (int i = 1; i < duplicates.size(); i++) {
+                results.add(toAnalysis(duplicates.get(i), risks));
+            }
+        }
+        return results;
+    }
+
+    private String cacheKey(String text) {
+        if (text == null || text.length() > maxTextLength) {
+            return null;
+        }
+        return modelVersion + '\u0000' + normalize(text);
+    }
+
+    // 앞뒤 공백 제거, 연속 공백을 하나로, 유니코드 NFC 정규화
+    static String normalize(String text) {
+        String normalized = Normalizer.normalize(text.strip(), Normalizer.Form.NFC);
+        StringBuilder sb = new StringBuilder(normalized.length());
+        boolean previousSpace = false;
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (Character.isWhitespace(c)) {
+                if (!previousSpace) {
+                    sb.append(' ');
+                }
+                previousSpace = true;
+            } else {
+                sb.append(c);
+                previousSpace = false;
+            }
+        }
+        return sb.toString();
+    }
+
+    private static AIAnalysisResponse.MessageAnalysis toAnalysis(ClassifyRequest.Message message, List<MessageRisk> risks) {
+        AIAnalysisResponse.MessageAnalysis analysis = new AIAnalysisResponse.MessageAnalysis();
+        analysis.setId(message.getId());
+        analysis.setMessage(message.getMessage());
+        List<MessageRisk> copies = new ArrayList<>(risks.size());
+        for (MessageRisk risk : risks) {
+            MessageRisk copy = new MessageRisk();
+            copy.setType(risk.getType());
+            copy.setLevel(risk.getLevel());
+            copies.add(copy);
+        }
+        analysis.setRisks(copies);
+        return analysis;
+    }
+
+    private void logStatsIfDue(long added) {
+        long total = lookups.sum();
+        if (statsLogInterval > 0 && added > 0 && total / statsLogInterval != (total - added) / statsLogInterval) {
+            log.info("분류 캐시 통계 - 조회: {}, 적중: {}, 적중률: {}%, 항목 수: {}",
+                    total, hits.sum(), String.format("%.1f", getHitRate() * 100), size());
+        }
+    }
+}
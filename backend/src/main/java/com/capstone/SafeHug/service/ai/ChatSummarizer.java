@@ -0,0 +1,337 @@
+package com.capstone.SafeHug.service.ai;
+
+import com.capstone.SafeHug.service.chat.AnalysisBranches;
+import com.capstone.SafeHug.service.chat.ParsedConversation;
+import com.theokanning.openai.completion.chat.ChatCompletionRequest;
+import com.theokanning.openai.completion.chat.ChatMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Future;
+
+/**
+ * 파싱된 대화로 GPT 요약("요약:" / "이유:" 형식)을 만듭니다.
+ *
+ * 대화 전체를 프롬프트에 넣지 않고, 위험 키워드가 걸린 메시지와 그 앞뒤 메시지,
+ * 대화 흐름을 보여 줄 표본 구간만 토큰 예산(token-budget) 안에서 골라 보냅니다.
+ * 대화가 아주 길면 시간 순으로 구간을 나눠 구간별 요약을 동시에 만들고(map), 이를 합쳐 최종 요약을 만듭니다(reduce).
+ * 구간 수에 상한이 있어 대화 길이와 상관없이 OpenAI 왕복은 최대 두 번입니다.
+ *
+ * 위험 여부는 RiskLexicon 으로 판단하므로 AI 분류와 동시에 실행할 수 있습니다.
+ * 대화의 보낸 사람/시각/본문만 읽고 분류가 채우는 위험 정보는 읽지 않습니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatSummarizer {
+
+    public static final String FAILED_SUMMARY = "대화 분석 중 오류가 발생했습니다.";
+
+    private static final String SYSTEM_PROMPT = "당신은 채팅 내용을 분석하고 요약하는 AI입니다.";
+    private static final String FORMAT_INSTRUCTIONS =
+            "아래와 같이 요약과 3가지의 이유 형식으로 작성해주세요:\n" +
+            "요약: [전체 대화의 짧은 요약]\n" +
+            "이유:\n" +
+            "- [위험도 판단 이유 1]\n" +
+            "- [위험도 판단 이유 2]\n" +
+            "- [위험도 판단 이유 3]\n";
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private static final int LINE_OVERHEAD_TOKENS = 8;  // 시각, 구분자, 줄바꿈
+
+    private final LlmClient llmClient;
+    private final RiskLexicon riskLexicon;
+
+    @Value("${analysis.summary.model:gpt-4o-mini}")
+    private String model;
+
+    // 한 번의 요청에 넣는 대화 발췌의 최대 토큰 수 (추정치)
+    @Value("${analysis.summary.token-budget:3000}")
+    private int tokenBudget;
+
+    // 위험 메시지 앞뒤로 함께 넣는 메시지 수
+    @Value("${analysis.summary.context-messages:2}")
+    private int contextMessages;
+
+    // 표본 구간 하나의 메시지 수
+    @Value("${analysis.summary.sample-window:3}")
+    private int sampleWindow;
+
+    @Value("${analysis.summary.max-message-chars:200}")
+    private int maxMessageChars;
+
+    // 대화 전체의 추정 토큰 수가 이보다 많으면 구간을 나눠 요약한다
+    @Value("${analysis.summary.segment-threshold-tokens:12000}")
+    private int segmentThresholdTokens;
+
+    @Value("${analysis.summary.max-segments:8}")
+    private int maxSegments;
+
+    /**
+     * @return GPT 요약, 실패하면 FAILED_SUMMARY
+     */
+    public String summarize(ParsedConversation conversation) {
+        if (conversation.isEmpty()) {
+            return FAILED_SUMMARY;
+        }
+        long startTime = System.currentTimeMillis();
+        try {
+            int[] tokens = new int[conversation.size()];
+            long totalTokens = 0;
+            for (int i = 0; i < tokens.length; i++) {
+                tokens[i] = estimateTokens(conversation, i);
+                totalTokens += tokens[i];
+            }
+
+            String response;
+            int segmentCount = 1;
+            if (totalTokens <= segmentThresholdTokens) {
+                String excerpt = excerpt(conversation, 0, conversation.size(), tokens, tokenBudget);
+                response = complete(finalPrompt(excerpt, totalTokens > tokenBudget), 300, 0.5);
+            } else {
+                segmentCount = (int) Math.min(maxSegments,
+                        Math.max(2, (totalTokens + segmentThresholdTokens - 1) / segmentThresholdTokens));
+                response = mapReduce(conversation, tokens, totalTokens, segmentCount);
+            }
+
+            log.info("GPT 요약 생성 완료 - 메시지: {}, 추정 토큰: {}, 구간: {}, 처리시간: {}ms",
+                    conversation.size(), totalTokens, segmentCount, System.currentTimeMillis() - startTime);
+            log.debug("GPT 요약:\n{}", response);
+            return response != null && !response.isBlank() ? response : FAILED_SUMMARY;
+        } catch (Exception e) {
+            log.error("GPT 응답 생성 중 오류 발생: {}", e.getMessage(), e);
+            return FAILED_SUMMARY;
+        }
+    }
+
+    private String mapReduce(ParsedConversation conversation, int[] tokens, long totalTokens, int segmentCount) {
+        int[] bounds = splitSegments(conversation, tokens, totalTokens, segmentCount);
+
+        // map: 구간별 요약을 가상 스레드에서 동시에 만든다. 실패한 구간은 빼고 합친다
+        List<Future<String>> partials = new ArrayList<>(segmentCount);
+        List<String> segmentSummaries = new ArrayList<>(segmentCount);
+        try (AnalysisBranches branches = new AnalysisBranches()) {
+            for (int s = 0; s < segmentCount; s++) {
+                int from = bounds[s];
+                int to = bounds[s + 1];
+                partials.add(branches.fork(() -> summarizeSegment(conversation, from, to, tokens)));
+            }
+            for (int s = 0; s < segmentCount; s++) {
+                String partial = branches.join(partials.get(s));
+                if (partial != null) {
+                    segmentSummaries.add(String.format("[구간 %d: %s]\n%s",
+                            s + 1, periodOf(conversation, bounds[s], bounds[s + 1]), partial));
+                }
+            }
+        }
+        if (segmentSummaries.isEmpty()) {
+            log.error("모든 구간 요약에 실패했습니다.");
+            return FAILED_SUMMARY;
+        }
+
+        // reduce: 구간 요약을 모아 최종 형식으로 정리한다
+        String prompt = "다음은 긴 채팅 대화를 시간 구간별로 나누어 요약한 내용입니다:\n\n" +
+                String.join("\n\n", segmentSummaries) + "\n\n" +
+                "구간 요약을 종합해 대화 전체를 분석해주세요.\n" + FORMAT_INSTRUCTIONS;
+        return complete(prompt, 300, 0.5);
+    }
+
+    private String summarizeSegment(ParsedConversation conversation, int from, int to, int[] tokens) {
+        try {
+            String excerpt = excerpt(conversation, from, to, tokens, tokenBudget);
+            String prompt = String.format(
+                    "다음은 채팅 대화 중 %s 구간(%d개 메시지)에서 위험 신호가 있는 메시지와 그 앞뒤 대화, " +
+                    "일부 표본 대화를 뽑은 것입니다. 생략된 부분은 '…'로 표시했습니다.\n\n%s\n\n" +
+                    "이 구간에서 있었던 일과 위험 신호(성적 요구, 협박, 스토킹, 거절 후 반복 요구 등)를 " +
+                    "누가 했는지 중심으로 5줄 이내로 요약해주세요.",
+                    periodOf(conversation, from, to), to - from, excerpt);
+            return complete(prompt, 250, 0.3);
+        } catch (Exception e) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw e;
+            }
+            log.warn("구간 요약 실패 - 메시지 {}~{}, 오류: {}", from, to, e.getMessage());
+            return null;
+        }
+    }
+
+    private String finalPrompt(String excerpt, boolean excerpted) {
+        return "다음 채팅 내용을 분석해주세요:\n\n" +
+                (excerpted ? "(긴 대화라 위험 신호가 있는 메시지와 그 앞뒤 대화, 일부 표본 대화만 뽑았습니다. " +
+                        "생략된 부분은 '…'로 표시했습니다.)\n" : "") +
+                excerpt + "\n\n" + FORMAT_INSTRUCTIONS;
+    }
+
+    private String complete(String prompt, int maxTokens, double temperature) {
+        List<ChatMessage> messages = new ArrayList<>();
+        messages.add(new ChatMessage("system", SYSTEM_PROMPT));
+        messages.add(new ChatMessage("user", prompt));
+
+        ChatCompletionRequest request = ChatCompletionRequest.builder()
+                .model(model)
+                .messages(messages)
+                .maxTokens(maxTokens)
+                .temperature(temperature)
+                .presencePenalty(0.3)
+                .frequencyPenalty(0.2)
+                .build();
+        return llmClient.chat(request);
+    }
+
+    /**
+     * [from, to) 구간에서 예산 안에 들어가는 메시지를 골라 시간 순 텍스트로 만듭니다.
+     * 1) 위험 키워드가 걸린 메시지와 앞뒤 contextMessages 개 (위험 수준이 높은 것부터)
+     * 2) 남은 예산으로 구간 전체에 고르게 퍼진 표본 구간
+     */
+    private String excerpt(ParsedConversation conversation, int from, int to, int[] tokens, int budget) {
+        boolean[] selected = new boolean[to - from];
+        long rangeTokens = 0;
+        for (int i = from; i < to; i++) {
+            rangeTokens += tokens[i];
+        }
+        if (rangeTokens <= budget) {
+            Arrays.fill(selected, true);
+            return render(conversation, from, to, selected);
+        }
+
+        int[] used = new int[1];
+        List<int[]> risks = new ArrayList<>();  // {index, 위험 수준 ordinal}
+        for (int i = from; i < to; i++) {
+            RiskLexicon.Entry entry = riskLexicon.strongestMatch(conversation.getMessage(i));
+            if (entry != null) {
+                risks.add(new int[]{i, entry.level().ordinal()});
+            }
+        }
+        // RiskLevel 은 HIGH 가 가장 앞이므로 ordinal 이 작을수록 먼저 넣는다 (같은 수준은 시간 순)
+        risks.sort(Comparator.comparingInt(risk -> risk[1]));
+        for (int[] risk : risks) {
+            if (budget - used[0] < LINE_OVERHEAD_TOKENS) {
+                break;
+            }
+            select(risk[0], risk[0] - contextMessages, risk[0] + contextMessages + 1,
+                    from, to, tokens, budget, selected, used);
+        }
+
+        int remaining = budget - used[0];
+        int averageTokens = (int) Math.max(1, rangeTokens / (to - from));
+        int sampleCount = Math.min((to - from) / Math.max(1, sampleWindow),
+                remaining / (averageTokens * Math.max(1, sampleWindow)));
+        for (int s = 0; s < sampleCount; s++) {
+            int start = from + (int) ((2L * s + 1) * (to - from) / (2L * sampleCount)) - sampleWindow / 2;
+            select(start, start, start + sampleWindow, from, to, tokens, budget, selected, used);
+        }
+        return render(conversation, from, to, selected);
+    }
+
+    // center 를 먼저 넣고, 예산이 남으면 [start, end) 의 나머지를 넣는다
+    private static void select(int center, int start, int end, int from, int to, int[] tokens, int budget,
+                               boolean[] selected, int[] used) {
+        if (center >= from && center < to && !selected[center - from]) {
+            if (used[0] + tokens[center] > budget) {
+                return;
+            }
+            selected[center - from] = true;
+            used[0] += tokens[center];
+        }
+        for (int i = Math.max(from, start); i < Math.min(to, end); i++) {
+            if (!selected[i - from] && used[0] + tokens[i] <= budget) {
+                selected[i - from] = true;
+                used[0] += tokens[i];
+            }
+        }
+    }
+
+    private String render(ParsedConversation conversation, int from, int to, boolean[] selected) {
+        StringBuilder text = new StringBuilder();
+        int skipped = 0;
+        for (int i = from; i < to; i++) {
+            if (!selected[i - from]) {
+                skipped++;
+                continue;
+            }
+            if (skipped > 0) {
+                text.append("… (").append(skipped).append("개 메시지 생략)\n");
+                skipped = 0;
+            }
+            text.append('[').append(conversation.getSentAt(i).format(TIME_FORMAT)).append("] ")
+                    .append(conversation.getSender(i)).append(": ")
+                    .append(truncate(conversation.getMessage(i))).append('\n');
+        }
+        if (skipped > 0) {
+            text.append("… (").append(skipped).append("개 메시지 생략)\n");
+        }
+        return text.toString();
+    }
+
+    /**
+     * 추정 토큰이 고르게 나뉘도록 segmentCount 개의 시간 순 구간으로 나눕니다.
+     * 나누는 지점은 목표 지점 주변에서 메시지 사이 시간 간격이 가장 긴 곳으로 옮겨 대화가 끊긴 곳에서 자릅니다.
+     * @return 길이 segmentCount + 1 의 구간 경계 (bounds[s] ~ bounds[s + 1])
+     */
+    static int[] splitSegments(ParsedConversation conversation, int[] tokens, long totalTokens,
+                               int segmentCount) {
+        int size = conversation.size();
+        int[] bounds = new int[segmentCount + 1];
+        bounds[segmentCount] = size;
+        int slack = Math.max(1, size / (segmentCount * 8));
+
+        long cumulative = 0;
+        int index = 0;
+        for (int s = 1; s < segmentCount; s++) {
+            long target = totalTokens * s / segmentCount;
+            while (index < size && cumulative < target) {
+                cumulative += tokens[index++];
+            }
+            int low = Math.max(bounds[s - 1] + 1, index - slack);
+            int high = Math.min(size - (segmentCount - s), index + slack);
+            int cut = Math.max(low, Math.min(index, high));
+            int longestGap = -1;
+            for (int i = low; i <= high; i++) {
+                int gap = conversation.getEpochMinute(i) - conversation.getEpochMinute(i - 1);
+                if (gap > longestGap) {
+                    longestGap = gap;
+                    cut = i;
+                }
+            }
+            bounds[s] = cut;
+        }
+        return bounds;
+    }
+
+    private static String periodOf(ParsedConversation conversation, int from, int to) {
+        return conversation.getSentAt(from).format(TIME_FORMAT) + " ~ "
+                + conversation.getSentAt(to - 1).format(TIME_FORMAT);
+    }
+
+    private String truncate(String message) {
+        String line = message.replace('\n', ' ');
+        return line.length() <= maxMessageChars ? line : line.substring(0, maxMessageChars) + "…";
+    }
+
+    // 한글 등 비 ASCII 문자는 글자당 1토큰, ASCII 는 4글자당 1토큰으로 어림한다
+    private int estimateTokens(ParsedConversation conversation, int index) {
+        String message = conversation.getMessage(index);
+        int length = Math.min(message.length(), maxMessageChars);
+        return LINE_OVERHEAD_TOKENS + estimateTokens(conversation.getSender(index))
+                + estimateTokens(message.substring(0, length));
+    }
+
+    private static int estimateTokens(String text) {
+        int ascii = 0;
+        int other = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) < 0x80) {
+                ascii++;
+            } else {
+                other++;
+            }
+        }
+        return other + (ascii + 3) / 4;
+    }
+}
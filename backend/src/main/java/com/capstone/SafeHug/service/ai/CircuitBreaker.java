@@ -0,0 +1,77 @@
+package com.capstone.SafeHug.service.ai;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 연속 실패 횟수 기반 서킷 브레이커
+ *
+ * CLOSED: 정상 호출. 연속 실패가 failureThreshold 에 닿으면 OPEN.
+ * OPEN: openMillis 동안 호출하지 않고 바로 실패시킴.
+ * HALF_OPEN: 시험 호출 한 건만 허용, 성공하면 CLOSED, 실패하면 다시 OPEN.
+ */
+@Slf4j
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openMillis;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean probeInFlight;
+
+    public CircuitBreaker(String name, int failureThreshold, long openMillis) {
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+    }
+
+    /**
+     * @return 호출해도 되면 true, 차단 중이면 false
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (System.currentTimeMillis() - openedAt < openMillis) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            probeInFlight = false;
+            log.info("{} 차단기 반열림 - 시험 호출을 보냅니다.", name);
+        }
+        if (state == State.HALF_OPEN) {
+            if (probeInFlight) {
+                return false;
+            }
+            probeInFlight = true;
+        }
+        return true;
+    }
+
+    public synchronized void onSuccess() {
+        if (state != State.CLOSED) {
+            log.info("{} 차단기 닫힘 - 정상 호출로 복귀합니다.", name);
+        }
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        probeInFlight = false;
+    }
+
+    public synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            if (state != State.OPEN) {
+                log.warn("{} 차단기 열림 - 연속 실패: {}, {}ms 동안 호출을 차단합니다.", name, consecutiveFailures, openMillis);
+            }
+            state = State.OPEN;
+            openedAt = System.currentTimeMillis();
+            probeInFlight = false;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+}
@@ -0,0 +1,25 @@
+package com.capstone.SafeHug.service.ai;
+
+import com.capstone.SafeHug.dto.response.AIAnalysisResponse;
+
+import java.util.List;
+
+/**
+ * 분류 배치 하나가 끝날 때마다 호출되는 리스너
+ * 분류를 요청한 스레드에서 완료 순서대로 호출되므로 트랜잭션 안의 상태를 다뤄도 안전합니다.
+ */
+@FunctionalInterface
+public interface ClassificationBatchListener {
+
+    ClassificationBatchListener NONE = (batch, totalBatches, from, to, results) -> { };
+
+    /**
+     * @param batch 지금까지 완료된 배치 수 (1부터)
+     * @param totalBatches 전체 배치 수
+     * @param from 배치에 포함된 첫 메시지 순번
+     * @param to 배치에 포함된 마지막 메시지 순번 + 1
+     * @param results 배치의 분류 결과
+     */
+    void onBatchClassified(int batch, int totalBatches, int from, int to,
+                           List<AIAnalysisResponse.MessageAnalysis> results);
+}
@@ -0,0 +1,118 @@
+package com.capstone.SafeHug.service.ai;
+
+import com.capstone.SafeHug.dto.common.MessageRisk;
+import com.capstone.SafeHug.dto.request.ClassifyRequest;
+import com.capstone.SafeHug.dto.response.AIAnalysisResponse;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * AI 서버 /classify 응답을 스트림에서 바로 읽는 디코더
+ *
+ * 응답 본문을 String 이나 트리로 만들지 않고 공용 ObjectMapper 의 JsonParser 로 토큰 단위로 읽습니다.
+ * 메시지별로 id 와 risks 만 읽고, 서버가 되돌려 주는 message/date 는 건너뜁니다.
+ * (본문은 요청에 담았던 문자열을 그대로 다시 씁니다.)
+ * id 가 없거나 요청에 없던 id 인 항목은 다른 메시지에 잘못 붙지 않도록 버립니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ClassifyResponseDecoder {
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @param body  응답 본문 스트림
+     * @param batch 요청한 메시지 (id 로 본문을 찾는다)
+     * @return 메시지별 위험 정보
+     */
+    public List<AIAnalysisResponse.MessageAnalysis> decode(InputStream body, List<ClassifyRequest.Message> batch)
+            throws IOException {
+        Map<Integer, String> textById = new HashMap<>(batch.size() * 2);
+        for (ClassifyRequest.Message message : batch) {
+            textById.put(message.getId(), message.getMessage());
+        }
+
+        List<AIAnalysisResponse.MessageAnalysis> results = null;
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("messages".equals(field) && value == JsonToken.START_ARRAY) {
+                    results = new ArrayList<>(batch.size());
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        AIAnalysisResponse.MessageAnalysis analysis = readMessage(parser, textById);
+                        if (analysis != null) {
+                            results.add(analysis);
+                        }
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * @return 메시지 위험 정보, id 가 없거나 요청에 없던 id 이면 null
+     */
+    private static AIAnalysisResponse.MessageAnalysis readMessage(JsonParser parser, Map<Integer, String> textById)
+            throws IOException {
+        AIAnalysisResponse.MessageAnalysis analysis = new AIAnalysisResponse.MessageAnalysis();
+        boolean hasId = false;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("id".equals(field) && value == JsonToken.VALUE_NUMBER_INT) {
+                analysis.setId(parser.getIntValue());
+                hasId = true;
+            } else if ("risks".equals(field) && value == JsonToken.START_ARRAY) {
+                List<MessageRisk> risks = new ArrayList<>(1);
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    risks.add(readRisk(parser));
+                }
+                analysis.setRisks(risks);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        if (!hasId || !textById.containsKey(analysis.getId())) {
+            log.warn("AI 응답 항목의 id 가 없거나 요청에 없는 id 입니다. 항목을 건너뜁니다. - id: {}",
+                    hasId ? analysis.getId() : null);
+            return null;
+        }
+        analysis.setMessage(textById.get(analysis.getId()));
+        return analysis;
+    }
+
+    private static MessageRisk readRisk(JsonParser parser) throws IOException {
+        MessageRisk risk = new MessageRisk();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if ("type".equals(field)) {
+                risk.setType(parser.getValueAsString());
+            } else if ("level".equals(field)) {
+                risk.setLevel(parser.getValueAsString());
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return risk;
+    }
+}
@@ -0,0 +1,82 @@
+package com.capstone.SafeHug.service.ai;
+
+import com.capstone.SafeHug.common.RiskLevel;
+import com.capstone.SafeHug.common.RiskType;
+import com.capstone.SafeHug.dto.common.MessageRisk;
+import com.capstone.SafeHug.dto.request.ClassifyRequest;
+import com.capstone.SafeHug.dto.response.AIAnalysisResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * AI 서버를 쓸 수 없을 때 쓰는 키워드 사전 기반 분류기 (성능 저하 모드)
+ *
+ * 메시지에 RiskLexicon 단어가 들어 있으면 그 단어의 위험 유형/수준으로 분류하고, 없으면 NORMAL 로 둡니다.
+ * 여러 단어가 걸리면 가장 높은 위험 수준을 씁니다. 모델보다 정확도가 낮으므로 AI 서버 장애 중에만 씁니다.
+ * 대화의 키워드 집계(KeywordAnalysis)는 분류 백엔드와 관계없이 항상 이 클래스가 같은 사전 매처로 셉니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class KeywordFallbackClassifier implements MessageClassifier {
+
+    private static final int MAX_KEYWORDS = 5;
+
+    private final RiskLexicon riskLexicon;
+
+    @Override
+    public List<AIAnalysisResponse.MessageAnalysis> classify(List<ClassifyRequest.Message> batch) {
+        List<AIAnalysisResponse.MessageAnalysis> results = new ArrayList<>(batch.size());
+        for (ClassifyRequest.Message message : batch) {
+            RiskLexicon.Entry match = riskLexicon.strongestMatch(message.getMessage());
+
+            MessageRisk risk = new MessageRisk();
+            risk.setType(match != null ? match.type().name() : RiskType.NORMAL.name());
+            risk.setLevel(match != null ? match.level().name() : RiskLevel.NORMAL.name());
+
+            AIAnalysisResponse.MessageAnalysis analysis = new AIAnalysisResponse.MessageAnalysis();
+            analysis.setId(message.getId());
+            analysis.setMessage(message.getMessage());
+            analysis.setRisks(List.of(risk));
+            results.add(analysis);
+        }
+        return results;
+    }
+
+    /**
+     * 본문에서 키워드별 등장 횟수를 세어 많이 나온 순서로 돌려줍니다.
+     */
+    public List<AIAnalysisResponse.KeywordAnalysis> extractKeywords(String text) {
+        return toKeywordAnalyses(riskLexicon.countKeywords(text));
+    }
+
+    /**
+     * 대화 전체의 키워드별 등장 횟수를 메시지마다 매처를 돌려 셉니다. (메시지를 이어 붙이지 않는다)
+     * 분류 백엔드와 관계없이 KeywordAnalysis 는 이 결과로 만듭니다.
+     */
+    public List<AIAnalysisResponse.KeywordAnalysis> extractKeywords(Iterable<String> messages) {
+        Map<RiskLexicon.Entry, Integer> counts = new LinkedHashMap<>();
+        for (String message : messages) {
+            riskLexicon.countKeywords(message, counts);
+        }
+        return toKeywordAnalyses(counts);
+    }
+
+    private static List<AIAnalysisResponse.KeywordAnalysis> toKeywordAnalyses(Map<RiskLexicon.Entry, Integer> counts) {
+        return counts.entrySet().stream()
+                .sorted(Map.Entry.<RiskLexicon.Entry, Integer>comparingByValue().reversed())
+                .limit(MAX_KEYWORDS)
+                .map(entry -> {
+                    AIAnalysisResponse.KeywordAnalysis keyword = new AIAnalysisResponse.KeywordAnalysis();
+                    keyword.setKeyword(entry.getKey().keyword());
+                    keyword.setCount(entry.getValue());
+                    keyword.setRisk(entry.getKey().level().name());
+                    return keyword;
+                })
+                .toList();
+    }
+}
@@ -0,0 +1,175 @@
+package com.capstone.SafeHug.service.ai;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * KoBERT(monologg/kobert) SentencePiece 토크나이저의 Java 구현
+ *
+ * export_onnx.py 가 만든 kobert_vocab.tsv ("조각&lt;TAB&gt;점수", 줄 번호 = 토큰 id)를 읽어
+ * SentencePiece unigram 과 같은 방식(점수 합이 최대인 분할, Viterbi)으로 나눕니다.
+ * 전처리는 KoBertTokenizer 와 같습니다: 공백 정리 → NFKD 후 결합 문자 제거 → NFKC.
+ * 사전에 없는 글자는 연속된 것끼리 묶어 [UNK] 하나로 둡니다.
+ * 불변 객체이므로 여러 스레드에서 함께 써도 됩니다.
+ */
+public final class KoBertTokenizer {
+
+    private static final char SPACE_PIECE = '▁';  // SentencePiece 공백 표시 "▁"
+    private static final float UNKNOWN_PENALTY = 10.0f;
+
+    private final Map<String, Integer> ids;
+    private final float[] scores;
+    private final int maxPieceLength;
+    private final float unknownScore;
+    private final int unkId;
+    private final int clsId;
+    private final int sepId;
+    private final int padId;
+
+    private KoBertTokenizer(List<String> pieces, float[] scores) {
+        this.ids = new HashMap<>(pieces.size() * 2);
+        int longest = 1;
+        float minScore = 0;
+        for (int id = 0; id < pieces.size(); id++) {
+            String piece = pieces.get(id);
+            ids.putIfAbsent(piece, id);
+            longest = Math.max(longest, piece.length());
+            minScore = Math.min(minScore, scores[id]);
+        }
+        this.scores = scores;
+        this.maxPieceLength = longest;
+        this.unknownScore = minScore - UNKNOWN_PENALTY;
+        this.unkId = requireId("[UNK]");
+        this.clsId = requireId("[CLS]");
+        this.sepId = requireId("[SEP]");
+        this.padId = requireId("[PAD]");
+    }
+
+    public static KoBertTokenizer load(Path vocabPath) throws IOException {
+        List<String> pieces = new ArrayList<>(8192);
+        float[] scores = new float[8192];
+        try (BufferedReader reader = Files.newBufferedReader(vocabPath, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int tab = line.lastIndexOf('\t');
+                if (pieces.size() == scores.length) {
+                    scores = Arrays.copyOf(scores, scores.length * 2);
+                }
+                scores[pieces.size()] = tab < 0 ? 0f : Float.parseFloat(line.substring(tab + 1));
+                pieces.add(tab < 0 ? line : line.substring(0, tab));
+            }
+        }
+        return new KoBertTokenizer(pieces, Arrays.copyOf(scores, pieces.size()));
+    }
+
+    public int getPadId() {
+        return padId;
+    }
+
+    /**
+     * [CLS] 조각들 [SEP] 형태의 토큰 id 를 만듭니다.
+     * @param maxLength [CLS], [SEP] 를 포함한 최대 길이 (넘으면 뒤를 자른다)
+     */
+    public int[] encode(String text, int maxLength) {
+        int[] pieces = tokenize(text);
+        int length = Math.min(pieces.length, maxLength - 2);
+        int[] encoded = new int[length + 2];
+        encoded[0] = clsId;
+        System.arraycopy(pieces, 0, encoded, 1, length);
+        encoded[length + 1] = sepId;
+        return encoded;
+    }
+
+    int[] tokenize(String text) {
+        String normalized = normalize(text);
+        if (normalized.isEmpty()) {
+            return new int[0];
+        }
+        String input = SPACE_PIECE + normalized.replace(' ', SPACE_PIECE);
+        int n = input.length();
+
+        // best[i]: input[0, i) 까지의 최고 점수, from[i]/pieceId[i]: 그때 마지막 조각의 시작 위치와 id
+        float[] best = new float[n + 1];
+        int[] from = new int[n + 1];
+        int[] pieceId = new int[n + 1];
+        Arrays.fill(best, Float.NEGATIVE_INFINITY);
+        best[0] = 0;
+        for (int end = 1; end <= n; end++) {
+            for (int start = Math.max(0, end - maxPieceLength); start < end; start++) {
+                if (best[start] == Float.NEGATIVE_INFINITY) {
+                    continue;
+                }
+                Integer id = ids.get(input.substring(start, end));
+                if (id != null && id != unkId && best[start] + scores[id] > best[end]) {
+                    best[end] = best[start] + scores[id];
+                    from[end] = start;
+                    pieceId[end] = id;
+                }
+            }
+            // 어떤 조각으로도 끝날 수 없으면 마지막 한 글자를 미지 조각으로 둔다
+            if (best[end] == Float.NEGATIVE_INFINITY) {
+                best[end] = best[end - 1] + unknownScore;
+                from[end] = end - 1;
+                pieceId[end] = unkId;
+            }
+        }
+
+        int[] reversed = new int[n];
+        int count = 0;
+        for (int end = n; end > 0; end = from[end]) {
+            int id = pieceId[end];
+            // 연속된 미지 조각은 하나로 합친다
+            if (id == unkId && count > 0 && reversed[count - 1] == unkId) {
+                continue;
+            }
+            reversed[count++] = id;
+        }
+        int[] tokens = new int[count];
+        for (int i = 0; i < count; i++) {
+            tokens[i] = reversed[count - 1 - i];
+        }
+        return tokens;
+    }
+
+    // KoBertTokenizer.preprocess_text + SentencePiece nmt_nfkc 정규화
+    static String normalize(String text) {
+        StringBuilder collapsed = new StringBuilder(text.length());
+        for (String word : text.strip().split("\\s+")) {
+            if (!word.isEmpty()) {
+                if (collapsed.length() > 0) {
+                    collapsed.append(' ');
+                }
+                collapsed.append(word);
+            }
+        }
+        String decomposed = Normalizer.normalize(collapsed.toString().replace("``", "\"").replace("''", "\""),
+                Normalizer.Form.NFKD);
+        StringBuilder stripped = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            int type = Character.getType(c);
+            if (type != Character.NON_SPACING_MARK && type != Character.COMBINING_SPACING_MARK
+                    && type != Character.ENCLOSING_MARK) {
+                stripped.append(c);
+            }
+        }
+        return Normalizer.normalize(stripped, Normalizer.Form.NFKC);
+    }
+
+    private int requireId(String piece) {
+        Integer id = ids.get(piece);
+        if (id == null) {
+            throw new IllegalStateException("어휘 파일에 " + piece + " 토큰이 없습니다.");
+        }
+        return id;
+    }
+}
@@ -0,0 +1,178 @@
+package com.capstone.SafeHug.service.ai;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.theokanning.openai.Usage;
+import com.theokanning.openai.client.OpenAiApi;
+import com.theokanning.openai.completion.chat.ChatCompletionRequest;
+import com.theokanning.openai.completion.chat.ChatCompletionResult;
+import com.theokanning.openai.service.OpenAiService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Response;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * OpenAI 호출에 쓰는 공용 클라이언트
+ *
+ * 호출마다 OpenAiService 를 새로 만들면 OkHttp 클라이언트와 커넥션 풀이 매번 생겨
+ * TLS 핸드셰이크를 다시 하고 스레드가 GC 전까지 남습니다.
+ * 여기서는 OkHttp 클라이언트 하나를 애플리케이션 전체가 공유하고, HTTP/2 로 한 연결에서 여러 요청을 동시에 보냅니다.
+ * 채팅 요약(ChatSummarizer)과 챗봇(ChatbotService)이 함께 씁니다.
+ */
+@Slf4j
+@Component
+public class LlmClient {
+
+    private final OkHttpClient httpClient;
+    private final OpenAiService openAiService;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder totalLatencyMs = new LongAdder();
+    private final LongAdder promptTokens = new LongAdder();
+    private final LongAdder completionTokens = new LongAdder();
+    private final LongAdder http2Responses = new LongAdder();
+
+    @Value("${openai.client.stats-log-interval:100}")
+    private long statsLogInterval;
+
+    public LlmClient(@Value("${openai.api.key}") String apiKey,
+                     @Value("${openai.api.url}") String apiUrl,
+                     @Value("${openai.client.max-idle-connections:5}") int maxIdleConnections,
+                     @Value("${openai.client.keep-alive-seconds:300}") long keepAliveSeconds,
+                     @Value("${openai.client.connect-timeout-seconds:10}") long connectTimeoutSeconds,
+                     @Value("${openai.client.read-timeout-seconds:60}") long readTimeoutSeconds,
+                     @Value("${openai.client.call-timeout-seconds:90}") long callTimeoutSeconds) {
+        this.httpClient = new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool(maxIdleConnections, keepAliveSeconds, TimeUnit.SECONDS))
+                .protocols(List.of(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                .connectTimeout(Duration.ofSeconds(connectTimeoutSeconds))
+                .readTimeout(Duration.ofSeconds(readTimeoutSeconds))
+                .writeTimeout(Duration.ofSeconds(readTimeoutSeconds))
+                .callTimeout(Duration.ofSeconds(callTimeoutSeconds))
+                .retryOnConnectionFailure(true)
+                .addInterceptor(chain -> chain.proceed(chain.request().newBuilder()
+                        .header("Authorization", "Bearer " + apiKey)
+                        .build()))
+                .addNetworkInterceptor(chain -> {
+                    Response response = chain.proceed(chain.request());
+                    if (response.protocol() == Protocol.HTTP_2) {
+                        http2Responses.increment();
+                    }
+                    return response;
+                })
+                .build();
+
+        ObjectMapper mapper = OpenAiService.defaultObjectMapper();
+        OpenAiApi api = OpenAiService.defaultRetrofit(httpClient, mapper).newBuilder()
+                .baseUrl(baseUrlOf(apiUrl))
+                .build()
+                .create(OpenAiApi.class);
+        this.openAiService = new OpenAiService(api);
+    }
+
+    /**
+     * 채팅 완성 요청을 보냅니다.
+     * @throws com.theokanning.openai.OpenAiHttpException OpenAI 가 오류 응답을 준 경우
+     * @throws RuntimeException 연결 실패나 타임아웃 (isTimeout 으로 구분)
+     */
+    public ChatCompletionResult createChatCompletion(ChatCompletionRequest request) {
+        long startTime = System.currentTimeMillis();
+        boolean success = false;
+        try {
+            ChatCompletionResult result = openAiService.createChatCompletion(request);
+            Usage usage = result.getUsage();
+            if (usage != null) {
+                promptTokens.add(usage.getPromptTokens());
+                completionTokens.add(usage.getCompletionTokens());
+            }
+            success = true;
+            return result;
+        } finally {
+            record(request.getModel(), System.currentTimeMillis() - startTime, success);
+        }
+    }
+
+    /**
+     * 채팅 완성 요청을 보내고 첫 번째 응답 본문만 돌려줍니다.
+     */
+    public String chat(ChatCompletionRequest request) {
+        ChatCompletionResult result = createChatCompletion(request);
+        if (result.getChoices() == null || result.getChoices().isEmpty()) {
+            throw new IllegalStateException("OpenAI 응답에 choices가 없습니다.");
+        }
+        String content = result.getChoices().get(0).getMessage().getContent();
+        return content != null ? content.trim() : null;
+    }
+
+    /**
+     * 연결/응답 타임아웃으로 실패했는지 확인합니다.
+     */
+    public static boolean isTimeout(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SocketTimeoutException || cause instanceof InterruptedIOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    public long getFailureCount() {
+        return failures.sum();
+    }
+
+    public double getAverageLatencyMs() {
+        long count = requests.sum();
+        return count == 0 ? 0.0 : (double) totalLatencyMs.sum() / count;
+    }
+
+    public int getConnectionCount() {
+        return httpClient.connectionPool().connectionCount();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        httpClient.dispatcher().executorService().shutdown();
+        httpClient.connectionPool().evictAll();
+    }
+
+    private void record(String model, long latencyMs, boolean success) {
+        requests.increment();
+        totalLatencyMs.add(latencyMs);
+        if (!success) {
+            failures.increment();
+        }
+        log.debug("OpenAI 호출 - 모델: {}, 성공: {}, 소요시간: {}ms", model, success, latencyMs);
+
+        long total = requests.sum();
+        if (statsLogInterval > 0 && total % statsLogInterval == 0) {
+            log.info("OpenAI 클라이언트 통계 - 요청: {}, 실패: {}, 평균 응답: {}ms, HTTP/2 응답: {}, "
+                            + "연결: {} (유휴 {}), 토큰(프롬프트/완성): {}/{}",
+                    total, failures.sum(), String.format("%.0f", getAverageLatencyMs()), http2Responses.sum(),
+                    httpClient.connectionPool().connectionCount(), httpClient.connectionPool().idleConnectionCount(),
+                    promptTokens.sum(), completionTokens.sum());
+        }
+    }
+
+    // openai.api.url(예: https://api.openai.com/v1/chat/completions)에서 스킴, 호스트, 포트만 남긴다
+    private static String baseUrlOf(String apiUrl) {
+        URI uri = URI.create(apiUrl);
+        return uri.getScheme() + "://" + uri.getAuthority() + "/";
+    }
+}
@@ -0,0 +1,23 @@
+package com.capstone.SafeHug.service.ai;
+
+import com.capstone.SafeHug.dto.request.ClassifyRequest;
+import com.capstone.SafeHug.dto.response.AIAnalysisResponse;
+
+import java.util.List;
+
+/**
+ * 메시지 위험도 분류기
+ * TextAnalysisService 는 이 인터페이스로 분류를 요청하므로 분류 백엔드를 바꿔 끼울 수 있습니다.
+ * 요청은 사전 필터 → 캐시 → 마이크로 배칭 게이트웨이 → 분류 백엔드(classifierBackend) 순서로 전달되며,
+ * 백엔드는 ai.classifier.backend 로 고릅니다. server(기본값, ai_server.py 호출) 또는 onnx(JVM 내 추론).
+ * 키워드 집계(KeywordAnalysis)는 백엔드와 관계없이 RiskLexicon 매처로 셉니다.
+ */
+public interface MessageClassifier {
+
+    /**
+     * 메시지 묶음을 분류합니다.
+     * @param batch 분류할 메시지 (id + 본문)
+     * @return 메시지별 위험 정보 (요청과 같은 id)
+     */
+    List<AIAnalysisResponse.MessageAnalysis> classify(List<ClassifyRequest.Message> batch);
+}
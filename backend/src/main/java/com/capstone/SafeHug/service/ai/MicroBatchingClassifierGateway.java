@@ -0,0 +1,194 @@
+package com.capstone.SafeHug.service.ai;
+
+import com.capstone.SafeHug.dto.request.ClassifyRequest;
+import com.capstone.SafeHug.dto.response.AIAnalysisResponse;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 여러 분석 요청의 메시지를 모아 한 번에 AI 서버로 보내는 마이크로 배칭 게이트웨이
+ *
+ * 동시에 진행 중인 분석들이 보낸 메시지를 하나의 대기열에 모으고,
+ * maxBatchSize 개(또는 maxBatchChars 글자)가 차거나 첫 메시지가 들어온 지 maxWaitMs 가 지나면 보냅니다.
+ * 결과는 메시지별 future 로 각 분석에 돌려주므로, 작은 업로드가 많아도 AI 서버 왕복은 배치 수만큼만 발생합니다.
+ * 처리량과 지연 시간의 균형은 이 세 값으로 조정합니다.
+ * 게이트웨이 실행기 큐가 밀려도 호출 스레드는 AI 호출 제한 시간(ai.server.call-timeout-ms)과 배치 대기 시간을 합친 만큼만 기다리고,
+ * 넘으면 예외를 던져 호출부가 키워드 분류로 대신할 수 있게 합니다.
+ */
+@Slf4j
+@Component
+public class MicroBatchingClassifierGateway implements MessageClassifier {
+
+    private final MessageClassifier delegate;
+    private final ThreadPoolTaskExecutor aiGatewayExecutor;
+    private final ScheduledExecutorService flushTimer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ai-gateway-timer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Object lock = new Object();
+    private List<PendingMessage> pending = new ArrayList<>();
+    private int pendingChars;
+    private ScheduledFuture<?> scheduledFlush;
+
+    @Value("${ai.gateway.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ai.gateway.max-batch-size:256}")
+    private int maxBatchSize;
+
+    @Value("${ai.gateway.max-batch-chars:65536}")
+    private int maxBatchChars;
+
+    @Value("${ai.gateway.max-wait-ms:20}")
+    private long maxWaitMs;
+
+    @Value("${ai.server.call-timeout-ms:45000}")
+    private long callTimeoutMs;
+
+    public MicroBatchingClassifierGateway(@Qualifier("classifierBackend") MessageClassifier delegate,
+                                          @Qualifier("aiGatewayExecutor") ThreadPoolTaskExecutor aiGatewayExecutor) {
+        this.delegate = delegate;
+        this.aiGatewayExecutor = aiGatewayExecutor;
+    }
+
+    @Override
+    public List<AIAnalysisResponse.MessageAnalysis> classify(List<ClassifyRequest.Message> batch) {
+        if (!enabled) {
+            return delegate.classify(batch);
+        }
+
+        List<CompletableFuture<AIAnalysisResponse.MessageAnalysis>> futures = new ArrayList<>(batch.size());
+        for (ClassifyRequest.Message message : batch) {
+            futures.add(enqueue(message));
+        }
+
+        List<AIAnalysisResponse.MessageAnalysis> results = new ArrayList<>(batch.size());
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(callTimeoutMs + maxWaitMs);
+        try {
+            for (CompletableFuture<AIAnalysisResponse.MessageAnalysis> future : futures) {
+                results.add(future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            }
+        } catch (TimeoutException e) {
+            // 큐에서 기다리던 메시지는 send 에서 빠지고, 호출부(classifyBatch)는 키워드 분류로 대신한다
+            futures.forEach(future -> future.cancel(false));
+            log.warn("게이트웨이 분류 응답 시간 초과 - 메시지 수: {}, 제한: {}ms", batch.size(), callTimeoutMs + maxWaitMs);
+            throw new RuntimeException("AI 서버 분류 응답 시간 초과", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException runtimeException
+                    ? runtimeException
+                    : new RuntimeException("AI 서버 통신 실패", e.getCause());
+        } catch (InterruptedException e) {
+            // 분석이 취소되면 공유 배치가 끝날 때까지 기다리지 않는다. 아직 보내지 않은 메시지는 send 에서 뺀다
+            futures.forEach(future -> future.cancel(false));
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("분류가 취소되었습니다.", e);
+        }
+        return results;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushTimer.shutdownNow();
+    }
+
+    private CompletableFuture<AIAnalysisResponse.MessageAnalysis> enqueue(ClassifyRequest.Message message) {
+        PendingMessage pendingMessage = new PendingMessage(message);
+        synchronized (lock) {
+            pending.add(pendingMessage);
+            pendingChars += message.getMessage().length();
+            if (pending.size() >= maxBatchSize || pendingChars >= maxBatchChars) {
+                flushLocked();
+            } else if (scheduledFlush == null) {
+                scheduledFlush = flushTimer.schedule(this::flushOnTimer, maxWaitMs, TimeUnit.MILLISECONDS);
+            }
+        }
+        return pendingMessage.future;
+    }
+
+    private void flushOnTimer() {
+        synchronized (lock) {
+            scheduledFlush = null;
+            if (!pending.isEmpty()) {
+                flushLocked();
+            }
+        }
+    }
+
+    private void flushLocked() {
+        List<PendingMessage> toSend = pending;
+        pending = new ArrayList<>();
+        pendingChars = 0;
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+
+        try {
+            aiGatewayExecutor.execute(() -> send(toSend));
+        } catch (TaskRejectedException e) {
+            toSend.forEach(message -> message.future.completeExceptionally(e));
+        }
+    }
+
+    // 게이트웨이 배치 안에서는 순번을 id 로 쓰고, 결과를 돌려줄 때 원래 id 로 되돌린다
+    private void send(List<PendingMessage> batch) {
+        List<PendingMessage> toSend = batch.stream()
+                .filter(pendingMessage -> !pendingMessage.future.isCancelled())
+                .toList();
+        if (toSend.isEmpty()) {
+            return;
+        }
+        List<ClassifyRequest.Message> request = new ArrayList<>(toSend.size());
+        for (int i = 0; i < toSend.size(); i++) {
+            request.add(new ClassifyRequest.Message(i, toSend.get(i).message.getMessage()));
+        }
+
+        try {
+            List<AIAnalysisResponse.MessageAnalysis> results = delegate.classify(request);
+            log.debug("게이트웨이 배치 전송 완료 - 메시지 수: {}", toSend.size());
+            for (AIAnalysisResponse.MessageAnalysis result : results) {
+                if (result.getId() < 0 || result.getId() >= toSend.size()) {
+                    continue;
+                }
+                PendingMessage pendingMessage = toSend.get(result.getId());
+                result.setId(pendingMessage.message.getId());
+                pendingMessage.future.complete(result);
+            }
+            for (PendingMessage pendingMessage : toSend) {
+                if (!pendingMessage.future.isDone()) {
+                    pendingMessage.future.completeExceptionally(
+                            new RuntimeException("AI 서버 응답에 메시지 결과가 없습니다. id: " + pendingMessage.message.getId()));
+                }
+            }
+        } catch (Exception e) {
+            log.error("게이트웨이 배치 전송 실패 - 메시지 수: {}, 오류: {}", toSend.size(), e.getMessage());
+            toSend.forEach(message -> message.future.completeExceptionally(e));
+        }
+    }
+
+    private static final class PendingMessage {
+        private final ClassifyRequest.Message message;
+        private final CompletableFuture<AIAnalysisResponse.MessageAnalysis> future = new CompletableFuture<>();
+
+        private PendingMessage(ClassifyRequest.Message message) {
+            this.message = message;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.capstone.SafeHug.service.ai;
+
+import ai.onnxruntime.OnnxTensor;
+import ai.onnxruntime.OrtEnvironment;
+import ai.onnxruntime.OrtException;
+import ai.onnxruntime.OrtSession;
+import com.capstone.SafeHug.common.RiskLevel;
+import com.capstone.SafeHug.common.RiskType;
+import com.capstone.SafeHug.dto.common.MessageRisk;
+import com.capstone.SafeHug.dto.request.ClassifyRequest;
+import com.capstone.SafeHug.dto.response.AIAnalysisResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ONNX Runtime 으로 JVM 안에서 KoBERT 분류를 실행하는 분류기 (ai.classifier.backend=onnx)
+ *
+ * ai/export_onnx.py 로 내보낸 multi_label_kobert_model 을 한 번만 로드해 세션을 공유하고,
+ * 메시지를 길이순으로 묶어 패딩을 줄인 배치로 추론합니다. HTTP 왕복과 JSON 직렬화가 없습니다.
+ * 점수 계산과 임계값은 ai_server.py 의 /classify (classify_text, build_message_risks) 와 같습니다.
+ */
+@Slf4j
+@Component("classifierBackend")
+@ConditionalOnProperty(name = "ai.classifier.backend", havingValue = "onnx")
+public class OnnxMessageClassifier implements MessageClassifier {
+
+    // ai_server.py 의 id2label 순서
+    private static final RiskType[] LABELS = {
+            RiskType.SEXUAL, RiskType.STALKING, RiskType.COERCION, RiskType.THREAT, RiskType.PERSONAL_INFO,
+            RiskType.DISCRIMINATION, RiskType.INSULT, RiskType.REJECTION, RiskType.NORMAL
+    };
+    private static final double HIGH_THRESHOLD = 0.6;
+    private static final double MEDIUM_THRESHOLD = 0.55;
+    private static final double LOW_THRESHOLD = 0.53;
+    private static final double TYPE_THRESHOLD = 0.53;
+
+    @Value("${ai.classifier.onnx.model-path}")
+    private String modelPath;
+
+    @Value("${ai.classifier.onnx.vocab-path}")
+    private String vocabPath;
+
+    @Value("${ai.classifier.onnx.max-length:512}")
+    private int maxLength;
+
+    // 한 번의 추론에 넣는 메시지 수
+    @Value("${ai.classifier.onnx.batch-size:32}")
+    private int inferenceBatchSize;
+
+    // 추론 한 건이 쓰는 CPU 스레드 수 (0 이면 ONNX Runtime 기본값)
+    @Value("${ai.classifier.onnx.intra-op-threads:0}")
+    private int intraOpThreads;
+
+    private OrtEnvironment environment;
+    private OrtSession session;
+    private KoBertTokenizer tokenizer;
+
+    @PostConstruct
+    public void init() throws OrtException, IOException {
+        long startTime = System.currentTimeMillis();
+        tokenizer = KoBertTokenizer.load(Path.of(vocabPath));
+        environment = OrtEnvironment.getEnvironment();
+        try (OrtSession.SessionOptions options = new OrtSession.SessionOptions()) {
+            options.setOptimizationLevel(OrtSession.SessionOptions.OptLevel.ALL_OPT);
+            if (intraOpThreads > 0) {
+                options.setIntraOpNumThreads(intraOpThreads);
+            }
+            session = environment.createSession(modelPath, options);
+        }
+        log.info("ONNX 분류 모델 로드 완료 - 모델: {}, 소요 시간: {}ms", modelPath, System.currentTimeMillis() - startTime);
+    }
+
+    @PreDestroy
+    public void close() throws OrtException {
+        if (session != null) {
+            session.close();
+        }
+    }
+
+    @Override
+    public List<AIAnalysisResponse.MessageAnalysis> classify(List<ClassifyRequest.Message> batch) {
+        int[][] encoded = new int[batch.size()][];
+        Integer[] order = new Integer[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            encoded[i] = tokenizer.encode(batch.get(i).getMessage(), maxLength);
+            order[i] = i;
+        }
+        // 길이가 비슷한 메시지끼리 묶어 패딩을 줄인다
+        Arrays.sort(order, Comparator.comparingInt(i -> encoded[i].length));
+
+        AIAnalysisResponse.MessageAnalysis[] results = new AIAnalysisResponse.MessageAnalysis[batch.size()];
+        try {
+            for (int start = 0; start < order.length; start += inferenceBatchSize) {
+                int end = Math.min(start + inferenceBatchSize, order.length);
+                float[][] probs = infer(encoded, order, start, end);
+                for (int row = 0; row < probs.length; row++) {
+                    int index = order[start + row];
+                    results[index] = toAnalysis(batch.get(index), probs[row]);
+                }
+            }
+        } catch (OrtException e) {
+            log.error("ONNX 분류 중 오류 발생: {}", e.getMessage());
+            throw new RuntimeException("ONNX 분류 실패", e);
+        }
+        return Arrays.asList(results);
+    }
+
+    private float[][] infer(int[][] encoded, Integer[] order, int start, int end) throws OrtException {
+        int seqLength = encoded[order[end - 1]].length;
+        long[][] inputIds = new long[end - start][seqLength];
+        long[][] attentionMask = new long[end - start][seqLength];
+        for (int row = 0; row < end - start; row++) {
+            int[] ids = encoded[order[start + row]];
+            Arrays.fill(inputIds[row], tokenizer.getPadId());
+            for (int t = 0; t < ids.length; t++) {
+                inputIds[row][t] = ids[t];
+                attentionMask[row][t] = 1;
+            }
+        }
+
+        try (OnnxTensor idsTensor = OnnxTensor.createTensor(environment, inputIds);
+             OnnxTensor maskTensor = OnnxTensor.createTensor(environment, attentionMask);
+             OrtSession.Result result = session.run(Map.of("input_ids", idsTensor, "attention_mask", maskTensor))) {
+            return (float[][]) result.get(0).getValue();
+        }
+    }
+
+    // 모델 출력 한 줄을 ai_server.py 의 probs_to_result + build_message_risks 와 같은 규칙으로 위험도/위험 유형으로 바꾼다
+    static AIAnalysisResponse.MessageAnalysis toAnalysis(ClassifyRequest.Message message, float[] modelOutput) {
+        // 모델 출력은 이미 sigmoid 를 거친 값이지만 ai_server.py 가 한 번 더 적용하므로 결과를 맞추기 위해 똑같이 한다
+        double[] probs = new double[modelOutput.length];
+        double maxScore = 0;
+        for (int i = 0; i < modelOutput.length; i++) {
+            probs[i] = 1.0 / (1.0 + Math.exp(-modelOutput[i]));
+            maxScore = Math.max(maxScore, probs[i]);
+        }
+
+        RiskLevel riskLevel = maxScore >= HIGH_THRESHOLD ? RiskLevel.HIGH
+                : maxScore >= MEDIUM_THRESHOLD ? RiskLevel.MEDIUM
+                : maxScore >= LOW_THRESHOLD ? RiskLevel.LOW
+                : RiskLevel.NORMAL;
+
+        List<MessageRisk> risks = new ArrayList<>(1);
+        for (int i = 0; i < LABELS.length - 1; i++) {  // 마지막 레이블(일반) 제외
+            if (probs[i] > TYPE_THRESHOLD) {
+                risks.add(risk(LABELS[i], riskLevel));
+            }
+        }
+        if (risks.isEmpty()) {
+            risks.add(risk(RiskType.NORMAL, RiskLevel.NORMAL));
+        }
+
+        AIAnalysisResponse.MessageAnalysis analysis = new AIAnalysisResponse.MessageAnalysis();
+        analysis.setId(message.getId());
+        analysis.setMessage(message.getMessage());
+        analysis.setRisks(risks);
+        return analysis;
+    }
+
+    private static MessageRisk risk(RiskType riskType, RiskLevel riskLevel) {
+        MessageRisk risk = new MessageRisk();
+        risk.setType(riskType.name());
+        risk.setLevel(riskLevel.name());
+        return risk;
+    }
+}
@@ -0,0 +1,139 @@
+package com.capstone.SafeHug.service.ai;
+
+import com.capstone.SafeHug.common.RiskLevel;
+import com.capstone.SafeHug.common.RiskType;
+import com.capstone.SafeHug.dto.common.MessageRisk;
+import com.capstone.SafeHug.dto.request.ClassifyRequest;
+import com.capstone.SafeHug.dto.response.AIAnalysisResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * 위험 키워드 사전으로 명백히 무해한 메시지를 모델 앞에서 걸러내는 사전 필터
+ *
+ * 다음 메시지는 모델을 거치지 않고 NORMAL 로 분류합니다.
+ * - maxBenignLength 글자 이하이고 RiskLexicon 매처에 아무것도 걸리지 않는 메시지 (일상적인 짧은 대화)
+ * - ㅋ, ㅎ, ㅠ, ㅜ 와 문장부호만으로 된 메시지나 카카오톡 첨부 자리표시 ("사진 3장", "이모티콘" 등), 길이와 관계없이
+ * 매처에는 위험 키워드뿐 아니라 "안돼", "그만", "ㄴㄴ", "보내", "와" 같은 짧은 거절/요구 신호도 들어 있어
+ * 이런 메시지는 모델로 보냅니다. 모델이 REJECTION/COERCION 으로 분류해야 문맥 규칙(ContextRiskEngine)이 동작합니다.
+ * 긴 메시지는 단어 없이도 맥락상 위험할 수 있으므로 항상 모델로 보냅니다.
+ * 나머지는 캐시 → 게이트웨이 → 분류 백엔드로 보냅니다.
+ */
+@Slf4j
+@Primary
+@Component
+public class PrefilteringMessageClassifier implements MessageClassifier {
+
+    private static final Pattern REACTION = Pattern.compile("[ㅋㅎㅠㅜ\\s.,!?~^]+");
+    private static final Pattern PHOTO_COUNT = Pattern.compile("사진 \\d+장");
+    private static final Set<String> PLACEHOLDERS = Set.of(
+            "사진", "이모티콘", "동영상", "음성메시지", "삭제된 메시지입니다.", "(이모티콘)");
+
+    private final MessageClassifier delegate;
+    private final RiskLexicon riskLexicon;
+    private final LongAdder filtered = new LongAdder();
+    private final LongAdder total = new LongAdder();
+
+    @Value("${ai.prefilter.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ai.prefilter.max-benign-length:12}")
+    private int maxBenignLength;
+
+    public PrefilteringMessageClassifier(CachingMessageClassifier delegate, RiskLexicon riskLexicon) {
+        this.delegate = delegate;
+        this.riskLexicon = riskLexicon;
+    }
+
+    @Override
+    public List<AIAnalysisResponse.MessageAnalysis> classify(List<ClassifyRequest.Message> batch) {
+        if (!enabled) {
+            return delegate.classify(batch);
+        }
+
+        AIAnalysisResponse.MessageAnalysis[] results = new AIAnalysisResponse.MessageAnalysis[batch.size()];
+        List<ClassifyRequest.Message> toClassify = new ArrayList<>(batch.size());
+        List<Integer> positions = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            ClassifyRequest.Message message = batch.get(i);
+            if (isBenign(message.getMessage())) {
+                results[i] = normal(message);
+            } else {
+                toClassify.add(message);
+                positions.add(i);
+            }
+        }
+        filtered.add(batch.size() - toClassify.size());
+        total.add(batch.size());
+        log.debug("사전 필터 - 요청: {}, 모델 생략: {}", batch.size(), batch.size() - toClassify.size());
+
+        if (!toClassify.isEmpty()) {
+            List<AIAnalysisResponse.MessageAnalysis> classified = delegate.classify(toClassify);
+            // 하위 분류기는 요청 순서대로 돌려주지만, 빠진 결과가 있을 수 있으므로 id 로 위치를 찾는다
+            Map<Integer, Integer> positionById = new HashMap<>(toClassify.size() * 2);
+            for (int i = 0; i < toClassify.size(); i++) {
+                positionById.put(toClassify.get(i).getId(), positions.get(i));
+            }
+            for (AIAnalysisResponse.MessageAnalysis analysis : classified) {
+                Integer position = positionById.get(analysis.getId());
+                if (position != null) {
+                    results[position] = analysis;
+                }
+            }
+        }
+
+        List<AIAnalysisResponse.MessageAnalysis> ordered = new ArrayList<>(results.length);
+        for (AIAnalysisResponse.MessageAnalysis analysis : results) {
+            if (analysis != null) {
+                ordered.add(analysis);
+            }
+        }
+        return ordered;
+    }
+
+    /**
+     * @return 지금까지 모델을 거치지 않고 분류한 메시지 비율 (0.0 ~ 1.0)
+     */
+    public double getFilteredRate() {
+        long sum = total.sum();
+        return sum == 0 ? 0.0 : (double) filtered.sum() / sum;
+    }
+
+    boolean isBenign(String text) {
+        if (text == null) {
+            return false;
+        }
+        String stripped = text.strip();
+        if (stripped.isEmpty()) {
+            return false;
+        }
+        if (PLACEHOLDERS.contains(stripped)
+                || PHOTO_COUNT.matcher(stripped).matches()
+                || REACTION.matcher(stripped).matches()) {
+            return true;
+        }
+        return stripped.length() <= maxBenignLength && !riskLexicon.hasSignal(stripped);
+    }
+
+    private static AIAnalysisResponse.MessageAnalysis normal(ClassifyRequest.Message message) {
+        MessageRisk risk = new MessageRisk();
+        risk.setType(RiskType.NORMAL.name());
+        risk.setLevel(RiskLevel.NORMAL.name());
+
+        AIAnalysisResponse.MessageAnalysis analysis = new AIAnalysisResponse.MessageAnalysis();
+        analysis.setId(message.getId());
+        analysis.setMessage(message.getMessage());
+        analysis.setRisks(List.of(risk));
+        return analysis;
+    }
+}
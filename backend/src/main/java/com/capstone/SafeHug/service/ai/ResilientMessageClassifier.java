@@ -0,0 +1,145 @@
+package com.capstone.SafeHug.service.ai;
+
+import com.capstone.SafeHug.dto.request.ClassifyRequest;
+import com.capstone.SafeHug.dto.response.AIAnalysisResponse;
+import com.capstone.SafeHug.exception.AiServerUnavailableException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * AI 서버 호출에 서킷 브레이커, 호출 시간 제한, 헤지(중복) 요청을 적용하는 분류기
+ *
+ * 호출은 크기가 제한된 aiCallExecutor 에서 실행하고 호출한 쪽은 callTimeoutMs 까지만 기다립니다.
+ * 시간이 지나면 진행 중인 요청을 취소(interrupt)하고, HTTP 응답 대기도 같은 시간으로 제한되어(RestTemplateConfig)
+ * 포기한 요청이 호출 스레드와 연결을 계속 붙잡지 않습니다.
+ * 연속 실패가 쌓이면 차단기가 열려 AiServerUnavailableException 으로 바로 실패합니다.
+ * hedgeDelayMs 가 0 보다 크면 분류 요청이 그 시간 안에 끝나지 않을 때 같은 요청을 한 번 더 보내고 먼저 온 응답을 씁니다.
+ * 늦은 쪽 요청은 취소합니다.
+ */
+@Slf4j
+@Component("classifierBackend")
+@ConditionalOnProperty(name = "ai.classifier.backend", havingValue = "server", matchIfMissing = true)
+public class ResilientMessageClassifier implements MessageClassifier {
+
+    private final MessageClassifier delegate;
+    private final ThreadPoolTaskExecutor aiCallExecutor;
+    private final CircuitBreaker circuitBreaker;
+
+    @Value("${ai.server.call-timeout-ms:45000}")
+    private long callTimeoutMs;
+
+    @Value("${ai.server.hedge.delay-ms:0}")
+    private long hedgeDelayMs;
+
+    public ResilientMessageClassifier(AiServerMessageClassifier delegate,
+                                      @Qualifier("aiCallExecutor") ThreadPoolTaskExecutor aiCallExecutor,
+                                      @Value("${ai.server.circuit-breaker.failure-threshold:5}") int failureThreshold,
+                                      @Value("${ai.server.circuit-breaker.open-seconds:30}") long openSeconds) {
+        this.delegate = delegate;
+        this.aiCallExecutor = aiCallExecutor;
+        this.circuitBreaker = new CircuitBreaker("AI 서버", failureThreshold, TimeUnit.SECONDS.toMillis(openSeconds));
+    }
+
+    @Override
+    public List<AIAnalysisResponse.MessageAnalysis> classify(List<ClassifyRequest.Message> batch) {
+        return call(() -> delegate.classify(batch), hedgeDelayMs > 0);
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    private <T> T call(Supplier<T> request, boolean hedge) {
+        if (!circuitBreaker.tryAcquire()) {
+            throw new AiServerUnavailableException("AI 서버 호출이 차단되어 있습니다.");
+        }
+        try {
+            T result = await(request, hedge);
+            circuitBreaker.onSuccess();
+            return result;
+        } catch (RuntimeException e) {
+            circuitBreaker.onFailure();
+            throw e;
+        }
+    }
+
+    private <T> T await(Supplier<T> request, boolean hedge) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(callTimeoutMs);
+        List<CompletableFuture<T>> attempts = new ArrayList<>(2);
+        attempts.add(submit(request));
+        CompletableFuture<T> result = attempts.get(0);
+        try {
+            if (hedge) {
+                try {
+                    return result.get(Math.min(hedgeDelayMs, callTimeoutMs), TimeUnit.MILLISECONDS);
+                } catch (TimeoutException e) {
+                    log.debug("AI 서버 응답 지연 - {}ms 경과, 중복 요청을 보냅니다.", hedgeDelayMs);
+                    attempts.add(submit(request));
+                    result = firstSuccessful(attempts.get(0), attempts.get(1));
+                }
+            }
+            return result.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            log.error("AI 서버 응답 시간 초과 - {}ms", callTimeoutMs);
+            throw new AiServerUnavailableException("AI 서버 통신 실패: 응답 시간 초과", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException runtimeException
+                    ? runtimeException
+                    : new RuntimeException("AI 서버 통신 실패", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("AI 서버 호출 중 인터럽트가 발생했습니다.", e);
+        } finally {
+            // 시간 초과, 인터럽트, 헤지에서 진 요청은 호출 스레드를 붙잡지 않도록 취소한다 (끝난 요청에는 영향 없음)
+            attempts.forEach(attempt -> attempt.cancel(true));
+        }
+    }
+
+    // aiCallExecutor 에서 실행하고, 반환한 future 를 취소하면 실행 중인 호출 스레드도 interrupt 한다
+    private <T> CompletableFuture<T> submit(Supplier<T> request) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Future<?> task = aiCallExecutor.submit(() -> {
+            try {
+                future.complete(request.get());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        });
+        future.whenComplete((value, error) -> {
+            if (future.isCancelled()) {
+                task.cancel(true);
+            }
+        });
+        return future;
+    }
+
+    // 둘 중 먼저 성공한 결과로 완료되고, 둘 다 실패하면 나중 실패로 완료된다
+    private static <T> CompletableFuture<T> firstSuccessful(CompletableFuture<T> first, CompletableFuture<T> second) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        for (CompletableFuture<T> future : List.of(first, second)) {
+            future.whenComplete((value, error) -> {
+                if (error == null) {
+                    result.complete(value);
+                } else if (failures.incrementAndGet() == 2) {
+                    result.completeExceptionally(error);
+                }
+            });
+        }
+        return result;
+    }
+}
@@ -0,0 +1,138 @@
+package com.capstone.SafeHug.service.ai;
+
+import com.capstone.SafeHug.common.RiskLevel;
+import com.capstone.SafeHug.common.RiskType;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 위험 키워드 사전과 그 사전으로 만든 Aho-Corasick 매처
+ *
+ * 키워드마다 대표 단어, 위험 유형/수준, 변형(초성 줄임말, 철자 변형)을 둡니다.
+ * 같은 키워드가 두 번 세어지지 않도록 변형은 대표 단어나 다른 변형의 일부가 아니어야 합니다.
+ * 띄어쓰기 변형은 매처가 공백을 무시하므로 따로 적지 않습니다.
+ * 키워드 사전 분류(KeywordFallbackClassifier), 요약 발췌(ChatSummarizer), 키워드 집계가 함께 씁니다.
+ *
+ * 같은 매처에 "모델로 보낼 신호" 단어도 넣습니다. 짧은 거절/요구("안돼", "그만", "ㄴㄴ", "보내", "와")는
+ * 그 자체로 위험 키워드는 아니지만 모델이 REJECTION/COERCION 으로 분류해야 문맥 규칙(ContextRiskEngine)이 동작하므로,
+ * 사전 필터(PrefilteringMessageClassifier)가 걸러내지 않도록 hasSignal 에만 걸리고 분류나 키워드 집계에는 쓰지 않습니다.
+ */
+@Component
+public class RiskLexicon {
+
+    public record Entry(String keyword, RiskType type, RiskLevel level) {
+    }
+
+    private static final List<Entry> ENTRIES = new ArrayList<>();
+    private static final List<String> PATTERNS = new ArrayList<>();
+    private static final List<Integer> PATTERN_ENTRY = new ArrayList<>();  // 신호 단어는 SIGNAL_ONLY
+    private static final int SIGNAL_ONLY = -1;
+
+    static {
+        add("성관계", RiskType.SEXUAL, RiskLevel.HIGH, "섹스", "ㅅㅅ하자");
+        add("알몸", RiskType.SEXUAL, RiskLevel.HIGH, "나체", "누드");
+        add("야동", RiskType.SEXUAL, RiskLevel.MEDIUM, "ㅇㄷ");
+        add("모텔", RiskType.SEXUAL, RiskLevel.MEDIUM, "ㅁㅌ");
+        add("벗어", RiskType.SEXUAL, RiskLevel.MEDIUM, "벗고", "벗은");
+        add("몸매", RiskType.SEXUAL, RiskLevel.LOW, "가슴");
+        add("집앞", RiskType.STALKING, RiskLevel.MEDIUM, "집근처");
+        add("따라가", RiskType.STALKING, RiskLevel.MEDIUM, "미행", "쫓아가");
+        add("왜안받아", RiskType.STALKING, RiskLevel.LOW, "왜답장안해", "읽씹");
+        add("어디야", RiskType.STALKING, RiskLevel.LOW, "누구랑있어");
+        add("시키는대로", RiskType.COERCION, RiskLevel.MEDIUM, "하라는대로");
+        add("안하면", RiskType.COERCION, RiskLevel.LOW, "당장");
+        add("죽여", RiskType.THREAT, RiskLevel.HIGH, "죽일", "죽는다", "ㅈㅇ버린다");
+        add("유포", RiskType.THREAT, RiskLevel.HIGH, "퍼뜨", "뿌린다");
+        add("가만안", RiskType.THREAT, RiskLevel.MEDIUM, "각오해");
+        add("주민번호", RiskType.PERSONAL_INFO, RiskLevel.MEDIUM, "주민등록번호");
+        add("비밀번호", RiskType.PERSONAL_INFO, RiskLevel.MEDIUM, "비번");
+        add("계좌", RiskType.PERSONAL_INFO, RiskLevel.LOW);
+        add("김치녀", RiskType.DISCRIMINATION, RiskLevel.MEDIUM, "된장녀", "메갈");
+        add("틀딱", RiskType.DISCRIMINATION, RiskLevel.MEDIUM);
+        add("개새끼", RiskType.INSULT, RiskLevel.HIGH, "ㄱㅅㄲ");
+        add("병신", RiskType.INSULT, RiskLevel.MEDIUM, "ㅂㅅ", "븅신", "병1신");
+        add("씨발", RiskType.INSULT, RiskLevel.MEDIUM, "시발", "ㅅㅂ", "ㅆㅂ", "씨8", "시1발");
+        add("지랄", RiskType.INSULT, RiskLevel.LOW, "ㅈㄹ");
+        add("닥쳐", RiskType.INSULT, RiskLevel.LOW, "닥치");
+        add("꺼져", RiskType.INSULT, RiskLevel.LOW, "ㄲㅈ");
+        add("싫어", RiskType.REJECTION, RiskLevel.LOW, "싫다고", "싫다니까", "ㅅㄹ");
+        add("하지마", RiskType.REJECTION, RiskLevel.LOW, "그만해", "그만하라고", "하지말라고");
+
+        // 거절
+        signal("안돼", "안되", "안된다", "아니", "싫", "그만", "ㄴㄴ", "안할", "못해", "하지", "말라고", "놔");
+        // 요구/재촉
+        signal("보내", "와", "오라고", "나와", "만나", "빨리", "줘", "찍어", "해봐", "알려");
+    }
+
+    private final AhoCorasickMatcher matcher = AhoCorasickMatcher.compile(PATTERNS);
+
+    private static void signal(String... words) {
+        for (String word : words) {
+            PATTERNS.add(word);
+            PATTERN_ENTRY.add(SIGNAL_ONLY);
+        }
+    }
+
+    private static void add(String keyword, RiskType type, RiskLevel level, String... variants) {
+        int entryIndex = ENTRIES.size();
+        ENTRIES.add(new Entry(keyword, type, level));
+        PATTERNS.add(keyword);
+        PATTERN_ENTRY.add(entryIndex);
+        for (String variant : variants) {
+            PATTERNS.add(variant);
+            PATTERN_ENTRY.add(entryIndex);
+        }
+    }
+
+    /**
+     * @return 사전 단어(변형 포함)나 모델로 보낼 신호 단어가 하나라도 들어 있으면 true
+     */
+    public boolean hasSignal(String text) {
+        return matcher.containsAny(text);
+    }
+
+    /**
+     * @return 본문에 걸린 키워드 중 위험 수준이 가장 높은 것, 없으면 null
+     */
+    public Entry strongestMatch(String text) {
+        Entry[] strongest = new Entry[1];
+        matcher.scan(text, patternIndex -> {
+            int entryIndex = PATTERN_ENTRY.get(patternIndex);
+            if (entryIndex == SIGNAL_ONLY) {
+                return;
+            }
+            Entry entry = ENTRIES.get(entryIndex);
+            // RiskLevel 은 HIGH 가 가장 앞이므로 ordinal 이 작을수록 위험하다
+            if (strongest[0] == null || entry.level().ordinal() < strongest[0].level().ordinal()) {
+                strongest[0] = entry;
+            }
+        });
+        return strongest[0];
+    }
+
+    /**
+     * 본문에서 키워드별 등장 횟수를 셉니다. 변형은 대표 단어로 셉니다.
+     * @return 처음 등장한 순서대로 담은 키워드별 횟수
+     */
+    public Map<Entry, Integer> countKeywords(String text) {
+        Map<Entry, Integer> counts = new LinkedHashMap<>();
+        countKeywords(text, counts);
+        return counts;
+    }
+
+    /**
+     * countKeywords 와 같지만 주어진 맵에 이어서 셉니다. 대화 전체를 메시지 단위로 셀 때 씁니다.
+     */
+    public void countKeywords(String text, Map<Entry, Integer> counts) {
+        matcher.scan(text, patternIndex -> {
+            int entryIndex = PATTERN_ENTRY.get(patternIndex);
+            if (entryIndex != SIGNAL_ONLY) {
+                counts.merge(ENTRIES.get(entryIndex), 1, Integer::sum);
+            }
+        });
+    }
+}
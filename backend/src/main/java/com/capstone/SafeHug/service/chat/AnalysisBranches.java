@@ -0,0 +1,97 @@
+package com.capstone.SafeHug.service.chat;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 분석 한 건 안에서 서로 독립적인 단계(분류, 요약 등)를 가상 스레드로 동시에 실행하는 범위
+ *
+ * try-with-resources 로 열고 fork 로 단계를 띄운 뒤 join 으로 결과를 받습니다.
+ * 한 단계가 실패하면 나머지 단계를 바로 취소(interrupt)하고, join 하던 스레드가 인터럽트되거나
+ * 범위를 벗어나면 끝나지 않은 단계를 모두 취소하고 잠깐 종료를 기다립니다. 취소된 단계의 결과는 버립니다.
+ * (StructuredTaskScope 가 정식 API 가 되기 전까지 쓰는 최소 구현)
+ */
+@Slf4j
+public final class AnalysisBranches implements AutoCloseable {
+
+    private static final long CLOSE_TIMEOUT_MILLIS = 500;
+
+    private final ExecutorService executor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("analysis-branch-", 0).factory());
+    private final List<Future<?>> branches = new CopyOnWriteArrayList<>();
+    private volatile Throwable failure;
+
+    public <T> Future<T> fork(Callable<T> task) {
+        FutureTask<T> branch = new FutureTask<>(task) {
+            @Override
+            protected void setException(Throwable t) {
+                super.setException(t);
+                fail(t);
+            }
+        };
+        branches.add(branch);
+        executor.execute(branch);
+        return branch;
+    }
+
+    /**
+     * 단계가 끝날 때까지 기다립니다.
+     * @throws RuntimeException 이 단계나 다른 단계가 실패한 경우 (처음 실패한 예외)
+     */
+    public <T> T join(Future<T> branch) {
+        try {
+            return branch.get();
+        } catch (CancellationException e) {
+            throw asRuntimeException(failure != null ? failure : e);
+        } catch (ExecutionException e) {
+            throw asRuntimeException(failure != null ? failure : e.getCause());
+        } catch (InterruptedException e) {
+            cancelAll();
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("분석이 취소되었습니다.", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        cancelAll();
+        executor.shutdownNow();
+        // 취소된 단계가 인터럽트에 반응해 빠져나올 때까지 잠깐만 기다린다 (블로킹 I/O 에 묶인 단계는 기다리지 않고 넘어간다)
+        try {
+            if (!executor.awaitTermination(CLOSE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                log.warn("취소된 분석 단계가 {}ms 안에 종료되지 않았습니다.", CLOSE_TIMEOUT_MILLIS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void fail(Throwable t) {
+        if (failure == null) {
+            failure = t;
+        }
+        cancelAll();
+    }
+
+    private void cancelAll() {
+        for (Future<?> branch : branches) {
+            branch.cancel(true);
+        }
+    }
+
+    private static RuntimeException asRuntimeException(Throwable t) {
+        return t instanceof RuntimeException runtimeException
+                ? runtimeException
+                : new RuntimeException(t.getMessage(), t);
+    }
+}
@@ -0,0 +1,34 @@
+package com.capstone.SafeHug.service.chat;
+
+import com.capstone.SafeHug.dto.response.chat.ChatAnalysisResponse;
+import com.capstone.SafeHug.dto.response.chat.GptAnalysisResponse;
+
+import java.util.List;
+
+/**
+ * 채팅 분석 파이프라인의 단계별 진행 상황을 전달받는 리스너
+ * 분석 중간 결과(배치별 위험도)를 전체 분석이 끝나기 전에 사용자에게 보여줄 때 사용합니다.
+ * 저장 완료는 트랜잭션 커밋 이후 호출자가 직접 판단합니다.
+ */
+public interface AnalysisProgressListener {
+
+    AnalysisProgressListener NONE = new AnalysisProgressListener() {};
+
+    default void onParsed(int messageCount) {
+    }
+
+    /**
+     * 배치는 끝나는 순서대로 전달되며, 메시지는 아직 저장 전이라 id 가 없습니다.
+     * 메시지 위치는 fromIndex 로 구분하고, id 와 문맥에 따른 위험도 조정이 반영된 최종 결과는 저장 완료 후에 확인합니다.
+     * @param batch 분류가 끝난 배치 번호 (1부터)
+     * @param totalBatches 전체 배치 수
+     * @param fromIndex 이번 배치 첫 메시지의 대화 내 순번 (0부터)
+     * @param messages 이번 배치에 포함된 메시지와 위험 정보
+     */
+    default void onBatchClassified(int batch, int totalBatches, int fromIndex,
+                                   List<ChatAnalysisResponse.MessageInfo> messages) {
+    }
+
+    default void onSummaryReady(GptAnalysisResponse summary) {
+    }
+}
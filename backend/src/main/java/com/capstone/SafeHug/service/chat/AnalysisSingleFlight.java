@@ -0,0 +1,122 @@
+package com.capstone.SafeHug.service.chat;
+
+import com.capstone.SafeHug.entity.ChatUpload;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * 동일한 채팅 파일에 대한 동시 분석 요청을 하나로 합치는 컴포넌트 (single-flight)
+ *
+ * 같은 키(파일 SHA-256 + 사용자 이름)로 분석이 진행 중이면 나중에 온 요청은 새 파이프라인을 시작하지 않고
+ * 먼저 시작한 분석(리더)이 끝나기를 기다립니다. 리더가 커밋한 뒤 다시 시도하면
+ * 중복 업로드 재사용 경로를 타므로 AI 서버와 OpenAI 호출은 한 번만 발생합니다.
+ * 리더가 실패하면 기다리던 요청 중 하나가 새 리더가 됩니다.
+ * 백그라운드 작업은 executeAsync 로 리더의 future 뒤에 이어 붙여 대기 중에 실행기 스레드를 점유하지 않습니다.
+ */
+@Slf4j
+@Component
+public class AnalysisSingleFlight {
+
+    private final ConcurrentHashMap<String, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+
+    @Value("${analysis.single-flight.wait-timeout-seconds:180}")
+    private long waitTimeoutSeconds;
+
+    public static String keyOf(ChatUpload chatUpload) {
+        if (chatUpload.getContentHash() == null) {
+            return null;
+        }
+        return chatUpload.getContentHash() + ":" + chatUpload.getUserName();
+    }
+
+    /**
+     * 같은 키의 분석이 진행 중이면 끝날 때까지 기다린 뒤 실행합니다.
+     * 분석은 트랜잭션 경계 밖에서 감싸야 리더의 커밋 이후에 후속 요청이 진행됩니다.
+     * @param key 분석 키 (null 이면 합치지 않고 바로 실행)
+     * @param analysis 실행할 분석
+     * @return 분석 결과
+     */
+    public <T> T execute(String key, Supplier<T> analysis) {
+        if (key == null) {
+            return analysis.get();
+        }
+
+        while (true) {
+            CompletableFuture<Void> mine = new CompletableFuture<>();
+            CompletableFuture<Void> leader = inFlight.putIfAbsent(key, mine);
+            if (leader == null) {
+                try {
+                    return analysis.get();
+                } finally {
+                    inFlight.remove(key, mine);
+                    mine.complete(null);
+                }
+            }
+
+            log.info("동일 파일 분석이 진행 중입니다. 결과를 기다립니다 - key: {}", key);
+            try {
+                leader.get(waitTimeoutSeconds, TimeUnit.SECONDS);
+            } catch (TimeoutException e) {
+                log.warn("진행 중인 분석 대기 시간 초과, 단독으로 분석합니다 - key: {}", key);
+                return analysis.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("분석 대기 중 인터럽트가 발생했습니다.", e);
+            } catch (ExecutionException e) {
+                // 리더 future 는 항상 정상 완료되므로 발생하지 않는다
+            }
+        }
+    }
+
+    /**
+     * execute 의 비동기 버전입니다.
+     * 같은 키의 분석이 진행 중이면 스레드를 막고 기다리지 않고, 리더가 끝난 뒤 실행기에 제출되도록 이어 붙입니다.
+     * @param key 분석 키 (null 이면 합치지 않고 바로 제출)
+     * @param analysis 실행할 분석
+     * @param executor 분석을 실행할 실행기
+     * @return 분석 결과 future
+     * @throws org.springframework.core.task.TaskRejectedException 바로 제출하는 경우 실행기 큐가 가득 찼을 때
+     */
+    public <T> CompletableFuture<T> executeAsync(String key, Supplier<T> analysis, Executor executor) {
+        if (key == null) {
+            return CompletableFuture.supplyAsync(analysis, executor);
+        }
+
+        CompletableFuture<Void> mine = new CompletableFuture<>();
+        CompletableFuture<Void> leader = inFlight.putIfAbsent(key, mine);
+        if (leader == null) {
+            CompletableFuture<T> result;
+            try {
+                result = CompletableFuture.supplyAsync(analysis, executor);
+            } catch (RuntimeException e) {
+                inFlight.remove(key, mine);
+                mine.complete(null);
+                throw e;
+            }
+            return result.whenComplete((value, e) -> {
+                inFlight.remove(key, mine);
+                mine.complete(null);
+            });
+        }
+
+        log.info("동일 파일 분석이 진행 중입니다. 끝난 뒤 이어서 실행합니다 - key: {}", key);
+        return leader.thenApply(ignored -> true)
+                .completeOnTimeout(false, waitTimeoutSeconds, TimeUnit.SECONDS)
+                .thenCompose(finished -> {
+                    if (finished) {
+                        return executeAsync(key, analysis, executor);
+                    }
+                    log.warn("진행 중인 분석 대기 시간 초과, 단독으로 분석합니다 - key: {}", key);
+                    return CompletableFuture.supplyAsync(analysis, executor);
+                });
+    }
+}
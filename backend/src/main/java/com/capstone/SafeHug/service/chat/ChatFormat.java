@@ -0,0 +1,10 @@
+package com.capstone.SafeHug.service.chat;
+
+/**
+ * 카카오톡 대화 내보내기 형식
+ * PC: "[이름] [오전 9:05] 메시지", 날짜는 "--------------- 2025년 5월 1일 목요일 ---------------" 구분선
+ * MOBILE: "2025년 5월 1일 오전 9:05, 이름 : 메시지"
+ */
+public enum ChatFormat {
+    PC, MOBILE, UNKNOWN
+}
@@ -0,0 +1,430 @@
+package com.capstone.SafeHug.service.chat;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 카카오톡 대화 내보내기 파일을 한 번에 훑는 수작업 스캐너
+ *
+ * 줄 단위로 split 하거나 정규식을 돌리지 않고 문자 버퍼 위의 인덱스만으로
+ * 헤더(대화 상대, 저장한 날짜), PC 날짜 구분선, 메시지 줄을 구분합니다.
+ * "오전/오후 h:mm" 같은 시간은 문자열을 만들지 않고 숫자로 바로 읽습니다.
+ * 메시지마다 새로 만드는 객체는 보낸 사람, 메시지 문자열과 LocalDateTime 뿐입니다.
+ *
+ * 첫 두 줄로 형식을 판단하며, 형식을 알 수 없으면 메시지를 내보내지 않습니다.
+ * 줄 끝의 \r 과 파일 앞의 BOM 은 무시합니다.
+ * 한 인스턴스는 한 파일에만 사용하며 스레드 안전하지 않습니다.
+ */
+@Slf4j
+public class KakaoChatLexer {
+
+    private static final String HEADER_SUFFIX = " 님과 카카오톡 대화";
+    private static final String SAVED_AT_PREFIX = "저장한 날짜 : ";
+    private static final String DATE_SEPARATOR_PREFIX = "---------------";
+
+    @FunctionalInterface
+    public interface MessageHandler {
+        void onMessage(String sender, LocalDateTime sentAt, String message);
+    }
+
+    private final MessageHandler handler;
+
+    private ChatFormat format = ChatFormat.UNKNOWN;
+    private int lineNumber;
+    private boolean headerLine;
+    // PC 형식은 메시지 줄에 날짜가 없으므로 마지막 구분선의 날짜를 사용한다 (구분선 전에는 오늘 날짜)
+    private LocalDate currentDate = LocalDate.now();
+    private int messageCount;
+
+    // 숫자를 읽은 뒤 다음 위치 (parseNumber 의 두 번째 반환값)
+    private int cursor;
+    // scanKoreanDateTime 이 마지막으로 읽은 시각 (범위를 벗어난 날짜면 null)
+    private LocalDateTime decodedDateTime;
+
+    public KakaoChatLexer(MessageHandler handler) {
+        this.handler = handler;
+    }
+
+    /**
+     * 헤더 이후의 한 구간만 스캔하는 렉서를 만듭니다. (병렬 파싱용)
+     * PC 형식 구간은 날짜 구분선으로 시작해야 올바른 날짜가 붙습니다.
+     */
+    public static KakaoChatLexer forSegment(ChatFormat format, MessageHandler handler) {
+        KakaoChatLexer lexer = new KakaoChatLexer(handler);
+        lexer.format = format;
+        lexer.lineNumber = 2;
+        return lexer;
+    }
+
+    /**
+     * 첫 두 줄만 읽어 채팅 형식을 판단합니다.
+     */
+    public static ChatFormat detectFormat(CharSequence content) {
+        KakaoChatLexer lexer = new KakaoChatLexer((sender, sentAt, message) -> { });
+        int lineStart = 0;
+        for (int i = 0; i < content.length() && lexer.lineNumber < 2; i++) {
+            if (content.charAt(i) == '\n') {
+                lexer.line(content, lineStart, i);
+                lineStart = i + 1;
+            }
+        }
+        if (lexer.lineNumber < 2 && lineStart < content.length()) {
+            lexer.line(content, lineStart, content.length());
+        }
+        return lexer.getFormat();
+    }
+
+    /**
+     * pos 에서 시작하는 줄이 PC 날짜 구분선인지 확인합니다.
+     */
+    public static boolean isDateSeparatorAt(CharSequence buf, int pos, int end) {
+        return regionStartsWith(buf, pos, end, DATE_SEPARATOR_PREFIX);
+    }
+
+    /**
+     * 문자열 전체를 스캔합니다.
+     * @return 감지된 채팅 형식
+     */
+    public static ChatFormat scan(CharSequence content, MessageHandler handler) {
+        KakaoChatLexer lexer = new KakaoChatLexer(handler);
+        lexer.feed(content, 0, content.length());
+        lexer.finish();
+        return lexer.getFormat();
+    }
+
+    /**
+     * 완결된 줄들로 이루어진 구간을 스캔합니다. 구간은 줄 경계에서 끝나야 합니다.
+     */
+    public void feed(CharSequence buf, int start, int end) {
+        int lineStart = start;
+        for (int i = start; i < end; i++) {
+            if (buf.charAt(i) == '\n') {
+                line(buf, lineStart, i);
+                lineStart = i + 1;
+            }
+        }
+        if (lineStart < end) {
+            line(buf, lineStart, end);
+        }
+    }
+
+    /**
+     * 줄 하나(줄바꿈 제외)를 처리합니다.
+     */
+    public void line(CharSequence buf, int start, int end) {
+        if (end > start && buf.charAt(end - 1) == '\r') {
+            end--;
+        }
+        int current = lineNumber++;
+        if (current == 0) {
+            if (end > start && buf.charAt(start) == '\uFEFF') {
+                start++;
+            }
+            headerLine = regionEndsWith(buf, start, end, HEADER_SUFFIX);
+            return;
+        }
+        if (current == 1) {
+            format = headerLine ? detectFormat(buf, start, end) : ChatFormat.UNKNOWN;
+            return;
+        }
+
+        if (format == ChatFormat.PC) {
+            pcLine(buf, start, end);
+        } else if (format == ChatFormat.MOBILE) {
+            mobileLine(buf, start, end);
+        }
+    }
+
+    public void finish() {
+        if (format == ChatFormat.UNKNOWN) {
+            log.warn("알 수 없는 채팅 형식입니다.");
+        } else if (messageCount == 0) {
+            log.warn("파싱된 메시지가 없습니다. 채팅 형식: {}", format);
+        } else {
+            log.info("총 {}개의 메시지가 파싱되었습니다. 채팅 형식: {}", messageCount, format);
+        }
+    }
+
+    public ChatFormat getFormat() {
+        return format;
+    }
+
+    public int getMessageCount() {
+        return messageCount;
+    }
+
+    // 저장한 날짜 : 2025-05-01 12:00:00 (PC) / 저장한 날짜 : 2025년 5월 1일 오후 3:00 (모바일)
+    private ChatFormat detectFormat(CharSequence buf, int start, int end) {
+        if (!regionStartsWith(buf, start, end, SAVED_AT_PREFIX)) {
+            return ChatFormat.UNKNOWN;
+        }
+        int p = start + SAVED_AT_PREFIX.length();
+        if (isPcSavedAt(buf, p, end)) {
+            log.info("PC 형식 채팅방 감지됨");
+            return ChatFormat.PC;
+        }
+        if (scanKoreanDateTime(buf, p, end) == end) {
+            log.info("모바일 형식 채팅방 감지됨");
+            return ChatFormat.MOBILE;
+        }
+        return ChatFormat.UNKNOWN;
+    }
+
+    // yyyy-MM-dd HH:mm:ss
+    private static boolean isPcSavedAt(CharSequence buf, int p, int end) {
+        if (end - p != 19) {
+            return false;
+        }
+        for (int i = 0; i < 19; i++) {
+            char c = buf.charAt(p + i);
+            boolean ok = switch (i) {
+                case 4, 7 -> c == '-';
+                case 10 -> c == ' ';
+                case 13, 16 -> c == ':';
+                default -> isDigit(c);
+            };
+            if (!ok) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // [이름] [오전 9:05] 메시지  또는  --------------- 2025년 5월 1일 목요일 ---------------
+    private void pcLine(CharSequence buf, int start, int end) {
+        int p = skipSpaces(buf, start, end);
+        if (p >= end) {
+            return;
+        }
+        if (buf.charAt(p) == '-') {
+            dateSeparator(buf, p, end);
+            return;
+        }
+        if (buf.charAt(p) != '[') {
+            return;
+        }
+
+        // 이름에 ']' 가 들어 있을 수 있으므로 뒤에 시간 블록이 이어지는 첫 ']' 를 찾는다
+        for (int close = indexOf(buf, ']', p + 1, end); close >= 0; close = indexOf(buf, ']', close + 1, end)) {
+            int q = skipSpaces(buf, close + 1, end);
+            if (q >= end || buf.charAt(q) != '[') {
+                continue;
+            }
+            int meridiem = meridiem(buf, q + 1, end);
+            if (meridiem < 0) {
+                continue;
+            }
+            q = skipSpaces(buf, q + 3, end);
+            int minuteOfDay = clockTime(buf, q, end, meridiem);
+            if (minuteOfDay == Integer.MIN_VALUE || cursor >= end || buf.charAt(cursor) != ']') {
+                continue;
+            }
+
+            LocalDateTime sentAt;
+            if (minuteOfDay < 0) {
+                log.error("시간 파싱 오류: {}", buf.subSequence(q, cursor));
+                sentAt = LocalDateTime.now();
+            } else {
+                sentAt = currentDate.atTime(minuteOfDay / 60, minuteOfDay % 60);
+            }
+            emit(buf.subSequence(p + 1, close).toString(), sentAt, buf, cursor + 1, end);
+            return;
+        }
+    }
+
+    private void dateSeparator(CharSequence buf, int start, int end) {
+        if (!regionStartsWith(buf, start, end, DATE_SEPARATOR_PREFIX)) {
+            return;
+        }
+        int p = skipSpaces(buf, start + DATE_SEPARATOR_PREFIX.length(), end);
+        int year = parseNumber(buf, p, end, 4, 4);
+        if (year < 0 || !expect(buf, cursor, end, '년')) {
+            return;
+        }
+        int month = parseNumber(buf, cursor + 2, end, 1, 2);
+        if (month < 0 || !expect(buf, cursor, end, '월')) {
+            return;
+        }
+        int day = parseNumber(buf, cursor + 2, end, 1, 2);
+        if (day < 0 || cursor >= end || buf.charAt(cursor) != '일') {
+            return;
+        }
+        try {
+            currentDate = LocalDate.of(year, month, day);
+        } catch (DateTimeException e) {
+            log.error("날짜 구분선 파싱 오류: {} - {}", buf.subSequence(start, end), e.getMessage());
+        }
+    }
+
+    // 2025년 5월 1일 오전 9:05, 이름 : 메시지
+    private void mobileLine(CharSequence buf, int start, int end) {
+        int p = skipSpaces(buf, start, end);
+        int timeEnd = scanKoreanDateTime(buf, p, end);
+        if (timeEnd < 0 || timeEnd >= end || buf.charAt(timeEnd) != ',') {
+            return;
+        }
+        int colon = indexOf(buf, ':', timeEnd + 1, end);
+        if (colon < 0) {
+            return;
+        }
+
+        LocalDateTime sentAt = decodedDateTime;
+        if (sentAt == null) {
+            log.error("모바일 시간 파싱 오류: {}", buf.subSequence(start, timeEnd));
+            sentAt = LocalDateTime.now();
+        }
+        int senderStart = skipSpaces(buf, timeEnd + 1, colon);
+        int senderEnd = colon;
+        while (senderEnd > senderStart && isSpace(buf.charAt(senderEnd - 1))) {
+            senderEnd--;
+        }
+        emit(buf.subSequence(senderStart, senderEnd).toString(), sentAt, buf, colon + 1, end);
+    }
+
+    /**
+     * "yyyy년 M월 d일 오전|오후 h:mm" 을 읽고 끝 위치를 반환합니다. 형식이 맞지 않으면 -1.
+     */
+    private int scanKoreanDateTime(CharSequence buf, int p, int end) {
+        decodedDateTime = null;
+        int year = parseNumber(buf, p, end, 4, 4);
+        if (year < 0 || !expect(buf, cursor, end, '년')) {
+            return -1;
+        }
+        int month = parseNumber(buf, cursor + 2, end, 1, 2);
+        if (month < 0 || !expect(buf, cursor, end, '월')) {
+            return -1;
+        }
+        int day = parseNumber(buf, cursor + 2, end, 1, 2);
+        if (day < 0 || !expect(buf, cursor, end, '일')) {
+            return -1;
+        }
+        int m = cursor + 2;
+        int meridiem = meridiem(buf, m, end);
+        if (meridiem < 0 || m + 2 >= end || buf.charAt(m + 2) != ' ') {
+            return -1;
+        }
+        int minuteOfDay = clockTime(buf, m + 3, end, meridiem);
+        if (minuteOfDay == Integer.MIN_VALUE) {
+            return -1;
+        }
+        try {
+            if (minuteOfDay >= 0) {
+                decodedDateTime = LocalDate.of(year, month, day).atTime(minuteOfDay / 60, minuteOfDay % 60);
+            }
+        } catch (DateTimeException ignored) {
+            // 범위를 벗어난 날짜는 호출부에서 현재 시각으로 대체한다
+        }
+        return cursor;
+    }
+
+    /**
+     * "h:mm" 을 읽어 자정 기준 분으로 반환합니다.
+     * 형식이 맞지 않으면 Integer.MIN_VALUE, 시각 범위를 벗어나면 -1 을 반환합니다.
+     */
+    private int clockTime(CharSequence buf, int p, int end, int meridiem) {
+        int hour = parseNumber(buf, p, end, 1, 2);
+        if (hour < 0 || cursor >= end || buf.charAt(cursor) != ':') {
+            return Integer.MIN_VALUE;
+        }
+        int minute = parseNumber(buf, cursor + 1, end, 2, 2);
+        if (minute < 0) {
+            return Integer.MIN_VALUE;
+        }
+        if (hour < 1 || hour > 12 || minute > 59) {
+            return -1;
+        }
+        // 오전 12시는 0시, 오후 12시는 12시
+        int hour24 = hour % 12 + meridiem * 12;
+        return hour24 * 60 + minute;
+    }
+
+    // 메시지 본문은 String.trim 과 같은 기준으로 앞뒤 공백을 제거한다
+    private void emit(String sender, LocalDateTime sentAt, CharSequence buf, int textStart, int end) {
+        int s = textStart;
+        int e = end;
+        while (s < e && buf.charAt(s) <= ' ') {
+            s++;
+        }
+        while (e > s && buf.charAt(e - 1) <= ' ') {
+            e--;
+        }
+        messageCount++;
+        handler.onMessage(sender, sentAt, buf.subSequence(s, e).toString());
+    }
+
+    // 오전 = 0, 오후 = 1, 그 외 -1
+    private static int meridiem(CharSequence buf, int p, int end) {
+        if (p + 1 >= end || buf.charAt(p) != '오') {
+            return -1;
+        }
+        char c = buf.charAt(p + 1);
+        return c == '전' ? 0 : c == '후' ? 1 : -1;
+    }
+
+    /**
+     * 자릿수 범위 안의 십진수를 읽습니다. 읽은 뒤 위치는 cursor 에 남깁니다.
+     * @return 읽은 값, 형식이 맞지 않으면 -1
+     */
+    private int parseNumber(CharSequence buf, int p, int end, int minDigits, int maxDigits) {
+        int value = 0;
+        int i = p;
+        while (i < end && i - p < maxDigits && isDigit(buf.charAt(i))) {
+            value = value * 10 + (buf.charAt(i) - '0');
+            i++;
+        }
+        if (i - p < minDigits || (i < end && isDigit(buf.charAt(i)))) {
+            return -1;
+        }
+        cursor = i;
+        return value;
+    }
+
+    // 단위 글자(년/월/일) 뒤에 공백 한 칸이 이어지는지 확인한다
+    private static boolean expect(CharSequence buf, int p, int end, char unit) {
+        return p + 1 < end && buf.charAt(p) == unit && buf.charAt(p + 1) == ' ';
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    // 정규식 \s 와 같은 공백 문자
+    private static boolean isSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    private static int skipSpaces(CharSequence buf, int p, int end) {
+        while (p < end && isSpace(buf.charAt(p))) {
+            p++;
+        }
+        return p;
+    }
+
+    private static int indexOf(CharSequence buf, char target, int from, int end) {
+        for (int i = from; i < end; i++) {
+            if (buf.charAt(i) == target) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean regionStartsWith(CharSequence buf, int start, int end, String prefix) {
+        if (end - start < prefix.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (buf.charAt(start + i) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean regionEndsWith(CharSequence buf, int start, int end, String suffix) {
+        return end - start >= suffix.length() && regionStartsWith(buf, end - suffix.length(), end, suffix);
+    }
+}
@@ -0,0 +1,121 @@
+package com.capstone.SafeHug.service.chat;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.CharBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Reader 에서 카카오톡 대화를 조금씩 읽어 메시지를 정해진 개수 단위(청크)로 내주는 반복자
+ *
+ * 파일 전체를 String 으로 만들지 않고 고정 크기 문자 버퍼에 완결된 줄만 모아 KakaoChatLexer 에 넘깁니다.
+ * 한 번에 메모리에 있는 것은 문자 버퍼와 아직 내주지 않은 메시지(청크 하나 + 버퍼 한 번 분량)뿐입니다.
+ * 버퍼보다 긴 줄을 만나면 그 줄이 들어갈 때까지만 버퍼를 늘립니다.
+ */
+public class KakaoChatReader implements Iterator<List<ParsedChatMessage>>, Closeable {
+
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private final Reader reader;
+    private final int chunkSize;
+    private final ArrayDeque<ParsedChatMessage> pending = new ArrayDeque<>();
+    private final KakaoChatLexer lexer;
+
+    private char[] buffer;
+    private CharBuffer view;
+    private int length;
+    private boolean eof;
+
+    public KakaoChatReader(Reader reader, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("청크 크기는 1 이상이어야 합니다.");
+        }
+        this.reader = reader;
+        this.chunkSize = chunkSize;
+        this.buffer = new char[DEFAULT_BUFFER_SIZE];
+        this.view = CharBuffer.wrap(buffer);
+        this.lexer = new KakaoChatLexer((sender, sentAt, message) ->
+                pending.add(new ParsedChatMessage(sender, sentAt, message)));
+    }
+
+    @Override
+    public boolean hasNext() {
+        fill();
+        return !pending.isEmpty();
+    }
+
+    /**
+     * 다음 청크를 반환합니다. 마지막 청크는 chunkSize 보다 작을 수 있습니다.
+     */
+    @Override
+    public List<ParsedChatMessage> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        int size = Math.min(chunkSize, pending.size());
+        List<ParsedChatMessage> chunk = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            chunk.add(pending.poll());
+        }
+        return chunk;
+    }
+
+    public ChatFormat getFormat() {
+        return lexer.getFormat();
+    }
+
+    public int getMessageCount() {
+        return lexer.getMessageCount();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    // 청크 하나를 채울 만큼 메시지가 모이거나 입력이 끝날 때까지 읽는다
+    private void fill() {
+        try {
+            while (pending.size() < chunkSize && !eof) {
+                if (length == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                    view = CharBuffer.wrap(buffer);
+                }
+                int read = reader.read(buffer, length, buffer.length - length);
+                if (read < 0) {
+                    eof = true;
+                    lexer.feed(view, 0, length);
+                    length = 0;
+                    lexer.finish();
+                    return;
+                }
+                int scanFrom = length;
+                length += read;
+
+                int lastNewline = -1;
+                for (int i = length - 1; i >= scanFrom; i--) {
+                    if (buffer[i] == '\n') {
+                        lastNewline = i;
+                        break;
+                    }
+                }
+                if (lastNewline < 0) {
+                    continue;
+                }
+                lexer.feed(view, 0, lastNewline + 1);
+                int remaining = length - (lastNewline + 1);
+                System.arraycopy(buffer, lastNewline + 1, buffer, 0, remaining);
+                length = remaining;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("채팅 파일을 읽는 중 오류가 발생했습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.capstone.SafeHug.service.chat;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * 큰 카카오톡 대화 내보내기를 여러 구간으로 나눠 ForkJoinPool 에서 병렬로 파싱합니다.
+ *
+ * PC 형식은 날짜 구분선 앞에서만 자르므로 각 구간이 자기 날짜를 가지고 시작하고,
+ * 모바일 형식은 줄마다 전체 날짜가 있으므로 아무 줄 경계에서나 자릅니다.
+ * 구간을 반으로 나누며 fork 하고, 결과는 왼쪽 → 오른쪽 순서로 이어 붙여 원래 순서를 유지합니다.
+ * 하루치 대화만 있는 PC 파일처럼 자를 곳이 없으면 한 구간으로 파싱합니다.
+ */
+@Slf4j
+@Component
+public class ParallelChatParser {
+
+    private final ForkJoinPool chatParsePool;
+
+    // 이보다 작은 구간은 더 나누지 않는다 (문자 수)
+    @Value("${analysis.parser.parallel.min-segment-chars:262144}")
+    private int minSegmentChars;
+
+    public ParallelChatParser(@Qualifier("chatParsePool") ForkJoinPool chatParsePool) {
+        this.chatParsePool = chatParsePool;
+    }
+
+    /**
+     * @param content 대화 내보내기 전체
+     * @return 파일 순서대로 정렬된 대화
+     */
+    public ParsedConversation parse(CharSequence content) {
+        long startTime = System.currentTimeMillis();
+        ChatFormat format = KakaoChatLexer.detectFormat(content);
+        if (format == ChatFormat.UNKNOWN) {
+            log.warn("알 수 없는 채팅 형식입니다.");
+            return ParsedConversation.builder().build();
+        }
+
+        int segmentChars = Math.max(minSegmentChars, content.length() / (chatParsePool.getParallelism() * 4));
+        ParsedConversation conversation = chatParsePool.invoke(
+                new SegmentTask(content, format, 0, content.length(), segmentChars));
+
+        log.info("총 {}개의 메시지가 병렬 파싱되었습니다. 채팅 형식: {}, 소요 시간: {}ms",
+                conversation.size(), format, System.currentTimeMillis() - startTime);
+        return conversation;
+    }
+
+    private static final class SegmentTask extends RecursiveTask<ParsedConversation> {
+        private final CharSequence content;
+        private final ChatFormat format;
+        private final int start;
+        private final int end;
+        private final int segmentChars;
+
+        private SegmentTask(CharSequence content, ChatFormat format, int start, int end, int segmentChars) {
+            this.content = content;
+            this.format = format;
+            this.start = start;
+            this.end = end;
+            this.segmentChars = segmentChars;
+        }
+
+        @Override
+        protected ParsedConversation compute() {
+            if (end - start > segmentChars) {
+                int split = findBoundary(start + (end - start) / 2);
+                if (split > start && split < end) {
+                    SegmentTask left = new SegmentTask(content, format, start, split, segmentChars);
+                    SegmentTask right = new SegmentTask(content, format, split, end, segmentChars);
+                    left.fork();
+                    ParsedConversation rightPart = right.compute();
+                    ParsedConversation leftPart = left.join();
+                    return ParsedConversation.builder()
+                            .append(leftPart)
+                            .append(rightPart)
+                            .build();
+                }
+            }
+            return parseSegment();
+        }
+
+        private ParsedConversation parseSegment() {
+            ParsedConversation.Builder builder = ParsedConversation.builder();
+            // 첫 구간은 헤더를 포함하므로 일반 렉서로 읽는다
+            KakaoChatLexer lexer = start == 0
+                    ? new KakaoChatLexer(builder)
+                    : KakaoChatLexer.forSegment(format, builder);
+            lexer.feed(content, start, end);
+            return builder.build();
+        }
+
+        // from 이후 첫 번째 자를 수 있는 줄의 시작 위치, 없으면 -1
+        private int findBoundary(int from) {
+            for (int i = from; i < end - 1; i++) {
+                if (content.charAt(i) != '\n') {
+                    continue;
+                }
+                if (format == ChatFormat.MOBILE || KakaoChatLexer.isDateSeparatorAt(content, i + 1, end)) {
+                    return i + 1;
+                }
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.capstone.SafeHug.service.chat;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 파서가 읽어 낸 메시지 한 건 (저장 전)
+ */
+@Getter
+@RequiredArgsConstructor
+public class ParsedChatMessage {
+    private final String sender;
+    private final LocalDateTime sentAt;
+    private final String message;
+}
@@ -0,0 +1,297 @@
+package com.capstone.SafeHug.service.chat;
+
+import com.capstone.SafeHug.common.RiskLevel;
+import com.capstone.SafeHug.common.RiskType;
+import com.capstone.SafeHug.entity.ChatMessage;
+import com.capstone.SafeHug.entity.ChatUpload;
+import com.capstone.SafeHug.entity.Risk;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 파싱된 대화를 열(column) 단위 배열로 담는 분석용 자료구조
+ *
+ * 메시지마다 엔티티 객체(보낸 사람 String, LocalDateTime, ArrayList&lt;Risk&gt;)를 두지 않고
+ * 보낸 사람은 사전 번호(int), 시각은 epoch 분(int), 본문은 공유 텍스트 버퍼의 오프셋,
+ * 위험 유형/수준은 byte 배열에 저장합니다. 집계는 배열을 순서대로 훑기만 하면 됩니다.
+ * 엔티티는 저장 시점에 materialize 로 만듭니다.
+ *
+ * 메시지당 위험 정보는 하나이며, 없으면 NO_RISK 입니다.
+ * 스레드 안전하지 않습니다.
+ */
+public final class ParsedConversation {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final byte NO_RISK = -1;
+    private static final RiskType[] RISK_TYPES = RiskType.values();
+    private static final RiskLevel[] RISK_LEVELS = RiskLevel.values();
+
+    private final int size;
+    private final String[] senders;
+    private final int[] senderIds;
+    private final int[] epochMinutes;
+    private final String text;
+    private final int[] textOffsets;    // 길이 size + 1, i 번째 본문은 [textOffsets[i], textOffsets[i + 1])
+    private final byte[] riskTypes;
+    private final byte[] riskLevels;
+    private final long[] messageIds;    // 저장 후 채워지는 엔티티 ID (0 이면 미저장)
+
+    private ParsedConversation(Builder builder) {
+        this.size = builder.size;
+        this.senders = builder.senders.toArray(new String[0]);
+        this.senderIds = Arrays.copyOf(builder.senderIds, size);
+        this.epochMinutes = Arrays.copyOf(builder.epochMinutes, size);
+        this.text = builder.text.toString();
+        this.textOffsets = Arrays.copyOf(builder.textOffsets, size + 1);
+        this.riskTypes = Arrays.copyOf(builder.riskTypes, size);
+        this.riskLevels = Arrays.copyOf(builder.riskLevels, size);
+        this.messageIds = Arrays.copyOf(builder.messageIds, size);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 이미 저장된 메시지 엔티티로부터 만듭니다. (저장된 분석 결과 조회용)
+     */
+    public static ParsedConversation fromMessages(List<ChatMessage> messages) {
+        Builder builder = new Builder();
+        for (ChatMessage message : messages) {
+            int i = builder.size;
+            builder.add(message.getSender(), message.getSentAt(), message.getMessage());
+            if (message.getId() != null) {
+                builder.messageIds[i] = message.getId();
+            }
+            RiskLevel highest = message.getHighestRiskLevel();
+            for (Risk risk : message.getRisks()) {
+                if (risk.getRiskLevel() == highest) {
+                    builder.riskTypes[i] = (byte) risk.getRiskType().ordinal();
+                    builder.riskLevels[i] = (byte) risk.getRiskLevel().ordinal();
+                    break;
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int getSenderCount() {
+        return senders.length;
+    }
+
+    /**
+     * @return 보낸 사람 사전 번호, 대화에 없는 이름이면 -1
+     */
+    public int findSenderId(String sender) {
+        for (int s = 0; s < senders.length; s++) {
+            if (senders[s].equals(sender)) {
+                return s;
+            }
+        }
+        return -1;
+    }
+
+    public int getSenderId(int index) {
+        return senderIds[index];
+    }
+
+    public String getSender(int index) {
+        return senders[senderIds[index]];
+    }
+
+    public int getEpochMinute(int index) {
+        return epochMinutes[index];
+    }
+
+    public LocalDateTime getSentAt(int index) {
+        return toDateTime(epochMinutes[index]);
+    }
+
+    public String getMessage(int index) {
+        return text.substring(textOffsets[index], textOffsets[index + 1]);
+    }
+
+    public int getMessageLength(int index) {
+        return textOffsets[index + 1] - textOffsets[index];
+    }
+
+    public boolean hasRisk(int index) {
+        return riskLevels[index] != NO_RISK;
+    }
+
+    /**
+     * @return 위험 유형, 위험 정보가 없으면 null
+     */
+    public RiskType getRiskType(int index) {
+        return riskTypes[index] == NO_RISK ? null : RISK_TYPES[riskTypes[index]];
+    }
+
+    /**
+     * @return 위험 수준, 위험 정보가 없으면 null
+     */
+    public RiskLevel getRiskLevel(int index) {
+        return riskLevels[index] == NO_RISK ? null : RISK_LEVELS[riskLevels[index]];
+    }
+
+    // ChatMessage.getHighestRiskLevel 과 같은 의미 (위험 정보가 없으면 NORMAL)
+    public RiskLevel getHighestRiskLevel(int index) {
+        return riskLevels[index] == NO_RISK ? RiskLevel.NORMAL : RISK_LEVELS[riskLevels[index]];
+    }
+
+    public void setRisk(int index, RiskType riskType, RiskLevel riskLevel) {
+        riskTypes[index] = (byte) riskType.ordinal();
+        riskLevels[index] = (byte) riskLevel.ordinal();
+    }
+
+    /**
+     * @return 저장된 메시지 ID, 아직 저장 전이면 null
+     */
+    public Long getMessageId(int index) {
+        return messageIds[index] == 0 ? null : messageIds[index];
+    }
+
+    /**
+     * [from, to) 구간의 메시지를 위험 정보와 함께 엔티티로 만듭니다.
+     */
+    public List<ChatMessage> materialize(int from, int to, ChatUpload chatUpload) {
+        List<ChatMessage> messages = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            ChatMessage message = new ChatMessage();
+            message.setSender(getSender(i));
+            message.setSentAt(getSentAt(i));
+            message.setMessage(getMessage(i));
+            message.setChatUpload(chatUpload);
+            if (hasRisk(i)) {
+                message.addRisk(getRiskType(i), getRiskLevel(i), null);
+            }
+            messages.add(message);
+        }
+        return messages;
+    }
+
+    /**
+     * materialize 로 만든 엔티티가 저장된 뒤 발급된 ID 를 기록합니다.
+     */
+    public void assignMessageIds(int from, List<ChatMessage> saved) {
+        for (int i = 0; i < saved.size(); i++) {
+            messageIds[from + i] = saved.get(i).getId();
+        }
+    }
+
+    static int toEpochMinute(LocalDateTime dateTime) {
+        return Math.toIntExact(dateTime.toLocalDate().toEpochDay() * MINUTES_PER_DAY
+                + dateTime.getHour() * 60L + dateTime.getMinute());
+    }
+
+    static LocalDateTime toDateTime(int epochMinute) {
+        LocalDate date = LocalDate.ofEpochDay(Math.floorDiv(epochMinute, MINUTES_PER_DAY));
+        int minuteOfDay = Math.floorMod(epochMinute, MINUTES_PER_DAY);
+        return LocalDateTime.of(date, LocalTime.of(minuteOfDay / 60, minuteOfDay % 60));
+    }
+
+    public static LocalDate toDate(int epochMinute) {
+        return LocalDate.ofEpochDay(Math.floorDiv(epochMinute, MINUTES_PER_DAY));
+    }
+
+    /**
+     * 메시지를 순서대로 추가하며 열 배열을 채웁니다. KakaoChatLexer 의 MessageHandler 로 바로 쓸 수 있습니다.
+     */
+    public static final class Builder implements KakaoChatLexer.MessageHandler {
+        private final List<String> senders = new ArrayList<>();
+        private final Map<String, Integer> senderDictionary = new HashMap<>();
+        private final StringBuilder text = new StringBuilder();
+        private int size;
+        private int[] senderIds = new int[64];
+        private int[] epochMinutes = new int[64];
+        private int[] textOffsets = new int[65];
+        private byte[] riskTypes = new byte[64];
+        private byte[] riskLevels = new byte[64];
+        private long[] messageIds = new long[64];
+
+        private Builder() {
+        }
+
+        @Override
+        public void onMessage(String sender, LocalDateTime sentAt, String message) {
+            add(sender, sentAt, message);
+        }
+
+        public Builder add(String sender, LocalDateTime sentAt, String message) {
+            ensureCapacity(size + 1);
+            senderIds[size] = senderDictionary.computeIfAbsent(sender, key -> {
+                senders.add(key);
+                return senders.size() - 1;
+            });
+            epochMinutes[size] = toEpochMinute(sentAt);
+            text.append(message);
+            textOffsets[size + 1] = text.length();
+            riskTypes[size] = NO_RISK;
+            riskLevels[size] = NO_RISK;
+            size++;
+            return this;
+        }
+
+        /**
+         * 다른 대화의 메시지를 뒤에 이어 붙입니다. (병렬 파싱 구간 병합용)
+         */
+        public Builder append(ParsedConversation other) {
+            ensureCapacity(size + other.size);
+            int[] senderMapping = new int[other.senders.length];
+            for (int s = 0; s < other.senders.length; s++) {
+                String sender = other.senders[s];
+                senderMapping[s] = senderDictionary.computeIfAbsent(sender, key -> {
+                    senders.add(key);
+                    return senders.size() - 1;
+                });
+            }
+            int textBase = text.length();
+            text.append(other.text);
+            for (int i = 0; i < other.size; i++) {
+                senderIds[size + i] = senderMapping[other.senderIds[i]];
+                textOffsets[size + i + 1] = textBase + other.textOffsets[i + 1];
+            }
+            System.arraycopy(other.epochMinutes, 0, epochMinutes, size, other.size);
+            System.arraycopy(other.riskTypes, 0, riskTypes, size, other.size);
+            System.arraycopy(other.riskLevels, 0, riskLevels, size, other.size);
+            System.arraycopy(other.messageIds, 0, messageIds, size, other.size);
+            size += other.size;
+            return this;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public ParsedConversation build() {
+            return new ParsedConversation(this);
+        }
+
+        private void ensureCapacity(int required) {
+            if (required <= senderIds.length) {
+                return;
+            }
+            int capacity = Math.max(required, senderIds.length + (senderIds.length >> 1));
+            senderIds = Arrays.copyOf(senderIds, capacity);
+            epochMinutes = Arrays.copyOf(epochMinutes, capacity);
+            textOffsets = Arrays.copyOf(textOffsets, capacity + 1);
+            riskTypes = Arrays.copyOf(riskTypes, capacity);
+            riskLevels = Arrays.copyOf(riskLevels, capacity);
+            messageIds = Arrays.copyOf(messageIds, capacity);
+        }
+    }
+}
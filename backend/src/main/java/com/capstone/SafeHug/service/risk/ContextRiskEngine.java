@@ -0,0 +1,49 @@
+package com.capstone.SafeHug.service.risk;
+
+import com.capstone.SafeHug.service.chat.ParsedConversation;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 맥락 기반 위험도 조정 엔진
+ *
+ * AI 분류가 끝난 대화를 처음부터 한 번만 훑으면서 등록된 ContextRule 을 메시지마다 적용합니다.
+ * 규칙은 크기와 시간이 제한된 ConversationWindow 만 보므로 전체 비용은 O(n × 규칙 수) 입니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ContextRiskEngine {
+
+    private final List<ContextRule> rules;
+
+    @Value("${analysis.context.window-size:20}")
+    private int windowSize;
+
+    @Value("${analysis.context.window-minutes:30}")
+    private int windowMinutes;
+
+    /**
+     * @param conversation AI 분류 결과가 기록된 대화
+     * @param userName     업로드한 사용자의 대화 내 이름 (ChatUpload.userName)
+     */
+    public void evaluate(ParsedConversation conversation, String userName) {
+        int userSenderId = userName != null ? conversation.findSenderId(userName.trim()) : -1;
+        if (userSenderId < 0) {
+            log.warn("대화 참여자 중 사용자를 찾을 수 없습니다. 사용자 기준 규칙은 건너뜁니다. - userName: {}", userName);
+        }
+
+        ConversationWindow window = new ConversationWindow(conversation, userSenderId, windowSize, windowMinutes);
+        for (int i = 0; i < conversation.size(); i++) {
+            window.enter(i);
+            for (ContextRule rule : rules) {
+                rule.apply(window, i);
+            }
+            window.leave(i);
+        }
+    }
+}
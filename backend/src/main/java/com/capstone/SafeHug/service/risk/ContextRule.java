@@ -0,0 +1,17 @@
+package com.capstone.SafeHug.service.risk;
+
+/**
+ * 앞뒤 대화 맥락을 보고 메시지 위험도를 조정하는 규칙
+ *
+ * ContextRiskEngine 이 대화를 처음부터 한 번 훑으면서 메시지마다 apply 를 호출합니다.
+ * 규칙은 상태를 갖지 않고, 필요한 맥락(최근 메시지 창, 마지막 거절 위치 등)은 ConversationWindow 에서 얻습니다.
+ * 창 크기가 고정되어 있으므로 규칙 하나는 대화 길이에 비례하는 시간에 끝나야 합니다.
+ */
+public interface ContextRule {
+
+    /**
+     * @param window 현재 메시지 이전까지의 맥락
+     * @param index  현재 메시지 위치
+     */
+    void apply(ConversationWindow window, int index);
+}
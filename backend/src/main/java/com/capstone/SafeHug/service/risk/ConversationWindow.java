@@ -0,0 +1,129 @@
+package com.capstone.SafeHug.service.risk;
+
+import com.capstone.SafeHug.common.RiskLevel;
+import com.capstone.SafeHug.common.RiskType;
+import com.capstone.SafeHug.service.chat.ParsedConversation;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+
+/**
+ * 규칙 평가 중 공유하는 대화 맥락
+ *
+ * 최근 메시지 위치를 메시지 수(maxSize)와 시간(maxMinutes)으로 제한한 deque 에 보관하고,
+ * 사용자의 마지막 거절 위치와 같은 보낸 사람의 연속 메시지 구간을 함께 추적합니다.
+ * 분석 한 번마다 새로 만들며 스레드 안전하지 않습니다.
+ */
+public final class ConversationWindow {
+
+    private final ParsedConversation conversation;
+    private final int userSenderId;
+    private final int maxSize;
+    private final int maxMinutes;
+    private final ArrayDeque<Integer> recent;
+
+    private int lastRejectionIndex = -1;
+    private int lastEscalatedIndex = -1;
+    private int runStart = -1;  // 현재 보낸 사람의 연속 메시지 구간 시작 위치
+
+    ConversationWindow(ParsedConversation conversation, int userSenderId, int maxSize, int maxMinutes) {
+        this.conversation = conversation;
+        this.userSenderId = userSenderId;
+        this.maxSize = maxSize;
+        this.maxMinutes = maxMinutes;
+        this.recent = new ArrayDeque<>(maxSize);
+    }
+
+    public ParsedConversation getConversation() {
+        return conversation;
+    }
+
+    /**
+     * @return 사용자를 대화 참여자 중에서 찾았는지 여부
+     */
+    public boolean hasUser() {
+        return userSenderId >= 0;
+    }
+
+    public boolean isUser(int index) {
+        return conversation.getSenderId(index) == userSenderId;
+    }
+
+    public boolean isRisk(int index, RiskType riskType) {
+        return conversation.getRiskType(index) == riskType;
+    }
+
+    /**
+     * 창 안에서 index 이전의 가장 가까운 상대방(사용자가 아닌 사람) 메시지 위치
+     * @return 없으면 -1
+     */
+    public int previousCounterpartMessage() {
+        Iterator<Integer> it = recent.descendingIterator();
+        while (it.hasNext()) {
+            int candidate = it.next();
+            if (!isUser(candidate)) {
+                return candidate;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return 창 안에 있는 사용자의 마지막 거절 메시지 위치, 없으면 -1
+     */
+    public int getLastRejectionIndex() {
+        return lastRejectionIndex;
+    }
+
+    /**
+     * @return 현재 메시지를 포함한, 같은 보낸 사람이 창의 시간 범위 안에서 연달아 보낸 메시지 수
+     */
+    public int currentRunLength(int index) {
+        return runStart < 0 ? 1 : index - runStart + 1;
+    }
+
+    /**
+     * 위험도를 한 단계 올립니다. 같은 메시지가 여러 규칙이나 연속된 거절로 중복 상향되지 않도록 한 번만 적용합니다.
+     */
+    public void escalate(int index, RiskType riskType) {
+        if (index == lastEscalatedIndex) {
+            return;
+        }
+        RiskLevel currentLevel = conversation.getHighestRiskLevel(index);
+        RiskLevel newLevel = switch (currentLevel) {
+            case NORMAL -> RiskLevel.LOW;
+            case LOW -> RiskLevel.MEDIUM;
+            case MEDIUM -> RiskLevel.HIGH;
+            default -> currentLevel;
+        };
+        conversation.setRisk(index, riskType, newLevel);
+        lastEscalatedIndex = index;
+    }
+
+    // 규칙 적용 전에 호출: 현재 메시지 기준으로 창 범위를 벗어난 항목을 정리하고 연속 구간을 갱신한다
+    void enter(int index) {
+        int now = conversation.getEpochMinute(index);
+        while (!recent.isEmpty()
+                && (recent.size() >= maxSize || now - conversation.getEpochMinute(recent.peekFirst()) > maxMinutes)) {
+            recent.pollFirst();
+        }
+        if (lastRejectionIndex >= 0 && (recent.isEmpty() || lastRejectionIndex < recent.peekFirst())) {
+            lastRejectionIndex = -1;
+        }
+
+        if (runStart < 0 || conversation.getSenderId(runStart) != conversation.getSenderId(index)) {
+            runStart = index;
+        }
+        while (now - conversation.getEpochMinute(runStart) > maxMinutes) {
+            runStart++;
+        }
+    }
+
+    // 규칙 적용 후에 호출: 현재 메시지를 창에 넣는다
+    void leave(int index) {
+        if (hasUser() && isUser(index) && isRisk(index, RiskType.REJECTION)) {
+            lastRejectionIndex = index;
+        }
+        recent.addLast(index);
+    }
+}
@@ -0,0 +1,24 @@
+package com.capstone.SafeHug.service.risk;
+
+import com.capstone.SafeHug.common.RiskType;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * 사용자가 거절했다면 직전의 상대방 메시지를 강요로 보고 위험도를 한 단계 올립니다.
+ */
+@Order(30)
+@Component
+public class RejectionEscalationRule implements ContextRule {
+
+    @Override
+    public void apply(ConversationWindow window, int index) {
+        if (!window.hasUser() || !window.isUser(index) || !window.isRisk(index, RiskType.REJECTION)) {
+            return;
+        }
+        int previous = window.previousCounterpartMessage();
+        if (previous >= 0) {
+            window.escalate(previous, RiskType.COERCION);
+        }
+    }
+}
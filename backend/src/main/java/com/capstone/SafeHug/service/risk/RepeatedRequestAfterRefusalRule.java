@@ -0,0 +1,25 @@
+package com.capstone.SafeHug.service.risk;
+
+import com.capstone.SafeHug.common.RiskType;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * 사용자가 거절한 뒤 창 안에서 상대방이 다시 위험한 메시지를 보내면 위험도를 한 단계 올립니다.
+ * 유형은 AI 분류 결과를 그대로 둡니다.
+ */
+@Order(20)
+@Component
+public class RepeatedRequestAfterRefusalRule implements ContextRule {
+
+    @Override
+    public void apply(ConversationWindow window, int index) {
+        if (window.getLastRejectionIndex() < 0 || window.isUser(index)) {
+            return;
+        }
+        RiskType riskType = window.getConversation().getRiskType(index);
+        if (riskType != null && riskType != RiskType.NORMAL && riskType != RiskType.REJECTION) {
+            window.escalate(index, riskType);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.capstone.SafeHug.service.risk;
+
+import com.capstone.SafeHug.common.RiskLevel;
+import com.capstone.SafeHug.common.RiskType;
+import com.capstone.SafeHug.service.chat.ParsedConversation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * 상대방 한 명이 답장 없이 짧은 시간에 메시지를 몰아서 보내면 스토킹 주의로 표시합니다.
+ * 이미 위험 정보가 있는 메시지는 건드리지 않습니다.
+ */
+@Order(10)
+@Component
+public class SenderBurstRule implements ContextRule {
+
+    @Value("${analysis.context.burst-threshold:15}")
+    private int burstThreshold;
+
+    @Override
+    public void apply(ConversationWindow window, int index) {
+        if (!window.hasUser() || window.isUser(index) || window.currentRunLength(index) < burstThreshold) {
+            return;
+        }
+        ParsedConversation conversation = window.getConversation();
+        RiskType riskType = conversation.getRiskType(index);
+        if (riskType == null || riskType == RiskType.NORMAL) {
+            conversation.setRisk(index, RiskType.STALKING, RiskLevel.LOW);
+        }
+    }
+}
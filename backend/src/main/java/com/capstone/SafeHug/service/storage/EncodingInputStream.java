@@ -0,0 +1,94 @@
+package com.capstone.SafeHug.service.storage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * 원본 스트림을 읽는 만큼 코덱으로 인코딩해 돌려주는 입력 스트림
+ * 인코더 출력을 업로드 쪽 읽기에 바로 이어 붙이므로 압축 결과 전체를 메모리에 모으지 않습니다.
+ * 한 번에 메모리에 있는 인코딩 바이트는 원본 한 조각을 인코딩한 분량뿐이며, 전체 길이는 끝까지 읽어야 알 수 있습니다.
+ */
+public class EncodingInputStream extends InputStream {
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private final InputStream source;
+    private final PendingBuffer pending = new PendingBuffer();
+    private final OutputStream encoder;
+    private final byte[] chunk = new byte[CHUNK_SIZE];
+    private int position;
+    private long encodedBytes;
+    private boolean finished;
+
+    public EncodingInputStream(InputStream source, StorageCodec codec) throws IOException {
+        this.source = source;
+        this.encoder = codec.encode(pending);
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] single = new byte[1];
+        int n = read(single, 0, 1);
+        return n < 0 ? -1 : single[0] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        while (position >= pending.size()) {
+            if (finished) {
+                return -1;
+            }
+            fill();
+        }
+        int n = Math.min(length, pending.size() - position);
+        System.arraycopy(pending.array(), position, buffer, offset, n);
+        position += n;
+        encodedBytes += n;
+        return n;
+    }
+
+    /**
+     * 지금까지 내보낸 인코딩 바이트 수 (끝까지 읽은 뒤에는 인코딩된 전체 길이)
+     */
+    public long getEncodedBytes() {
+        return encodedBytes;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (!finished) {
+                // 중간에 닫히는 경우에도 인코더(Deflater 등)의 자원을 바로 놓는다
+                finished = true;
+                encoder.close();
+            }
+        } finally {
+            source.close();
+        }
+    }
+
+    // 원본 한 조각을 인코더에 넣는다. 원본이 끝나면 인코더를 닫아 남은 바이트(gzip 트레일러 등)까지 꺼낸다
+    private void fill() throws IOException {
+        pending.reset();
+        position = 0;
+        int read = source.read(chunk);
+        if (read < 0) {
+            encoder.close();
+            finished = true;
+        } else {
+            encoder.write(chunk, 0, read);
+        }
+    }
+
+    // 복사 없이 내부 배열을 읽기 위한 버퍼
+    private static final class PendingBuffer extends ByteArrayOutputStream {
+        byte[] array() {
+            return buf;
+        }
+    }
+}
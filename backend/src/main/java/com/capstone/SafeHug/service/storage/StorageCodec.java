@@ -0,0 +1,67 @@
+package com.capstone.SafeHug.service.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * S3 객체 저장 코덱
+ * 사용한 코덱은 객체 사용자 메타데이터(x-amz-meta-storage-codec)에 기록하고,
+ * 메타데이터가 없는 기존 객체는 NONE 으로 취급해 그대로 읽습니다.
+ */
+public enum StorageCodec {
+    NONE("none") {
+        @Override
+        public OutputStream encode(OutputStream out) {
+            return out;
+        }
+
+        @Override
+        public InputStream decode(InputStream in) {
+            return in;
+        }
+    },
+    GZIP("gzip") {
+        @Override
+        public OutputStream encode(OutputStream out) throws IOException {
+            return new GZIPOutputStream(out, BUFFER_SIZE);
+        }
+
+        @Override
+        public InputStream decode(InputStream in) throws IOException {
+            return new GZIPInputStream(in, BUFFER_SIZE);
+        }
+    };
+
+    public static final String METADATA_KEY = "storage-codec";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final String metadataValue;
+
+    StorageCodec(String metadataValue) {
+        this.metadataValue = metadataValue;
+    }
+
+    public String getMetadataValue() {
+        return metadataValue;
+    }
+
+    public abstract OutputStream encode(OutputStream out) throws IOException;
+
+    public abstract InputStream decode(InputStream in) throws IOException;
+
+    public static StorageCodec fromMetadata(String value) {
+        if (value == null) {
+            return NONE;
+        }
+        for (StorageCodec codec : values()) {
+            if (codec.metadataValue.equalsIgnoreCase(value)) {
+                return codec;
+            }
+        }
+        throw new IllegalArgumentException("지원하지 않는 저장 코덱입니다: " + value);
+    }
+}
@@ -0,0 +1,16 @@
+package com.capstone.SafeHug.service.storage;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * S3에 저장된 채팅 파일과 업로드 중에 함께 읽어 둔 원본 바이트
+ * 분석 단계에서 같은 객체를 S3에서 다시 내려받지 않기 위해 사용합니다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class StoredChatFile {
+    private final String fileUrl;
+    private final byte[] content;
+    private final String contentHash;  // 원본 바이트의 SHA-256 (hex)
+}
@@ -0,0 +1,66 @@
+package com.capstone.SafeHug.service;
+
+import com.capstone.SafeHug.common.AnalysisStage;
+import com.capstone.SafeHug.dto.response.chat.AnalysisProgressEvent;
+import com.capstone.SafeHug.dto.response.chat.ChatAnalysisResponse;
+import com.capstone.SafeHug.service.chat.AnalysisProgressListener;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChatAnalysisJobServiceTest {
+
+	@Test
+	void finishedJobKeepsOnlyTheTerminalEvent() {
+		ChatAnalysisJobService.AnalysisJob job = new ChatAnalysisJobService.AnalysisJob("job-1", 1L);
+		AnalysisProgressListener listener = job.progressListener();
+		listener.onParsed(4);
+		listener.onBatchClassified(1, 2, 0, List.of(new ChatAnalysisResponse.MessageInfo(), new ChatAnalysisResponse.MessageInfo()));
+		listener.onBatchClassified(2, 2, 2, List.of(new ChatAnalysisResponse.MessageInfo(), new ChatAnalysisResponse.MessageInfo()));
+		assertThat(job.getEvents()).hasSize(3);
+
+		ChatAnalysisResponse result = new ChatAnalysisResponse();
+		job.complete(result);
+
+		assertThat(job.getEvents()).extracting(AnalysisProgressEvent::getStage).containsExactly(AnalysisStage.PERSISTED);
+		assertThat(job.getResult()).isSameAs(result);
+	}
+
+	@Test
+	void failedJobHasNoResult() {
+		ChatAnalysisJobService.AnalysisJob job = new ChatAnalysisJobService.AnalysisJob("job-2", 2L);
+		job.progressListener().onParsed(10);
+
+		job.fail("파싱 실패");
+
+		assertThat(job.getEvents()).extracting(AnalysisProgressEvent::getStage).containsExactly(AnalysisStage.FAILED);
+		assertThat(job.getResult()).isNull();
+		assertThat(job.getError()).isEqualTo("파싱 실패");
+	}
+
+	@Test
+	void evictionDropsOnlyExpiredFinishedJobs() {
+		ChatAnalysisJobService service = new ChatAnalysisJobService(null, null, new ThreadPoolTaskExecutor());
+		ReflectionTestUtils.setField(service, "retentionMinutes", -1L);
+
+		ChatAnalysisJobService.AnalysisJob finished = new ChatAnalysisJobService.AnalysisJob("done", 1L);
+		finished.complete(new ChatAnalysisResponse());
+		ChatAnalysisJobService.AnalysisJob running = new ChatAnalysisJobService.AnalysisJob("running", 2L);
+		running.markRunning();
+
+		@SuppressWarnings("unchecked")
+		Map<String, ChatAnalysisJobService.AnalysisJob> jobs =
+				(Map<String, ChatAnalysisJobService.AnalysisJob>) ReflectionTestUtils.getField(service, "jobs");
+		jobs.put(finished.getId(), finished);
+		jobs.put(running.getId(), running);
+
+		service.evictExpiredJobs();
+
+		assertThat(jobs).containsOnlyKeys("running");
+	}
+}
@@ -0,0 +1,99 @@
+package com.capstone.SafeHug.service;
+
+import com.capstone.SafeHug.dto.request.ClassifyRequest;
+import com.capstone.SafeHug.dto.response.AIAnalysisResponse;
+import com.capstone.SafeHug.service.ai.KeywordFallbackClassifier;
+import com.capstone.SafeHug.service.ai.MessageClassifier;
+import com.capstone.SafeHug.service.ai.RiskLexicon;
+import com.capstone.SafeHug.service.chat.ParsedConversation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TextAnalysisServiceTest {
+
+	private static final LocalDateTime START = LocalDateTime.of(2025, 5, 1, 21, 0);
+
+	private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+	private final CountDownLatch release = new CountDownLatch(1);
+	private TextAnalysisService service;
+
+	// AI 쪽이 밀려 응답하지 않는 분류기
+	private final MessageClassifier stalled = new MessageClassifier() {
+		@Override
+		public List<AIAnalysisResponse.MessageAnalysis> classify(List<ClassifyRequest.Message> batch) {
+			try {
+				release.await(10, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			throw new IllegalStateException("응답 없음");
+		}
+	};
+
+	@BeforeEach
+	void setUp() {
+		executor.setCorePoolSize(2);
+		executor.setMaxPoolSize(2);
+		executor.initialize();
+		service = new TextAnalysisService(stalled, new KeywordFallbackClassifier(new RiskLexicon()), executor);
+		ReflectionTestUtils.setField(service, "classifyBatchSize", 2);
+		ReflectionTestUtils.setField(service, "classifyMaxBatchChars", 65536);
+		ReflectionTestUtils.setField(service, "maxInFlight", 2);
+		ReflectionTestUtils.setField(service, "batchTimeoutSeconds", 1L);
+		ReflectionTestUtils.setField(service, "fallbackEnabled", true);
+	}
+
+	@AfterEach
+	void tearDown() {
+		release.countDown();
+		executor.shutdown();
+	}
+
+	@Test
+	void fallsBackForAllBatchesWhenResponsesTimeOut() {
+		ParsedConversation conversation = conversation("안녕", "싫어", "죽여버린다", "뭐해", "ㅋㅋ");
+		List<Integer> notifiedFrom = new ArrayList<>();
+
+		AIAnalysisResponse response = service.analyzeIndividualMessages(conversation,
+				(batch, totalBatches, from, to, results) -> notifiedFrom.add(from));
+
+		assertThat(response.isDegraded()).isTrue();
+		assertThat(response.getMessages()).extracting(AIAnalysisResponse.MessageAnalysis::getId)
+				.containsExactly(0, 1, 2, 3, 4);
+		assertThat(response.getMessages().get(1).getRisks().get(0).getType()).isEqualTo("REJECTION");
+		assertThat(response.getMessages().get(2).getRisks().get(0).getType()).isEqualTo("THREAT");
+		assertThat(notifiedFrom).containsExactlyInAnyOrder(0, 2, 4);
+		// 키워드는 AI 서버 상태와 관계없이 사전 매처로 센다 (거절/요구 신호 단어는 세지 않는다)
+		assertThat(response.getKeywords()).extracting(AIAnalysisResponse.KeywordAnalysis::getKeyword)
+				.containsExactlyInAnyOrder("싫어", "죽여");
+	}
+
+	@Test
+	void failsOnTimeoutWhenFallbackDisabled() {
+		ReflectionTestUtils.setField(service, "fallbackEnabled", false);
+
+		assertThatThrownBy(() -> service.analyzeIndividualMessages(conversation("안녕", "뭐해")))
+				.isInstanceOf(RuntimeException.class)
+				.hasMessageContaining("응답 시간 초과");
+	}
+
+	private static ParsedConversation conversation(String... messages) {
+		ParsedConversation.Builder builder = ParsedConversation.builder();
+		for (int i = 0; i < messages.length; i++) {
+			builder.add(i % 2 == 0 ? "상대" : "나", START.plusMinutes(i), messages[i]);
+		}
+		return builder.build();
+	}
+}
@@ -0,0 +1,94 @@
+package com.capstone.SafeHug.service.ai;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AhoCorasickMatcherTest {
+
+	@Test
+	void reportsOverlappingAndNestedPatterns() {
+		AhoCorasickMatcher matcher = AhoCorasickMatcher.compile(List.of("he", "she", "his", "hers"));
+		assertThat(matches(matcher, "ushers")).containsExactlyInAnyOrder(0, 1, 3);
+
+		AhoCorasickMatcher korean = AhoCorasickMatcher.compile(List.of("하지마", "지마", "마"));
+		assertThat(matches(korean, "하지마")).containsExactlyInAnyOrder(0, 1, 2);
+	}
+
+	@Test
+	void countsEveryOccurrence() {
+		AhoCorasickMatcher matcher = AhoCorasickMatcher.compile(List.of("ㅋㅋ"));
+		assertThat(matches(matcher, "ㅋㅋㅋ")).containsExactly(0, 0);
+	}
+
+	@Test
+	void ignoresWhitespaceAndCase() {
+		AhoCorasickMatcher matcher = AhoCorasickMatcher.compile(List.of("하지 마", "OK"));
+		assertThat(matches(matcher, "하 지마")).containsExactly(0);
+		assertThat(matches(matcher, "하\t지\n마")).containsExactly(0);
+		assertThat(matches(matcher, "o k?")).containsExactly(1);
+	}
+
+	@Test
+	void blankPatternsNeverMatch() {
+		AhoCorasickMatcher matcher = AhoCorasickMatcher.compile(List.of("", "  ", "사진"));
+		assertThat(matches(matcher, "사진 보내")).containsExactly(2);
+		assertThat(matcher.containsAny("안녕")).isFalse();
+		assertThat(matcher.containsAny("사 진")).isTrue();
+	}
+
+	@Test
+	void agreesWithBruteForceOnRandomInput() {
+		Random random = new Random(42);
+		for (int round = 0; round < 200; round++) {
+			List<String> patterns = new ArrayList<>();
+			for (int p = 0; p < 1 + random.nextInt(6); p++) {
+				patterns.add(randomText(random, 1 + random.nextInt(4)));
+			}
+			String text = randomText(random, random.nextInt(40));
+			AhoCorasickMatcher matcher = AhoCorasickMatcher.compile(patterns);
+
+			int[] counts = new int[patterns.size()];
+			matcher.scan(text, patternIndex -> counts[patternIndex]++);
+			for (int p = 0; p < patterns.size(); p++) {
+				assertThat(counts[p]).as("%s in %s", patterns.get(p), text)
+						.isEqualTo(bruteForceCount(patterns.get(p), text));
+			}
+			assertThat(matcher.containsAny(text)).isEqualTo(Arrays.stream(counts).anyMatch(c -> c > 0));
+		}
+	}
+
+	private static List<Integer> matches(AhoCorasickMatcher matcher, String text) {
+		List<Integer> found = new ArrayList<>();
+		matcher.scan(text, found::add);
+		return found;
+	}
+
+	private static String randomText(Random random, int length) {
+		String alphabet = "abAB 가";
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < length; i++) {
+			sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+		}
+		return sb.toString();
+	}
+
+	// 공백을 빼고 소문자로 바꾼 본문에서 겹치는 것까지 모두 센다
+	private static int bruteForceCount(String pattern, String text) {
+		String p = pattern.replaceAll("\\s", "").toLowerCase();
+		String t = text.replaceAll("\\s", "").toLowerCase();
+		if (p.isEmpty()) {
+			return 0;
+		}
+		int count = 0;
+		for (int i = t.indexOf(p); i >= 0; i = t.indexOf(p, i + 1)) {
+			count++;
+		}
+		return count;
+	}
+}
@@ -0,0 +1,96 @@
+package com.capstone.SafeHug.service.ai;
+
+import com.capstone.SafeHug.service.chat.ParsedConversation;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChatSummarizerTest {
+
+	private static final LocalDateTime START = LocalDateTime.of(2025, 5, 1, 9, 0);
+
+	@Test
+	void cutsAtLongestGapNearTarget() {
+		int[] minutes = new int[100];
+		for (int i = 1; i < minutes.length; i++) {
+			minutes[i] = minutes[i - 1] + (i == 52 ? 60 : 1);
+		}
+		int[] tokens = filled(100, 10);
+
+		int[] bounds = ChatSummarizer.splitSegments(conversation(minutes), tokens, 1000, 2);
+
+		assertThat(bounds).containsExactly(0, 52, 100);
+	}
+
+	@Test
+	void balancesByTokensNotMessageCount() {
+		int[] tokens = filled(100, 1);
+		Arrays.fill(tokens, 0, 10, 100);
+
+		int[] bounds = ChatSummarizer.splitSegments(conversation(evenMinutes(100)), tokens, total(tokens), 2);
+
+		// 토큰이 앞쪽 10개에 몰려 있으므로 메시지 수 기준 절반(50)보다 훨씬 앞에서 자른다
+		assertThat(bounds[1]).isBetween(1, 12);
+	}
+
+	@Test
+	void everySegmentHasAtLeastOneMessage() {
+		int[] bounds = ChatSummarizer.splitSegments(conversation(evenMinutes(3)), filled(3, 5), 15, 3);
+
+		assertThat(bounds).containsExactly(0, 1, 2, 3);
+	}
+
+	@Test
+	void boundsAreStrictlyIncreasingOnRandomInput() {
+		Random random = new Random(7);
+		for (int round = 0; round < 200; round++) {
+			int size = 2 + random.nextInt(300);
+			int segmentCount = 2 + random.nextInt(Math.min(8, size - 1));
+			int[] minutes = new int[size];
+			int[] tokens = new int[size];
+			for (int i = 0; i < size; i++) {
+				minutes[i] = i == 0 ? 0 : minutes[i - 1] + random.nextInt(120);
+				tokens[i] = 1 + random.nextInt(200);
+			}
+
+			int[] bounds = ChatSummarizer.splitSegments(conversation(minutes), tokens, total(tokens), segmentCount);
+
+			assertThat(bounds).hasSize(segmentCount + 1);
+			assertThat(bounds[0]).isZero();
+			assertThat(bounds[segmentCount]).isEqualTo(size);
+			for (int s = 0; s < segmentCount; s++) {
+				assertThat(bounds[s]).as("%s", Arrays.toString(bounds)).isLessThan(bounds[s + 1]);
+			}
+		}
+	}
+
+	private static ParsedConversation conversation(int[] minutes) {
+		ParsedConversation.Builder builder = ParsedConversation.builder();
+		for (int i = 0; i < minutes.length; i++) {
+			builder.add(i % 2 == 0 ? "홍길동" : "김철수", START.plusMinutes(minutes[i]), "메시지 " + i);
+		}
+		return builder.build();
+	}
+
+	private static int[] evenMinutes(int size) {
+		int[] minutes = new int[size];
+		for (int i = 0; i < size; i++) {
+			minutes[i] = i;
+		}
+		return minutes;
+	}
+
+	private static int[] filled(int size, int value) {
+		int[] values = new int[size];
+		Arrays.fill(values, value);
+		return values;
+	}
+
+	private static long total(int[] tokens) {
+		return Arrays.stream(tokens).asLongStream().sum();
+	}
+}
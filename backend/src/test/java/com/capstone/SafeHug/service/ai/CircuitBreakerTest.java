@@ -0,0 +1,80 @@
+package com.capstone.SafeHug.service.ai;
+
+import com.capstone.SafeHug.service.ai.CircuitBreaker.State;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+
+	@Test
+	void opensAfterConsecutiveFailures() {
+		CircuitBreaker breaker = new CircuitBreaker("test", 3, 60_000);
+
+		breaker.onFailure();
+		breaker.onFailure();
+		assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+		assertThat(breaker.tryAcquire()).isTrue();
+
+		breaker.onFailure();
+		assertThat(breaker.getState()).isEqualTo(State.OPEN);
+		assertThat(breaker.tryAcquire()).isFalse();
+	}
+
+	@Test
+	void successResetsFailureCount() {
+		CircuitBreaker breaker = new CircuitBreaker("test", 2, 60_000);
+
+		breaker.onFailure();
+		breaker.onSuccess();
+		breaker.onFailure();
+		assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+	}
+
+	@Test
+	void halfOpenAllowsSingleProbe() {
+		CircuitBreaker breaker = new CircuitBreaker("test", 1, 0);
+		breaker.onFailure();
+		assertThat(breaker.getState()).isEqualTo(State.OPEN);
+
+		// 차단 시간이 지나면 시험 호출 한 건만 통과한다
+		assertThat(breaker.tryAcquire()).isTrue();
+		assertThat(breaker.getState()).isEqualTo(State.HALF_OPEN);
+		assertThat(breaker.tryAcquire()).isFalse();
+	}
+
+	@Test
+	void probeSuccessCloses() {
+		CircuitBreaker breaker = new CircuitBreaker("test", 1, 0);
+		breaker.onFailure();
+		breaker.tryAcquire();
+
+		breaker.onSuccess();
+		assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+		assertThat(breaker.tryAcquire()).isTrue();
+		assertThat(breaker.tryAcquire()).isTrue();
+	}
+
+	@Test
+	void probeFailureReopens() {
+		CircuitBreaker breaker = new CircuitBreaker("test", 5, 0);
+		for (int i = 0; i < 5; i++) {
+			breaker.onFailure();
+		}
+		breaker.tryAcquire();
+		assertThat(breaker.getState()).isEqualTo(State.HALF_OPEN);
+
+		// 반열림 상태에서는 실패 한 번으로 다시 열린다
+		breaker.onFailure();
+		assertThat(breaker.getState()).isEqualTo(State.OPEN);
+	}
+
+	@Test
+	void staysOpenUntilOpenPeriodElapses() {
+		CircuitBreaker breaker = new CircuitBreaker("test", 1, 60_000);
+		breaker.onFailure();
+
+		assertThat(breaker.tryAcquire()).isFalse();
+		assertThat(breaker.getState()).isEqualTo(State.OPEN);
+	}
+}
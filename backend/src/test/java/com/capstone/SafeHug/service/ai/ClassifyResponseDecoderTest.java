@@ -0,0 +1,62 @@
+package com.capstone.SafeHug.service.ai;
+
+import com.capstone.SafeHug.dto.request.ClassifyRequest;
+import com.capstone.SafeHug.dto.response.AIAnalysisResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClassifyResponseDecoderTest {
+
+	private final ClassifyResponseDecoder decoder = new ClassifyResponseDecoder(new ObjectMapper());
+
+	private final List<ClassifyRequest.Message> batch = List.of(
+			new ClassifyRequest.Message(10, "사진 보내"),
+			new ClassifyRequest.Message(11, "싫어"));
+
+	@Test
+	void matchesRisksToRequestedMessagesById() throws IOException {
+		List<AIAnalysisResponse.MessageAnalysis> results = decode("""
+				{"messages": [
+				  {"id": 11, "message": "무시됨", "date": null, "risks": [{"type": "거절", "level": "주의"}]},
+				  {"id": 10, "risks": []}
+				], "extra": {"a": [1, 2]}}
+				""");
+
+		assertThat(results).extracting(AIAnalysisResponse.MessageAnalysis::getId).containsExactly(11, 10);
+		assertThat(results.get(0).getMessage()).isEqualTo("싫어");
+		assertThat(results.get(0).getRisks()).singleElement()
+				.satisfies(risk -> assertThat(risk.getType()).isEqualTo("거절"));
+		assertThat(results.get(1).getRisks()).isEmpty();
+	}
+
+	@Test
+	void skipsEntriesWithMissingOrUnknownId() throws IOException {
+		List<AIAnalysisResponse.MessageAnalysis> results = decode("""
+				{"messages": [
+				  {"risks": [{"type": "협박", "level": "심각"}]},
+				  {"id": null, "risks": []},
+				  {"id": 0, "risks": [{"type": "협박", "level": "심각"}]},
+				  {"id": 10, "risks": []}
+				]}
+				""");
+
+		assertThat(results).extracting(AIAnalysisResponse.MessageAnalysis::getId).containsExactly(10);
+	}
+
+	@Test
+	void returnsNullWithoutMessagesArray() throws IOException {
+		assertThat(decode("{\"status\": \"ok\"}")).isNull();
+		assertThat(decode("[]")).isNull();
+	}
+
+	private List<AIAnalysisResponse.MessageAnalysis> decode(String json) throws IOException {
+		return decoder.decode(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), batch);
+	}
+}
@@ -0,0 +1,100 @@
+package com.capstone.SafeHug.service.ai;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KoBertTokenizerTest {
+
+	// 줄 번호 = 토큰 id
+	private static final List<String> VOCAB = List.of(
+			"[UNK]\t0", "[CLS]\t0", "[SEP]\t0", "[PAD]\t0",
+			"▁\t-2", "▁안녕\t-3", "안녕\t-4", "▁사진\t-3", "▁사\t-5", "진\t-5", "▁보내\t-4", "줘\t-4", "?\t-3");
+	private static final int UNK = 0, CLS = 1, SEP = 2, SPACE = 4, HELLO = 5, PHOTO = 7, SEND = 10, GIVE = 11, QUESTION = 12;
+
+	private static KoBertTokenizer tokenizer;
+
+	@BeforeAll
+	static void setUp(@TempDir Path dir) throws Exception {
+		Path vocab = dir.resolve("vocab.tsv");
+		Files.write(vocab, VOCAB, StandardCharsets.UTF_8);
+		tokenizer = KoBertTokenizer.load(vocab);
+	}
+
+	@Test
+	void wrapsPiecesWithClsAndSep() {
+		assertThat(tokenizer.encode("안녕?", 512)).containsExactly(CLS, HELLO, QUESTION, SEP);
+		assertThat(tokenizer.getPadId()).isEqualTo(3);
+	}
+
+	@Test
+	void picksSegmentationWithHighestScore() {
+		// ▁사진(-3) 이 ▁사 + 진(-10) 보다 점수가 높다
+		assertThat(tokenizer.encode("사진", 512)).containsExactly(CLS, PHOTO, SEP);
+	}
+
+	@Test
+	void collapsesWhitespace() {
+		assertThat(tokenizer.encode("  사진   보내줘 ", 512)).containsExactly(CLS, PHOTO, SEND, GIVE, SEP);
+	}
+
+	@Test
+	void mergesConsecutiveUnknownCharacters() {
+		assertThat(tokenizer.encode("안녕 😭😭", 512)).containsExactly(CLS, HELLO, SPACE, UNK, SEP);
+	}
+
+	@Test
+	void truncatesToMaxLength() {
+		assertThat(tokenizer.encode("사진 보내줘", 4)).containsExactly(CLS, PHOTO, SEND, SEP);
+	}
+
+	@Test
+	void normalizesFullWidthCharacters() {
+		assertThat(KoBertTokenizer.normalize("ＯＫ  알겠어")).isEqualTo("OK 알겠어");
+	}
+
+	/**
+	 * export_onnx.py 가 Python 토크나이저로 만든 기대값(kobert/kobert_tokens.json)과
+	 * 같은 어휘 파일(kobert/kobert_vocab.tsv)로 Java 토크나이저의 결과를 비교합니다.
+	 * 어휘 파일은 샘플 문장에 필요한 조각만 남겨 줄인 것이며, 모델을 다시 내보내면 갱신됩니다.
+	 */
+	@Test
+	void matchesPythonTokenizerOnExportedSamples() throws Exception {
+		URL vocab = getClass().getClassLoader().getResource("kobert/kobert_vocab.tsv");
+		URL expected = getClass().getClassLoader().getResource("kobert/kobert_tokens.json");
+		assertThat(vocab).as("kobert/kobert_vocab.tsv").isNotNull();
+		assertThat(expected).as("kobert/kobert_tokens.json").isNotNull();
+
+		KoBertTokenizer exported = KoBertTokenizer.load(toPath(vocab));
+		JsonNode root;
+		try (InputStream in = expected.openStream()) {
+			root = new ObjectMapper().readTree(in);
+		}
+		int maxLength = root.get("max_length").asInt();
+		assertThat(root.get("samples")).isNotEmpty();
+		for (JsonNode sample : root.get("samples")) {
+			String text = sample.get("text").asText();
+			int[] ids = new int[sample.get("input_ids").size()];
+			for (int i = 0; i < ids.length; i++) {
+				ids[i] = sample.get("input_ids").get(i).asInt();
+			}
+			assertThat(exported.encode(text, maxLength)).as(text).containsExactly(ids);
+		}
+	}
+
+	private static Path toPath(URL url) throws URISyntaxException {
+		return Path.of(url.toURI());
+	}
+}
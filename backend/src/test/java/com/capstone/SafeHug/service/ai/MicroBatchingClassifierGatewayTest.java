@@ -0,0 +1,91 @@
+package com.capstone.SafeHug.service.ai;
+
+import com.capstone.SafeHug.dto.request.ClassifyRequest;
+import com.capstone.SafeHug.dto.response.AIAnalysisResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MicroBatchingClassifierGatewayTest {
+
+	private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+	private MicroBatchingClassifierGateway gateway;
+
+	@AfterEach
+	void tearDown() {
+		gateway.shutdown();
+		executor.shutdown();
+	}
+
+	@Test
+	void returnsResultsWithOriginalIds() {
+		List<Integer> sentSizes = new ArrayList<>();
+		gateway = gateway(batch -> {
+			sentSizes.add(batch.size());
+			return batch.stream().map(message -> analysis(message.getId(), message.getMessage())).toList();
+		}, 45_000);
+
+		List<AIAnalysisResponse.MessageAnalysis> results = gateway.classify(List.of(
+				new ClassifyRequest.Message(7, "안녕"), new ClassifyRequest.Message(8, "뭐해")));
+
+		assertThat(results).extracting(AIAnalysisResponse.MessageAnalysis::getId).containsExactly(7, 8);
+		assertThat(results).extracting(AIAnalysisResponse.MessageAnalysis::getMessage).containsExactly("안녕", "뭐해");
+		assertThat(sentSizes).containsExactly(2);
+	}
+
+	@Test
+	void givesUpAfterCallTimeoutInsteadOfWaitingForQueue() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		gateway = gateway(batch -> {
+			try {
+				release.await(10, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return List.of();
+		}, 200);
+
+		long start = System.nanoTime();
+		try {
+			assertThatThrownBy(() -> gateway.classify(List.of(new ClassifyRequest.Message(0, "안녕"))))
+					.isInstanceOf(RuntimeException.class)
+					.hasMessageContaining("시간 초과");
+			assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(5_000);
+		} finally {
+			release.countDown();
+		}
+	}
+
+	private MicroBatchingClassifierGateway gateway(Function<List<ClassifyRequest.Message>, List<AIAnalysisResponse.MessageAnalysis>> backend,
+												   long callTimeoutMs) {
+		executor.setCorePoolSize(1);
+		executor.setMaxPoolSize(1);
+		executor.initialize();
+		MessageClassifier delegate = backend::apply;
+		MicroBatchingClassifierGateway created = new MicroBatchingClassifierGateway(delegate, executor);
+		ReflectionTestUtils.setField(created, "enabled", true);
+		ReflectionTestUtils.setField(created, "maxBatchSize", 256);
+		ReflectionTestUtils.setField(created, "maxBatchChars", 65536);
+		ReflectionTestUtils.setField(created, "maxWaitMs", 20L);
+		ReflectionTestUtils.setField(created, "callTimeoutMs", callTimeoutMs);
+		return created;
+	}
+
+	private static AIAnalysisResponse.MessageAnalysis analysis(int id, String message) {
+		AIAnalysisResponse.MessageAnalysis analysis = new AIAnalysisResponse.MessageAnalysis();
+		analysis.setId(id);
+		analysis.setMessage(message);
+		analysis.setRisks(List.of());
+		return analysis;
+	}
+}
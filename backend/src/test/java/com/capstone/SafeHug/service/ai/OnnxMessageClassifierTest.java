@@ -0,0 +1,85 @@
+package com.capstone.SafeHug.service.ai;
+
+import com.capstone.SafeHug.dto.common.MessageRisk;
+import com.capstone.SafeHug.dto.request.ClassifyRequest;
+import com.capstone.SafeHug.dto.response.AIAnalysisResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OnnxMessageClassifierTest {
+
+	// ai_server.py 의 id2label 순서
+	private static final int SEXUAL = 0, THREAT = 3, INSULT = 6, REJECTION = 7, NORMAL = 8;
+
+	@Test
+	void appliesSigmoidBeforeThresholds() {
+		// 출력 0.5 는 sigmoid 를 거치면 약 0.62 → HIGH (sigmoid 없이 비교하면 임계값 미만)
+		float[] output = outputs();
+		output[SEXUAL] = 0.5f;
+
+		assertThat(risks(output)).containsExactly("SEXUAL:HIGH");
+	}
+
+	@Test
+	void picksLevelFromHighestProbability() {
+		assertThat(risks(withProbability(THREAT, 0.61))).containsExactly("THREAT:HIGH");
+		assertThat(risks(withProbability(THREAT, 0.59))).containsExactly("THREAT:MEDIUM");
+		assertThat(risks(withProbability(THREAT, 0.56))).containsExactly("THREAT:MEDIUM");
+		assertThat(risks(withProbability(THREAT, 0.54))).containsExactly("THREAT:LOW");
+		assertThat(risks(withProbability(THREAT, 0.52))).containsExactly("NORMAL:NORMAL");
+	}
+
+	@Test
+	void reportsEveryTypeAboveTypeThresholdAtTheSharedLevel() {
+		float[] output = withProbability(SEXUAL, 0.8);
+		output[INSULT] = logit(0.535);
+		output[REJECTION] = logit(0.525);
+
+		assertThat(risks(output)).containsExactly("SEXUAL:HIGH", "INSULT:HIGH");
+	}
+
+	@Test
+	void normalLabelRaisesLevelButIsNotReportedAsType() {
+		// 일반 레이블은 위험 유형에서 빠지므로 다른 유형이 없으면 NORMAL 하나만 남는다
+		assertThat(risks(withProbability(NORMAL, 0.95))).containsExactly("NORMAL:NORMAL");
+
+		float[] output = withProbability(NORMAL, 0.95);
+		output[INSULT] = logit(0.54);
+		assertThat(risks(output)).containsExactly("INSULT:HIGH");
+	}
+
+	@Test
+	void keepsMessageIdAndText() {
+		AIAnalysisResponse.MessageAnalysis analysis =
+				OnnxMessageClassifier.toAnalysis(new ClassifyRequest.Message(7, "안녕"), outputs());
+
+		assertThat(analysis.getId()).isEqualTo(7);
+		assertThat(analysis.getMessage()).isEqualTo("안녕");
+	}
+
+	private static List<String> risks(float[] output) {
+		List<MessageRisk> risks = OnnxMessageClassifier.toAnalysis(new ClassifyRequest.Message(0, "메시지"), output).getRisks();
+		return risks.stream().map(risk -> risk.getType() + ":" + risk.getLevel()).toList();
+	}
+
+	private static float[] withProbability(int label, double probability) {
+		float[] output = outputs();
+		output[label] = logit(probability);
+		return output;
+	}
+
+	// 모든 레이블이 낮은 출력 (sigmoid 후 약 0.007)
+	private static float[] outputs() {
+		float[] output = new float[9];
+		Arrays.fill(output, -5f);
+		return output;
+	}
+
+	private static float logit(double probability) {
+		return (float) Math.log(probability / (1 - probability));
+	}
+}
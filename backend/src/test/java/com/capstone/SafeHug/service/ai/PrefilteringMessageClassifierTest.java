@@ -0,0 +1,59 @@
+package com.capstone.SafeHug.service.ai;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrefilteringMessageClassifierTest {
+
+	private PrefilteringMessageClassifier prefilter;
+
+	@BeforeEach
+	void setUp() {
+		prefilter = new PrefilteringMessageClassifier(null, new RiskLexicon());
+		ReflectionTestUtils.setField(prefilter, "enabled", true);
+		ReflectionTestUtils.setField(prefilter, "maxBenignLength", 12);
+	}
+
+	@Test
+	void shortMessagesWithoutSignalAreBenign() {
+		assertThat(prefilter.isBenign("안녕 뭐해?")).isTrue();
+		assertThat(prefilter.isBenign("점심 먹었어")).isTrue();
+		assertThat(prefilter.isBenign("ㅇㅋ")).isTrue();
+	}
+
+	@Test
+	void reactionsAndPlaceholdersAreBenignAtAnyLength() {
+		assertThat(prefilter.isBenign("ㅋㅋㅋㅋㅋㅋㅋㅋㅋㅋㅋㅋㅋㅋㅋㅋㅋㅋㅋㅋ")).isTrue();
+		assertThat(prefilter.isBenign("ㅠㅠ")).isTrue();
+		assertThat(prefilter.isBenign("ㅎㅎ!")).isTrue();
+		assertThat(prefilter.isBenign("사진")).isTrue();
+		assertThat(prefilter.isBenign("사진 3장")).isTrue();
+		assertThat(prefilter.isBenign("이모티콘")).isTrue();
+	}
+
+	@Test
+	void shortRefusalsAndRequestsGoToModel() {
+		assertThat(prefilter.isBenign("안돼")).isFalse();
+		assertThat(prefilter.isBenign("아니")).isFalse();
+		assertThat(prefilter.isBenign("그만")).isFalse();
+		assertThat(prefilter.isBenign("싫은데")).isFalse();
+		assertThat(prefilter.isBenign("안 할래")).isFalse();
+		assertThat(prefilter.isBenign("ㄴㄴ")).isFalse();
+		assertThat(prefilter.isBenign("사진 보내")).isFalse();
+		assertThat(prefilter.isBenign("빨리 와")).isFalse();
+		assertThat(prefilter.isBenign("")).isFalse();
+	}
+
+	@Test
+	void riskKeywordsAndLongMessagesGoToModel() {
+		assertThat(prefilter.isBenign("어디야")).isFalse();
+		assertThat(prefilter.isBenign("ㅅㅂ")).isFalse();
+		assertThat(prefilter.isBenign("오늘 저녁에 뭐 먹을지 고민 중이야")).isFalse();
+
+		ReflectionTestUtils.setField(prefilter, "maxBenignLength", 40);
+		assertThat(prefilter.isBenign("오늘 저녁에 뭐 먹을지 고민 중이야")).isTrue();
+	}
+}
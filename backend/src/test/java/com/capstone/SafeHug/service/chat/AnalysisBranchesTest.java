@@ -0,0 +1,52 @@
+package com.capstone.SafeHug.service.chat;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AnalysisBranchesTest {
+
+	@Test
+	void failingBranchCancelsSiblings() {
+		try (AnalysisBranches branches = new AnalysisBranches()) {
+			Future<String> slow = branches.fork(() -> {
+				Thread.sleep(10_000);
+				return "늦은 결과";
+			});
+			Future<String> failing = branches.fork(() -> {
+				throw new IllegalStateException("분류 실패");
+			});
+
+			assertThatThrownBy(() -> branches.join(failing)).hasMessage("분류 실패");
+			assertThatThrownBy(() -> branches.join(slow)).hasMessage("분류 실패");
+			assertThat(slow.isCancelled()).isTrue();
+		}
+	}
+
+	@Test
+	void closeWaitsForCancelledBranchesToExit() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch exited = new CountDownLatch(1);
+
+		try (AnalysisBranches branches = new AnalysisBranches()) {
+			branches.fork(() -> {
+				started.countDown();
+				try {
+					Thread.sleep(10_000);
+				} finally {
+					exited.countDown();
+				}
+				return null;
+			});
+			assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+		}
+
+		// 범위를 벗어날 때 인터럽트된 단계가 빠져나올 때까지 기다렸어야 한다
+		assertThat(exited.await(0, TimeUnit.MILLISECONDS)).isTrue();
+	}
+}
@@ -0,0 +1,99 @@
+package com.capstone.SafeHug.service.chat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AnalysisSingleFlightTest {
+
+	private final AnalysisSingleFlight singleFlight = new AnalysisSingleFlight();
+	private ExecutorService executor;
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(singleFlight, "waitTimeoutSeconds", 30L);
+		executor = Executors.newSingleThreadExecutor();
+	}
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	void followerRunsAfterLeaderWithoutHoldingExecutorThread() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		List<String> order = new CopyOnWriteArrayList<>();
+
+		CompletableFuture<String> leader = singleFlight.executeAsync("key", () -> {
+			await(release);
+			order.add("leader");
+			return "leader";
+		}, executor);
+		CompletableFuture<String> follower = singleFlight.executeAsync("key", () -> {
+			order.add("follower");
+			return "follower";
+		}, executor);
+
+		assertThat(follower).isNotDone();
+		release.countDown();
+
+		assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("leader");
+		assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("follower");
+		assertThat(order).containsExactly("leader", "follower");
+	}
+
+	@Test
+	void followerRetriesWhenLeaderFails() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+
+		CompletableFuture<String> leader = singleFlight.executeAsync("key", () -> {
+			await(release);
+			throw new IllegalStateException("실패");
+		}, executor);
+		CompletableFuture<String> follower = singleFlight.executeAsync("key", () -> "follower", executor);
+		release.countDown();
+
+		assertThat(leader).failsWithin(5, TimeUnit.SECONDS);
+		assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("follower");
+	}
+
+	@Test
+	void differentKeysAreNotMerged() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(2);
+		try {
+			CompletableFuture<String> first = singleFlight.executeAsync("a", () -> {
+				await(release);
+				return "a";
+			}, pool);
+			CompletableFuture<String> second = singleFlight.executeAsync("b", () -> "b", pool);
+
+			assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("b");
+			assertThat(first).isNotDone();
+			release.countDown();
+			assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("a");
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,161 @@
+package com.capstone.SafeHug.service.chat;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KakaoChatLexerTest {
+
+	@Test
+	void matchesRegexParserOnPcExport() throws IOException {
+		String content = resource("chat/pc_export.txt");
+
+		List<ParsedChatMessage> expected = LegacyRegexParser.parse(content);
+		List<ParsedChatMessage> actual = scan(content);
+
+		assertThat(KakaoChatLexer.detectFormat(content)).isEqualTo(ChatFormat.PC);
+		assertThat(actual).hasSize(expected.size()).hasSize(9);
+		for (int i = 0; i < expected.size(); i++) {
+			assertThat(actual.get(i).getSender()).isEqualTo(expected.get(i).getSender());
+			assertThat(actual.get(i).getMessage()).isEqualTo(expected.get(i).getMessage());
+			// 예전 파서는 PC 메시지에 오늘 날짜를 붙였으므로 시각만 비교한다
+			assertThat(actual.get(i).getSentAt().toLocalTime()).isEqualTo(expected.get(i).getSentAt().toLocalTime());
+		}
+	}
+
+	@Test
+	void pcMessagesTakeDateFromPrecedingSeparator() throws IOException {
+		List<ParsedChatMessage> messages = scan(resource("chat/pc_export.txt"));
+
+		assertThat(messages.get(0).getSentAt()).isEqualTo(LocalDateTime.of(2025, 5, 1, 0, 5));
+		assertThat(messages.get(1).getSentAt()).isEqualTo(LocalDateTime.of(2025, 5, 1, 12, 30));
+		assertThat(messages.get(6).getSentAt()).isEqualTo(LocalDateTime.of(2025, 5, 2, 1, 2));
+		assertThat(messages.get(3).getSender()).isEqualTo("이름 [별명]");
+		assertThat(messages.get(8).getMessage()).isEqualTo("[대괄호] 로 시작하는 메시지");
+	}
+
+	@Test
+	void matchesRegexParserOnMobileExport() throws IOException {
+		String content = resource("chat/mobile_export.txt");
+
+		List<ParsedChatMessage> expected = LegacyRegexParser.parse(content);
+		List<ParsedChatMessage> actual = scan(content);
+
+		assertThat(KakaoChatLexer.detectFormat(content)).isEqualTo(ChatFormat.MOBILE);
+		assertThat(actual).hasSize(expected.size()).hasSize(6);
+		for (int i = 0; i < expected.size(); i++) {
+			assertThat(actual.get(i).getSender()).isEqualTo(expected.get(i).getSender());
+			assertThat(actual.get(i).getMessage()).isEqualTo(expected.get(i).getMessage());
+			assertThat(actual.get(i).getSentAt()).isEqualTo(expected.get(i).getSentAt());
+		}
+	}
+
+	@Test
+	void ignoresCarriageReturnsAndBom() throws IOException {
+		String content = resource("chat/mobile_export.txt");
+		String windows = "﻿" + content.replace("\n", "\r\n");
+
+		assertThat(scan(windows))
+				.extracting(ParsedChatMessage::getMessage)
+				.containsExactlyElementsOf(scan(content).stream().map(ParsedChatMessage::getMessage).toList());
+	}
+
+	@Test
+	void unknownFormatYieldsNoMessages() {
+		String content = "그냥 텍스트 파일\n2025년 5월 1일 오전 12:05, 홍길동 : 안녕\n";
+
+		assertThat(KakaoChatLexer.detectFormat(content)).isEqualTo(ChatFormat.UNKNOWN);
+		assertThat(scan(content)).isEmpty();
+	}
+
+	private static List<ParsedChatMessage> scan(String content) {
+		List<ParsedChatMessage> messages = new ArrayList<>();
+		KakaoChatLexer.scan(content, (sender, sentAt, message) -> messages.add(new ParsedChatMessage(sender, sentAt, message)));
+		return messages;
+	}
+
+	private static String resource(String name) throws IOException {
+		try (InputStream in = KakaoChatLexerTest.class.getClassLoader().getResourceAsStream(name)) {
+			assertThat(in).as(name).isNotNull();
+			return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+		}
+	}
+
+	/**
+	 * KakaoChatLexer 로 바꾸기 전 ChatAnalysisService 의 정규식 파서 (비교 기준)
+	 */
+	private static final class LegacyRegexParser {
+
+		private static final Pattern PC_MESSAGE_PATTERN = Pattern.compile("\\[(.*?)\\]\\s*\\[(오전|오후)\\s*(\\d{1,2}:\\d{2})\\]\\s*(.*?)(?=\\n|$)");
+		private static final Pattern MOBILE_MESSAGE_PATTERN = Pattern.compile("(\\d{4}년 \\d{1,2}월 \\d{1,2}일 (오전|오후) \\d{1,2}:\\d{2}),\\s*(.*?)\\s*:\\s*(.*?)(?=\\n\\d{4}년|$)");
+		private static final Pattern PC_CHATROOM_INFO_PATTERN = Pattern.compile("(.*?) 님과 카카오톡 대화\\n저장한 날짜 : (\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}:\\d{2})");
+		private static final Pattern MOBILE_CHATROOM_INFO_PATTERN = Pattern.compile("(.*?) 님과 카카오톡 대화\\n저장한 날짜 : (\\d{4}년 \\d{1,2}월 \\d{1,2}일 (오전|오후) \\d{1,2}:\\d{2})");
+		private static final DateTimeFormatter MOBILE_DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy년 M월 d일 a h:mm", Locale.KOREAN);
+
+		static List<ParsedChatMessage> parse(String chatContent) {
+			List<ParsedChatMessage> parsed = new ArrayList<>();
+			ChatFormat chatFormat = detectChatFormat(chatContent);
+			LocalDate currentDate = LocalDate.now();
+
+			for (String line : chatContent.split("\n")) {
+				if (line.trim().isEmpty()) continue;
+
+				if (chatFormat == ChatFormat.PC) {
+					Matcher pcMatcher = PC_MESSAGE_PATTERN.matcher(line);
+					if (pcMatcher.find()) {
+						parsed.add(new ParsedChatMessage(pcMatcher.group(1),
+								parsePcDateTime(currentDate, pcMatcher.group(2), pcMatcher.group(3)),
+								pcMatcher.group(4).trim()));
+					}
+				}
+				if (chatFormat == ChatFormat.MOBILE) {
+					Matcher mobileMatcher = MOBILE_MESSAGE_PATTERN.matcher(line);
+					if (mobileMatcher.find()) {
+						parsed.add(new ParsedChatMessage(mobileMatcher.group(3),
+								LocalDateTime.parse(mobileMatcher.group(1), MOBILE_DATE_FORMATTER),
+								mobileMatcher.group(4).trim()));
+					}
+				}
+			}
+			return parsed;
+		}
+
+		private static LocalDateTime parsePcDateTime(LocalDate date, String amPm, String time) {
+			String[] timeParts = time.split(":");
+			int hour = Integer.parseInt(timeParts[0]);
+			int minute = Integer.parseInt(timeParts[1]);
+			if (amPm.equals("오후") && hour != 12) {
+				hour += 12;
+			} else if (amPm.equals("오전") && hour == 12) {
+				hour = 0;
+			}
+			return date.atTime(hour, minute);
+		}
+
+		private static ChatFormat detectChatFormat(String chatContent) {
+			String[] lines = chatContent.split("\n");
+			if (lines.length < 2) {
+				return ChatFormat.UNKNOWN;
+			}
+			String chatRoomInfo = lines[0] + "\n" + lines[1];
+			if (PC_CHATROOM_INFO_PATTERN.matcher(chatRoomInfo).matches()) {
+				return ChatFormat.PC;
+			} else if (MOBILE_CHATROOM_INFO_PATTERN.matcher(chatRoomInfo).matches()) {
+				return ChatFormat.MOBILE;
+			}
+			return ChatFormat.UNKNOWN;
+		}
+	}
+}
@@ -0,0 +1,90 @@
+package com.capstone.SafeHug.service.chat;
+
+import com.capstone.SafeHug.common.RiskLevel;
+import com.capstone.SafeHug.common.RiskType;
+import com.capstone.SafeHug.entity.ChatMessage;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ParsedConversationTest {
+
+	private static final LocalDateTime START = LocalDateTime.of(2025, 5, 1, 23, 58);
+
+	@Test
+	void keepsColumnsInOrderAcrossGrowth() {
+		ParsedConversation.Builder builder = ParsedConversation.builder();
+		for (int i = 0; i < 200; i++) {
+			builder.add(i % 2 == 0 ? "홍길동" : "김철수", START.plusMinutes(i), "메시지 " + i);
+		}
+		ParsedConversation conversation = builder.build();
+
+		assertThat(conversation.size()).isEqualTo(200);
+		assertThat(conversation.getSenderCount()).isEqualTo(2);
+		assertThat(conversation.getSender(199)).isEqualTo("김철수");
+		assertThat(conversation.getSentAt(3)).isEqualTo(LocalDateTime.of(2025, 5, 2, 0, 1));
+		assertThat(conversation.getMessage(150)).isEqualTo("메시지 150");
+		assertThat(conversation.getMessageLength(150)).isEqualTo("메시지 150".length());
+		assertThat(conversation.findSenderId("홍길동")).isEqualTo(conversation.getSenderId(0));
+		assertThat(conversation.findSenderId("없는 사람")).isEqualTo(-1);
+	}
+
+	@Test
+	void epochMinuteRoundTripsBeforeEpoch() {
+		LocalDateTime old = LocalDateTime.of(1969, 12, 31, 23, 59);
+		assertThat(ParsedConversation.toDateTime(ParsedConversation.toEpochMinute(old))).isEqualTo(old);
+		assertThat(ParsedConversation.toDate(ParsedConversation.toEpochMinute(START))).isEqualTo(START.toLocalDate());
+	}
+
+	@Test
+	void appendRemapsSendersAndTextOffsets() {
+		ParsedConversation left = ParsedConversation.builder()
+				.add("홍길동", START, "안녕")
+				.add("김철수", START, "")
+				.build();
+		ParsedConversation right = ParsedConversation.builder()
+				.add("이영희", START.plusDays(1), "처음")
+				.add("홍길동", START.plusDays(1), "다시")
+				.build();
+		right.setRisk(0, RiskType.THREAT, RiskLevel.HIGH);
+
+		ParsedConversation merged = ParsedConversation.builder().append(left).append(right).build();
+
+		assertThat(merged.size()).isEqualTo(4);
+		assertThat(merged.getSenderCount()).isEqualTo(3);
+		assertThat(merged.getSenderId(3)).isEqualTo(merged.getSenderId(0));
+		assertThat(List.of(merged.getMessage(0), merged.getMessage(1), merged.getMessage(2), merged.getMessage(3)))
+				.containsExactly("안녕", "", "처음", "다시");
+		assertThat(merged.getRiskType(2)).isEqualTo(RiskType.THREAT);
+		assertThat(merged.hasRisk(3)).isFalse();
+	}
+
+	@Test
+	void risksDefaultToNoneAndMaterializeIntoEntities() {
+		ParsedConversation conversation = ParsedConversation.builder()
+				.add("홍길동", START, "사진 보내")
+				.add("김철수", START, "싫어")
+				.build();
+		conversation.setRisk(0, RiskType.SEXUAL, RiskLevel.MEDIUM);
+
+		assertThat(conversation.getRiskLevel(1)).isNull();
+		assertThat(conversation.getHighestRiskLevel(1)).isEqualTo(RiskLevel.NORMAL);
+
+		List<ChatMessage> messages = conversation.materialize(0, 2, null);
+		assertThat(messages).extracting(ChatMessage::getMessage).containsExactly("사진 보내", "싫어");
+		assertThat(messages.get(0).getRisks()).singleElement()
+				.satisfies(risk -> assertThat(risk.getRiskType()).isEqualTo(RiskType.SEXUAL));
+		assertThat(messages.get(1).getRisks()).isEmpty();
+
+		messages.get(0).setId(10L);
+		messages.get(1).setId(11L);
+		conversation.assignMessageIds(0, messages);
+		ParsedConversation reloaded = ParsedConversation.fromMessages(messages);
+		assertThat(reloaded.getMessageId(1)).isEqualTo(11L);
+		assertThat(reloaded.getRiskLevel(0)).isEqualTo(RiskLevel.MEDIUM);
+		assertThat(reloaded.hasRisk(1)).isFalse();
+	}
+}
@@ -0,0 +1,131 @@
+package com.capstone.SafeHug.service.risk;
+
+import com.capstone.SafeHug.common.RiskLevel;
+import com.capstone.SafeHug.common.RiskType;
+import com.capstone.SafeHug.service.chat.ParsedConversation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContextRiskEngineTest {
+
+	private static final String USER = "나";
+	private static final String OTHER = "상대";
+	private static final LocalDateTime START = LocalDateTime.of(2025, 5, 1, 21, 0);
+
+	private ContextRiskEngine engine;
+
+	@BeforeEach
+	void setUp() {
+		SenderBurstRule burst = new SenderBurstRule();
+		ReflectionTestUtils.setField(burst, "burstThreshold", 3);
+		// 스프링이 @Order 순서로 주입하는 것과 같은 순서
+		engine = new ContextRiskEngine(List.of(burst, new RepeatedRequestAfterRefusalRule(), new RejectionEscalationRule()));
+		ReflectionTestUtils.setField(engine, "windowSize", 20);
+		ReflectionTestUtils.setField(engine, "windowMinutes", 30);
+	}
+
+	@Test
+	void escalatesAroundUserRefusal() {
+		ParsedConversation conversation = ParsedConversation.builder()
+				.add(OTHER, START, "사진 보내줘")
+				.add(USER, START.plusMinutes(1), "싫어")
+				.add(OTHER, START.plusMinutes(2), "보내라고")
+				.add(OTHER, START.plusMinutes(2), "왜")
+				.build();
+		conversation.setRisk(0, RiskType.SEXUAL, RiskLevel.LOW);
+		conversation.setRisk(1, RiskType.REJECTION, RiskLevel.LOW);
+		conversation.setRisk(2, RiskType.SEXUAL, RiskLevel.MEDIUM);
+
+		engine.evaluate(conversation, " " + USER + " ");
+
+		// 거절 직전 상대 메시지는 강요로 한 단계 상향
+		assertThat(conversation.getRiskType(0)).isEqualTo(RiskType.COERCION);
+		assertThat(conversation.getRiskLevel(0)).isEqualTo(RiskLevel.MEDIUM);
+		// 거절 자체는 그대로
+		assertThat(conversation.getRiskType(1)).isEqualTo(RiskType.REJECTION);
+		assertThat(conversation.getRiskLevel(1)).isEqualTo(RiskLevel.LOW);
+		// 거절 후 다시 보낸 위험 메시지는 유형을 유지한 채 상향
+		assertThat(conversation.getRiskType(2)).isEqualTo(RiskType.SEXUAL);
+		assertThat(conversation.getRiskLevel(2)).isEqualTo(RiskLevel.HIGH);
+		// 위험 정보가 없던 메시지는 건드리지 않는다
+		assertThat(conversation.hasRisk(3)).isFalse();
+	}
+
+	@Test
+	void escalatesSameMessageOnlyOnceForRepeatedRefusals() {
+		ParsedConversation conversation = ParsedConversation.builder()
+				.add(OTHER, START, "만나자")
+				.add(USER, START.plusMinutes(1), "싫어")
+				.add(USER, START.plusMinutes(1), "안 된다고")
+				.build();
+		conversation.setRisk(0, RiskType.COERCION, RiskLevel.LOW);
+		conversation.setRisk(1, RiskType.REJECTION, RiskLevel.LOW);
+		conversation.setRisk(2, RiskType.REJECTION, RiskLevel.LOW);
+
+		engine.evaluate(conversation, USER);
+
+		assertThat(conversation.getRiskLevel(0)).isEqualTo(RiskLevel.MEDIUM);
+	}
+
+	@Test
+	void refusalExpiresOutsideTimeWindow() {
+		ParsedConversation conversation = ParsedConversation.builder()
+				.add(USER, START, "싫어")
+				.add(OTHER, START.plusMinutes(31), "사진 보내")
+				.build();
+		conversation.setRisk(0, RiskType.REJECTION, RiskLevel.LOW);
+		conversation.setRisk(1, RiskType.SEXUAL, RiskLevel.LOW);
+
+		engine.evaluate(conversation, USER);
+
+		assertThat(conversation.getRiskLevel(1)).isEqualTo(RiskLevel.LOW);
+	}
+
+	@Test
+	void marksUnansweredBurstAsStalking() {
+		ParsedConversation conversation = ParsedConversation.builder()
+				.add(USER, START, "잘 자")
+				.add(OTHER, START.plusMinutes(1), "자?")
+				.add(OTHER, START.plusMinutes(2), "왜 답 안 해")
+				.add(OTHER, START.plusMinutes(3), "야")
+				.add(OTHER, START.plusMinutes(4), "죽을래")
+				.add(OTHER, START.plusMinutes(50), "미안")
+				.build();
+		conversation.setRisk(4, RiskType.THREAT, RiskLevel.HIGH);
+
+		engine.evaluate(conversation, USER);
+
+		assertThat(conversation.hasRisk(1)).isFalse();
+		assertThat(conversation.hasRisk(2)).isFalse();
+		assertThat(conversation.getRiskType(3)).isEqualTo(RiskType.STALKING);
+		assertThat(conversation.getRiskLevel(3)).isEqualTo(RiskLevel.LOW);
+		// 이미 분류된 메시지는 그대로, 시간 창을 벗어나면 연속 구간이 끊긴다
+		assertThat(conversation.getRiskType(4)).isEqualTo(RiskType.THREAT);
+		assertThat(conversation.hasRisk(5)).isFalse();
+	}
+
+	@Test
+	void skipsUserRulesWhenUserIsNotInConversation() {
+		ParsedConversation conversation = ParsedConversation.builder()
+				.add(OTHER, START, "사진 보내줘")
+				.add(USER, START.plusMinutes(1), "싫어")
+				.add(OTHER, START.plusMinutes(2), "야")
+				.add(OTHER, START.plusMinutes(2), "야")
+				.add(OTHER, START.plusMinutes(2), "야")
+				.build();
+		conversation.setRisk(0, RiskType.SEXUAL, RiskLevel.LOW);
+		conversation.setRisk(1, RiskType.REJECTION, RiskLevel.LOW);
+
+		engine.evaluate(conversation, "다른 사람");
+
+		assertThat(conversation.getRiskType(0)).isEqualTo(RiskType.SEXUAL);
+		assertThat(conversation.getRiskLevel(0)).isEqualTo(RiskLevel.LOW);
+		assertThat(conversation.hasRisk(4)).isFalse();
+	}
+}
@@ -0,0 +1,73 @@
+package com.capstone.SafeHug.service.storage;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EncodingInputStreamTest {
+
+	private static final byte[] CONTENT = "2025년 5월 1일 오후 3:07, 홍길동 : 안녕\n".repeat(20_000).getBytes(StandardCharsets.UTF_8);
+
+	@Test
+	void streamsGzipThatDecodesToTheSource() throws IOException {
+		byte[] encoded;
+		long encodedBytes;
+		try (EncodingInputStream in = new EncodingInputStream(new ByteArrayInputStream(CONTENT), StorageCodec.GZIP)) {
+			encoded = in.readAllBytes();
+			encodedBytes = in.getEncodedBytes();
+		}
+
+		assertThat(encodedBytes).isEqualTo(encoded.length);
+		assertThat(encoded.length).isLessThan(CONTENT.length / 10);
+		try (InputStream decoded = StorageCodec.GZIP.decode(new ByteArrayInputStream(encoded))) {
+			assertThat(decoded.readAllBytes()).isEqualTo(CONTENT);
+		}
+	}
+
+	@Test
+	void smallAndSingleByteReadsProduceTheSameBytes() throws IOException {
+		byte[] expected;
+		try (EncodingInputStream in = new EncodingInputStream(new ByteArrayInputStream(CONTENT), StorageCodec.GZIP)) {
+			expected = in.readAllBytes();
+		}
+
+		ByteArrayOutputStream actual = new ByteArrayOutputStream();
+		Random random = new Random(7);
+		try (EncodingInputStream in = new EncodingInputStream(new ByteArrayInputStream(CONTENT), StorageCodec.GZIP)) {
+			byte[] buffer = new byte[97];
+			while (true) {
+				int b = in.read();
+				if (b < 0) {
+					break;
+				}
+				actual.write(b);
+				int n = in.read(buffer, 0, 1 + random.nextInt(buffer.length));
+				if (n < 0) {
+					break;
+				}
+				actual.write(buffer, 0, n);
+			}
+		}
+
+		assertThat(actual.toByteArray()).isEqualTo(expected);
+	}
+
+	@Test
+	void passesSourceBytesThroughTeeUnchanged() throws IOException {
+		ByteArrayOutputStream copy = new ByteArrayOutputStream();
+		try (EncodingInputStream in = new EncodingInputStream(
+				new TeeInputStream(new ByteArrayInputStream(CONTENT), copy), StorageCodec.GZIP)) {
+			in.readNBytes(100);
+			in.readAllBytes();
+		}
+
+		assertThat(copy.toByteArray()).isEqualTo(CONTENT);
+	}
+}
@@ -0,0 +1,55 @@
+package com.capstone.SafeHug.service.storage;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StorageCodecTest {
+
+	private static final byte[] CONTENT = "2025년 5월 1일 오후 3:07, 홍길동 : 안녕\n".repeat(1000).getBytes(StandardCharsets.UTF_8);
+
+	@Test
+	void gzipRoundTripsAndShrinksText() throws IOException {
+		byte[] encoded = encode(StorageCodec.GZIP, CONTENT);
+
+		assertThat(encoded.length).isLessThan(CONTENT.length / 10);
+		assertThat(decode(StorageCodec.GZIP, encoded)).isEqualTo(CONTENT);
+	}
+
+	@Test
+	void noneIsIdentity() throws IOException {
+		assertThat(encode(StorageCodec.NONE, CONTENT)).isEqualTo(CONTENT);
+		assertThat(decode(StorageCodec.NONE, CONTENT)).isEqualTo(CONTENT);
+	}
+
+	@Test
+	void resolvesCodecFromMetadata() {
+		assertThat(StorageCodec.fromMetadata(null)).isEqualTo(StorageCodec.NONE);
+		assertThat(StorageCodec.fromMetadata("gzip")).isEqualTo(StorageCodec.GZIP);
+		assertThat(StorageCodec.fromMetadata("GZIP")).isEqualTo(StorageCodec.GZIP);
+		assertThat(StorageCodec.fromMetadata(StorageCodec.NONE.getMetadataValue())).isEqualTo(StorageCodec.NONE);
+		assertThatThrownBy(() -> StorageCodec.fromMetadata("zstd")).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private static byte[] encode(StorageCodec codec, byte[] content) throws IOException {
+		ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+		try (OutputStream out = codec.encode(encoded)) {
+			out.write(content);
+		}
+		return encoded.toByteArray();
+	}
+
+	private static byte[] decode(StorageCodec codec, byte[] encoded) throws IOException {
+		try (InputStream in = codec.decode(new ByteArrayInputStream(encoded))) {
+			return in.readAllBytes();
+		}
+	}
+}
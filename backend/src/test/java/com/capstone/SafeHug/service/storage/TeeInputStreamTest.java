@@ -0,0 +1,68 @@
+package com.capstone.SafeHug.service.storage;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TeeInputStreamTest {
+
+	private static final byte[] CONTENT = "홍길동 님과 카카오톡 대화\n저장한 날짜 : 2025-05-03 21:10:00\n".getBytes(StandardCharsets.UTF_8);
+
+	@Test
+	void copiesEverythingReadInOrder() throws IOException {
+		ByteArrayOutputStream copy = new ByteArrayOutputStream();
+		ByteArrayOutputStream consumed = new ByteArrayOutputStream();
+		try (InputStream in = new TeeInputStream(new ByteArrayInputStream(CONTENT), copy)) {
+			consumed.write(in.read());
+			byte[] buffer = new byte[7];
+			int n;
+			while ((n = in.read(buffer, 1, 5)) > 0) {
+				consumed.write(buffer, 1, n);
+			}
+			assertThat(in.read()).isEqualTo(-1);
+		}
+
+		assertThat(consumed.toByteArray()).isEqualTo(CONTENT);
+		assertThat(copy.toByteArray()).isEqualTo(CONTENT);
+	}
+
+	@Test
+	void skippedBytesStillReachCopy() throws IOException {
+		ByteArrayOutputStream copy = new ByteArrayOutputStream();
+		try (InputStream in = new TeeInputStream(new ByteArrayInputStream(CONTENT), copy)) {
+			assertThat(in.skip(10)).isEqualTo(10);
+			in.transferTo(OutputStream.nullOutputStream());
+			assertThat(in.skip(5)).isZero();
+		}
+
+		assertThat(copy.toByteArray()).isEqualTo(CONTENT);
+	}
+
+	@Test
+	void nonPositiveSkipDoesNothing() throws IOException {
+		ByteArrayOutputStream copy = new ByteArrayOutputStream();
+		try (InputStream in = new TeeInputStream(new ByteArrayInputStream(CONTENT), copy)) {
+			assertThat(in.skip(-1)).isZero();
+			assertThat(in.skip(0)).isZero();
+			assertThat(in.read()).isEqualTo(CONTENT[0] & 0xFF);
+		}
+
+		assertThat(copy.toByteArray()).containsExactly(CONTENT[0]);
+	}
+
+	@Test
+	void doesNotSupportMarkReset() {
+		InputStream in = new TeeInputStream(new ByteArrayInputStream(CONTENT), new ByteArrayOutputStream());
+
+		assertThat(in.markSupported()).isFalse();
+		assertThatThrownBy(in::reset).isInstanceOf(IOException.class);
+	}
+}